@@ -0,0 +1,73 @@
+package benchmark;
+
+import model.accommodation.Accommodation;
+import model.accommodation.AccommodationInventory;
+import model.accommodation.AccommodationInventory.Query;
+import model.accommodation.AccommodationInventory.Sort;
+import model.accommodation.AccommodationInventory.Type;
+import model.accommodation.Apartment;
+import model.accommodation.Hostel;
+import model.accommodation.Hotel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AccommodationSearchBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int listingCount;
+    
+    private AccommodationInventory inventory;
+    private Query cheapest;
+    private Query luxury;
+    private Query apartmentsInRange;
+    private Query byStars;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        List<Accommodation> listings = new ArrayList<>(listingCount);
+        for (int i = 0; i < listingCount; i++) {
+            double rate = random.nextDouble(100, 8000);
+            listings.add(switch (random.nextInt(3)) {
+                case 0 -> new Hotel("Hotel " + i, rate, 1, 1 + random.nextInt(5), random.nextBoolean());
+                case 1 -> new Apartment("Apartment " + i, rate, 1, 1 + random.nextInt(3), random.nextBoolean());
+                default -> new Hostel("Hostel " + i, rate, 1, random.nextBoolean(), 2 + random.nextInt(6));
+            });
+        }
+        inventory = new AccommodationInventory(listings);
+        cheapest = new Query(5);
+        luxury = new Query(5).minStars(4).withBreakfast();
+        apartmentsInRange = new Query(3).rateBetween(1000, 3000).types(Type.APARTMENT);
+        byStars = new Query(7).sortBy(Sort.STAR_RATING).rateBetween(2000, 4000);
+    }
+    
+    @Benchmark
+    public List<AccommodationInventory.Match> cheapestStay() {
+        return inventory.search(cheapest);
+    }
+    
+    @Benchmark
+    public List<AccommodationInventory.Match> luxuryWithBreakfast() {
+        return inventory.search(luxury);
+    }
+    
+    @Benchmark
+    public List<AccommodationInventory.Match> apartmentsInRateRange() {
+        return inventory.search(apartmentsInRange);
+    }
+    
+    @Benchmark
+    public List<AccommodationInventory.Match> bestRatedInRange() {
+        return inventory.search(byStars);
+    }
+}
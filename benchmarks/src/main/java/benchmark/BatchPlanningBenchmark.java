@@ -0,0 +1,56 @@
+package benchmark;
+
+import model.accommodation.Hotel;
+import model.transport.FlightOption;
+import model.user.Profile;
+import model.user.User;
+import org.openjdk.jmh.annotations.*;
+import service.TripPlannerService;
+import service.TripPlannerService.TripPlanRequest;
+import service.TripPlannerService.TripPlanResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchPlanningBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int batchSize;
+    
+    @Param({"1", "64"})
+    public int users;
+    
+    private TripPlannerService service;
+    private List<TripPlanRequest> requests;
+    
+    @Setup(Level.Invocation)
+    public void setUp() {
+        service = new TripPlannerService();
+        FlightOption flight = new FlightOption("Istanbul", "Paris", 5000, true);
+        Hotel hotel = new Hotel("Bench Hotel", 3000, 7, 4, true);
+        LocalDate start = LocalDate.now().plusDays(5);
+        
+        User[] owners = new User[users];
+        for (int u = 0; u < users; u++) {
+            owners[u] = new User(new Profile("Tour Operator " + u, "ops" + u + "@email.com"));
+        }
+        requests = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            requests.add(new TripPlanRequest(owners[i % users], "Package " + i, 1_000_000,
+                start, start.plusDays(7), flight, hotel));
+        }
+    }
+    
+    @Benchmark
+    public List<TripPlanResult> planTrips() {
+        return service.planTrips(requests.stream());
+    }
+}
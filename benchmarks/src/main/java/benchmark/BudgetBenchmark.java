@@ -0,0 +1,81 @@
+package benchmark;
+
+import exception.BudgetExceededException;
+import model.finance.Budget;
+import model.finance.Expense;
+import model.finance.ExpenseType;
+import model.TextFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BudgetBenchmark {
+    
+    private static final ExpenseType[] TYPES = ExpenseType.values();
+    
+    @Param({"10", "1000", "100000"})
+    public int expenseCount;
+    
+    private Budget filledBudget;
+    private Budget ingestBudget;
+    private Expense expense;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws BudgetExceededException {
+        verifyPercentagesMatchFormat();
+        filledBudget = newBudgetWithExpenses(expenseCount);
+        expense = new Expense(12.5, "Coffee", ExpenseType.FOOD);
+    }
+    
+    @Setup(Level.Iteration)
+    public void freshIngestBudget() throws BudgetExceededException {
+        ingestBudget = newBudgetWithExpenses(expenseCount);
+    }
+    
+    @Benchmark
+    public Budget addExpense() throws BudgetExceededException {
+        ingestBudget.addExpense(expense);
+        return ingestBudget;
+    }
+    
+    @Benchmark
+    public String generateReport() {
+        return filledBudget.generateReport();
+    }
+    
+    // The report's percentage must print as "%.1f" did, including values such
+    // as 9/2000 that land just below a half-way point.
+    private static void verifyPercentagesMatchFormat() throws BudgetExceededException {
+        long limitMinor = 200_000;
+        for (long spent = 0; spent <= limitMinor; spent++) {
+            checkPercentage(spent / (double) limitMinor * 100);
+        }
+        for (double spent : new double[] {9, 37, 143}) {
+            Budget budget = new Budget(2000);
+            budget.addExpense(spent, "Check", ExpenseType.OTHER);
+            checkPercentage(budget.getSpendingPercentage());
+        }
+    }
+    
+    private static void checkPercentage(double percentage) {
+        String text = TextFormat.toText(out -> TextFormat.appendFixed(out, percentage, 1));
+        if (!text.equals(String.format(Locale.ROOT, "%.1f", percentage))) {
+            throw new IllegalStateException("Percentage " + percentage + " printed as " + text + "!");
+        }
+    }
+    
+    static Budget newBudgetWithExpenses(int count) throws BudgetExceededException {
+        Budget budget = new Budget(1e12);
+        for (int i = 0; i < count; i++) {
+            budget.addExpense(10 + (i % 500), "Expense #" + i, TYPES[i % TYPES.length]);
+        }
+        return budget;
+    }
+}
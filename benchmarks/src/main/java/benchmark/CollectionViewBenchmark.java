@@ -0,0 +1,79 @@
+package benchmark;
+
+import model.finance.Budget;
+import model.trip.Trip;
+import model.user.Profile;
+import model.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The *Copy variants reproduce the old defensive-copy getters.
+// Compare allocation rates with: ./gradlew :benchmarks:jmh -Pjmh='CollectionViewBenchmark -prof gc'
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionViewBenchmark {
+    
+    @Param({"10", "1000"})
+    public int size;
+    
+    private User user;
+    private Trip trip;
+    private Budget budget;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        user = new User(new Profile("Bench User", "bench@email.com"));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            user.addTrip(new Trip("Trip " + i, start, start.plusDays(2), new Budget(1000)));
+        }
+        trip = new Trip("Long Trip", start, start.plusDays(size - 1), new Budget(1000));
+        budget = BudgetBenchmark.newBudgetWithExpenses(size);
+    }
+    
+    @Benchmark
+    public double userTripsView() {
+        double total = 0;
+        for (Trip t : user.getTrips()) {
+            total += t.getBudget().getTotalLimit();
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public double userTripsCopy() {
+        double total = 0;
+        for (Trip t : new ArrayList<>(user.getTrips())) {
+            total += t.getBudget().getTotalLimit();
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public int itineraryDaysSnapshot() {
+        return trip.getItineraryDays().size();
+    }
+    
+    @Benchmark
+    public int itineraryDaysCopy() {
+        return new ArrayList<>(trip.getItineraryDays()).size();
+    }
+    
+    @Benchmark
+    public List<?> budgetExpensesSnapshot() {
+        return budget.getExpenses();
+    }
+    
+    @Benchmark
+    public List<?> budgetExpensesCopy() {
+        return new ArrayList<>(budget.getExpenses());
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.visa.Document;
+import model.visa.DocumentExpiryIndex;
+import model.visa.DocumentType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DocumentExpiryBenchmark {
+    
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    
+    @Param({"10000", "1000000"})
+    public int documentCount;
+    
+    private Document[] documents;
+    private DocumentExpiryIndex index;
+    private LocalDate today;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        documents = new Document[documentCount];
+        for (int i = 0; i < documentCount; i++) {
+            documents[i] = new Document(DocumentType.PASSPORT, "P" + i, START.plusDays(random.nextInt(3650)));
+        }
+    }
+    
+    @Setup(Level.Iteration)
+    public void fillIndex() {
+        index = new DocumentExpiryIndex(START, 30);
+        for (Document document : documents) {
+            index.add(document);
+        }
+        today = START;
+    }
+    
+    // One day of expiry checks: what a daily scheduler would run.
+    @Benchmark
+    public void advanceOneDay(Blackhole bh) {
+        today = today.plusDays(1);
+        index.advanceTo(today, new DocumentExpiryIndex.Listener() {
+            @Override
+            public void expiring(Document document, int daysLeft) {
+                bh.consume(document);
+            }
+            
+            @Override
+            public void expired(Document document) {
+                bh.consume(document);
+            }
+        });
+    }
+    
+    // The same check done by asking every document.
+    @Benchmark
+    public int scanAllDocuments() {
+        LocalDate now = START.plusDays(1);
+        int expired = 0;
+        for (Document document : documents) {
+            if (document.isExpired(now)) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+}
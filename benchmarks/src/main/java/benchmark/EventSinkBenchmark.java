@@ -0,0 +1,50 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import service.event.AsyncEventSink;
+import service.event.ConsoleEventSink;
+import service.event.EventSink;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EventSinkBenchmark {
+    
+    @Param({"console", "async"})
+    public String sink;
+    
+    private EventSink events;
+    private AsyncEventSink async;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrintStream devNull = new PrintStream(OutputStream.nullOutputStream());
+        ConsoleEventSink console = new ConsoleEventSink(devNull, devNull);
+        if (sink.equals("async")) {
+            async = new AsyncEventSink(console);
+            events = async;
+        } else {
+            events = console;
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (async != null) {
+            async.close();
+        }
+    }
+    
+    @Benchmark
+    public void emitTripCreated() {
+        events.emitAmounts(EventSink.Level.INFO, "   Cost: {#} TL | Remaining: {#} TL", 1234.5, 98765.43);
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import model.finance.CachingExchangeRateProvider;
+import model.finance.Currency;
+import model.finance.ExchangeRateProvider;
+import model.finance.SimulatedExchangeRateProvider;
+import model.finance.StaticExchangeRateProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExchangeRateBenchmark {
+    
+    @Param({"16", "1024"})
+    public int conversions;
+    
+    // "remote" adds 20 µs of simulated network latency to every call.
+    @Param({"static", "cached-static", "remote", "cached-remote"})
+    public String provider;
+    
+    private ExchangeRateProvider rates;
+    private double[] amounts;
+    private Currency[] from;
+    private Currency[] to;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExchangeRateProvider source = provider.endsWith("remote")
+            ? new SimulatedExchangeRateProvider(Duration.ofNanos(20_000))
+            : new StaticExchangeRateProvider();
+        rates = provider.startsWith("cached")
+            ? new CachingExchangeRateProvider(source, Duration.ofMinutes(5))
+            : source;
+        Currency[] currencies = Currency.values();
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new double[conversions];
+        from = new Currency[conversions];
+        to = new Currency[conversions];
+        for (int i = 0; i < conversions; i++) {
+            amounts[i] = random.nextDouble(1, 10_000);
+            from[i] = currencies[random.nextInt(currencies.length)];
+            to[i] = currencies[random.nextInt(currencies.length)];
+        }
+    }
+    
+    @Benchmark
+    public double convert() {
+        double sum = 0;
+        for (int i = 0; i < conversions; i++) {
+            sum += rates.convert(amounts[i], from[i], to[i]);
+        }
+        return sum;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (rates instanceof CachingExchangeRateProvider caching) {
+            caching.close();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package benchmark;
+
+import model.ExportFormat;
+import model.export.ActivityView;
+import model.export.BinaryWriter;
+import model.export.DayView;
+import model.export.TripView;
+import model.finance.Budget;
+import model.location.Attraction;
+import model.location.City;
+import model.transport.TrainOption;
+import model.trip.Activity;
+import model.trip.SightseeingActivity;
+import model.trip.TransportActivity;
+import model.trip.Trip;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExportBenchmark {
+    
+    @Param({"7", "90", "730"})
+    public int tripDays;
+    
+    @Param({"4"})
+    public int activitiesPerDay;
+    
+    private Trip trip;
+    private BinaryWriter binary;
+    private ByteBuffer encoded;
+    private DayView day;
+    private ActivityView activity;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        trip = newTrip(tripDays, activitiesPerDay);
+        binary = new BinaryWriter();
+        encoded = ByteBuffer.wrap(trip.export(ExportFormat.BINARY));
+        day = new DayView();
+        activity = new ActivityView();
+    }
+    
+    @Benchmark
+    public String exportToText() {
+        return trip.exportToText();
+    }
+    
+    @Benchmark
+    public Writer exportToWriter() throws IOException {
+        Writer out = Writer.nullWriter();
+        trip.exportTo(out);
+        return out;
+    }
+    
+    @Benchmark
+    public long exportToJsonChannel() throws IOException {
+        CountingChannel channel = new CountingChannel();
+        trip.exportTo(ExportFormat.JSON, channel);
+        return channel.written;
+    }
+    
+    @Benchmark
+    public int exportToBinary() {
+        binary.reset();
+        trip.writeBinary(binary);
+        return binary.size();
+    }
+    
+    // Walks every activity of the encoded trip through the flyweight views.
+    @Benchmark
+    public long readBinary() {
+        TripView view = TripView.wrap(encoded);
+        long total = 0;
+        view.days(day);
+        while (day.next()) {
+            day.activities(activity);
+            while (activity.next()) {
+                total += activity.getCostMinor();
+            }
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long exportToChannel() throws IOException {
+        CountingChannel channel = new CountingChannel();
+        trip.exportTo(channel);
+        return channel.written;
+    }
+    
+    static Trip newTrip(int days, int activitiesPerDay) {
+        LocalDateTime start = LocalDate.of(2030, 1, 1).atTime(8, 0);
+        Trip trip = new Trip("Bench Trip", start, start.plusDays(days - 1).withHour(20), new Budget(1_000_000));
+        trip.setDestination(City.paris());
+        Attraction museum = new Attraction("Museum", "Bench museum", 20.0, 2);
+        TrainOption train = new TrainOption("Paris", "Lyon", 900, TrainOption.TrainClass.ECONOMY);
+        for (int d = 0; d < days; d++) {
+            LocalDateTime slot = start.plusDays(d);
+            for (int a = 0; a < activitiesPerDay; a++) {
+                Activity activity = a == 0
+                    ? new TransportActivity(slot, train)
+                    : new SightseeingActivity(slot, museum);
+                trip.addActivityToDay(slot.toLocalDate(), activity);
+                slot = activity.getEndTime();
+            }
+        }
+        return trip;
+    }
+    
+    private static final class CountingChannel implements WritableByteChannel {
+        private long written;
+        
+        @Override
+        public int write(ByteBuffer src) {
+            int count = src.remaining();
+            src.position(src.limit());
+            written += count;
+            return count;
+        }
+        
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import model.location.Country;
+import model.location.GeoRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeoRegistryBenchmark {
+    
+    private static final String[] CODES = {"DE", "FR", "IT", "US", "TR", "ES", "NL", "PL"};
+    
+    private GeoRegistry geo;
+    private int[] ids;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        geo = GeoRegistry.standard();
+        ids = new int[CODES.length];
+        for (int i = 0; i < CODES.length; i++) {
+            ids[i] = geo.country(CODES[i]).getId();
+        }
+    }
+    
+    @Benchmark
+    public int countSchengenByCode() {
+        int count = 0;
+        for (String code : CODES) {
+            Country country = geo.country(code);
+            if (geo.isSchengen(country.getId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Benchmark
+    public int countSchengenById() {
+        int count = 0;
+        for (int id : ids) {
+            if (geo.isSchengen(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
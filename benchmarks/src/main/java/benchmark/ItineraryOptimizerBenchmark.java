@@ -0,0 +1,54 @@
+package benchmark;
+
+import model.finance.Budget;
+import model.location.Attraction;
+import model.trip.Trip;
+import org.openjdk.jmh.annotations.*;
+import service.ItineraryOptimizer;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItineraryOptimizerBenchmark {
+    
+    @Param({"50", "1000", "10000"})
+    public int attractionCount;
+    
+    @Param({"7"})
+    public int tripDays;
+    
+    private ItineraryOptimizer optimizer;
+    private Trip trip;
+    private List<Attraction> attractions;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        optimizer = new ItineraryOptimizer(ForkJoinPool.commonPool(), Duration.ofMillis(100),
+            a -> a.getEstimatedHours() * 10L + Math.round(a.getEntryFee() / 10));
+        LocalDateTime start = LocalDate.of(2030, 1, 1).atTime(9, 0);
+        trip = new Trip("Bench Trip", start, start.plusDays(tripDays - 1).withHour(18), new Budget(5_000));
+        Random random = new Random(42);
+        attractions = new ArrayList<>(attractionCount);
+        for (int i = 0; i < attractionCount; i++) {
+            attractions.add(new Attraction("Attraction " + i, "Bench attraction",
+                random.nextInt(400), 1 + random.nextInt(6)));
+        }
+    }
+    
+    @Benchmark
+    public ItineraryOptimizer.Plan optimize() {
+        return optimizer.optimize(trip, attractions);
+    }
+}
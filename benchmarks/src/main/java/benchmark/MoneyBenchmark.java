@@ -0,0 +1,99 @@
+package benchmark;
+
+import model.finance.Currency;
+import model.finance.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Summing expense amounts the way Budget.getCurrentSpending and
+// User.getTotalSpending do, with each representation of money.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+    
+    @Param({"100", "10000"})
+    public int amountCount;
+    
+    private double[] doubles;
+    private long[] minorUnits;
+    private Money[] monies;
+    private BigDecimal[] decimals;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        doubles = new double[amountCount];
+        minorUnits = new long[amountCount];
+        monies = new Money[amountCount];
+        decimals = new BigDecimal[amountCount];
+        for (int i = 0; i < amountCount; i++) {
+            long minor = random.nextLong(1, 1_000_000);
+            minorUnits[i] = minor;
+            doubles[i] = Money.toMajor(minor);
+            monies[i] = Money.ofMinor(minor, Currency.TRY);
+            decimals[i] = BigDecimal.valueOf(minor, Money.SCALE);
+        }
+    }
+    
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (double amount : doubles) {
+            total += amount;
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long sumMinorUnits() {
+        long total = 0;
+        for (long amount : minorUnits) {
+            total += amount;
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public Money sumMoney() {
+        Money total = Money.zero(Currency.TRY);
+        for (Money amount : monies) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long convertFromDouble() {
+        long total = 0;
+        for (double amount : doubles) {
+            total += Money.toMinorUnits(amount);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public BigDecimal convertFromDoubleBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (double amount : doubles) {
+            total = total.add(BigDecimal.valueOf(amount).setScale(Money.SCALE, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import model.quote.CachingQuoteProvider;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+import model.quote.SeededQuoteProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuoteBenchmark {
+    
+    private static final int REQUESTS = 1024;
+    private static final QuoteKey.Product[] TRANSPORT = {
+        QuoteKey.Product.FLIGHT, QuoteKey.Product.TRAIN, QuoteKey.Product.BUS
+    };
+    
+    // Distinct routes the requests are drawn from; the cache holds 4096.
+    @Param({"256", "100000"})
+    public int routeCount;
+    
+    @Param({"seeded", "cached"})
+    public String provider;
+    
+    private QuoteProvider quotes;
+    private String[] from;
+    private String[] to;
+    private QuoteKey.Product[] products;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        QuoteProvider seeded = new SeededQuoteProvider(SeededQuoteProvider.DEFAULT_SEED);
+        quotes = provider.equals("cached") ? new CachingQuoteProvider(seeded, 4096) : seeded;
+        SplittableRandom random = new SplittableRandom(42);
+        from = new String[REQUESTS];
+        to = new String[REQUESTS];
+        products = new QuoteKey.Product[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            int route = random.nextInt(routeCount);
+            from[i] = "City " + route;
+            to[i] = "City " + (route + 1);
+            products[i] = TRANSPORT[route % TRANSPORT.length];
+        }
+    }
+    
+    // Builds the key as a search would, so the cached numbers include it.
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public double quote() {
+        return quoteAll();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(REQUESTS)
+    public double quoteContended() {
+        return quoteAll();
+    }
+    
+    private double quoteAll() {
+        double sum = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            sum += quotes.quote(QuoteKey.transport(products[i], from[i], to[i]));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,44 @@
+package benchmark;
+
+import model.user.Preference;
+import model.user.Profile;
+import model.user.User;
+import org.openjdk.jmh.annotations.*;
+import service.RecommendationService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecommendationBenchmark {
+    
+    private static final String[] TAGS = {"History", "Beach", "Adventure", "Luxury", "Culture", "Nature"};
+    
+    @Param({"1", "4", "16"})
+    public int preferenceCount;
+    
+    @Param({"2000", "20000"})
+    public double dailyBudget;
+    
+    private RecommendationService service;
+    private User user;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new RecommendationService();
+        user = new User(new Profile("Bench User", "bench@email.com"));
+        for (int i = 0; i < preferenceCount; i++) {
+            user.addPreference(new Preference(TAGS[i % TAGS.length] + (i < TAGS.length ? "" : " " + i)));
+        }
+    }
+    
+    @Benchmark
+    public List<RecommendationService.Destination> recommendByPreferences() {
+        return service.recommendByPreferences(user, dailyBudget);
+    }
+}
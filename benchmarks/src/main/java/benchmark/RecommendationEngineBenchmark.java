@@ -0,0 +1,71 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import service.MappedDestinationCatalog;
+import service.RecommendationEngine;
+import service.RecommendationService.Destination;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommendationEngineBenchmark {
+    
+    private static final String[] CATEGORIES = {"LUXURY", "CULTURE", "TROPICAL", "BUDGET", "ADVENTURE"};
+    
+    @Param({"16", "10000", "1000000"})
+    public int catalogSize;
+    
+    @Param({"heap", "mapped"})
+    public String storage;
+    
+    private RecommendationEngine engine;
+    private Map<String, Integer> weights;
+    private Path catalogFile;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Destination> destinations = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            destinations.add(new Destination("Destination " + i, "Country " + (i % 200), "Synthetic",
+                random.nextInt(1000, 25000), CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextBoolean()));
+        }
+        if (storage.equals("mapped")) {
+            catalogFile = Files.createTempFile("destinations", ".dcat");
+            MappedDestinationCatalog.write(catalogFile, destinations);
+            engine = new RecommendationEngine(MappedDestinationCatalog.open(catalogFile));
+        } else {
+            engine = new RecommendationEngine(destinations);
+        }
+        weights = Map.of("CULTURE", 5, "TROPICAL", 4, "ADVENTURE", 2);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (catalogFile != null) {
+            Files.deleteIfExists(catalogFile);
+        }
+    }
+    
+    @Benchmark
+    public List<Destination> topFiveByPreferences() {
+        return engine.topK(weights, 9000, 5);
+    }
+    
+    @Benchmark
+    public List<Destination> topFiveByBudget() {
+        return engine.withinBudget(9000, 5);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import model.transport.BusOption;
+import model.transport.FlightOption;
+import model.transport.RouteOption;
+import model.transport.TrainOption;
+import model.transport.TransportNetwork;
+import model.transport.TransportOption;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TransportNetworkBenchmark {
+    
+    private static final int QUERY_COUNT = 64;
+    
+    @Param({"1000", "100000"})
+    public int cityCount;
+    
+    @Param({"20"})
+    public int connectionsPerCity;
+    
+    private TransportNetwork network;
+    private String[] origins;
+    private String[] destinations;
+    private int query;
+    
+    // Cities sit on a ring and mostly connect to nearby cities, with prices
+    // growing with the distance, so long trips need many legs.
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        String[] names = new String[cityCount];
+        for (int i = 0; i < cityCount; i++) {
+            names[i] = "City " + i;
+        }
+        int reach = Math.max(2, cityCount / 500);
+        List<TransportOption> options = new ArrayList<>(cityCount * connectionsPerCity);
+        for (int i = 0; i < cityCount * connectionsPerCity; i++) {
+            int from = random.nextInt(cityCount);
+            int hop = 1 + random.nextInt(reach);
+            int to = Math.floorMod(from + (random.nextBoolean() ? hop : -hop), cityCount);
+            options.add(switch (random.nextInt(3)) {
+                case 0 -> new FlightOption(names[from], names[to], 3000 + hop * 5, random.nextBoolean());
+                case 1 -> new BusOption(names[from], names[to], 800 + hop * 2);
+                default -> new TrainOption(names[from], names[to], 600 + hop * 3, TrainOption.TrainClass.ECONOMY);
+            });
+        }
+        network = new TransportNetwork(options);
+        
+        origins = new String[QUERY_COUNT];
+        destinations = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            int from = random.nextInt(cityCount);
+            origins[i] = names[from];
+            destinations[i] = names[(from + 1 + random.nextInt(reach * 10)) % cityCount];
+        }
+    }
+    
+    @Benchmark
+    public List<RouteOption> findRoutes() {
+        int i = query++ & (QUERY_COUNT - 1);
+        return network.findRoutes(origins[i], destinations[i]);
+    }
+}
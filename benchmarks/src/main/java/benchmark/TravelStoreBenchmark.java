@@ -0,0 +1,137 @@
+package benchmark;
+
+import model.finance.Budget;
+import model.location.Attraction;
+import model.trip.Activity;
+import model.trip.ItineraryDay;
+import model.trip.SightseeingActivity;
+import model.trip.Trip;
+import model.user.Preference;
+import model.user.Profile;
+import model.user.User;
+import model.visa.Document;
+import model.visa.DocumentType;
+import model.visa.SchengenVisaApplication;
+import model.visa.VisaApplication;
+import org.openjdk.jmh.annotations.*;
+import storage.TravelStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Cost of persisting a trip whose itinerary changes: one activity replaced
+// per call, so each persist() logs a removal and an addition. Setup first
+// checks that removals survive reopening the store.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TravelStoreBenchmark {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+    private static final Attraction MUSEUM = new Attraction("Museum", "Bench attraction", 10.0, 2);
+    
+    @Param({"10", "1000"})
+    public int activities;
+    
+    private Path directory;
+    private TravelStore store;
+    private User user;
+    private Trip trip;
+    private ItineraryDay day;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("travel-store-bench");
+        verifyRemovalsSurviveReopen(directory.resolve("check"));
+        
+        store = TravelStore.open(directory.resolve("store"));
+        user = new User(new Profile("Bench User", "bench@email.com"));
+        trip = new Trip("Long Trip", START, START.plusDays(activities - 1).withHour(20), new Budget(1000));
+        for (int i = 0; i < activities; i++) {
+            trip.addActivityToDay(START.toLocalDate().plusDays(i), new SightseeingActivity(START.plusDays(i), MUSEUM));
+        }
+        user.addTrip(trip);
+        store.persist(user).join();
+        day = trip.getItineraryDays().get(0);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    @Benchmark
+    public void replaceActivity() {
+        Activity old = day.getActivities().get(0);
+        day.removeActivity(old);
+        int hour = 9 + (next++ & 7);
+        day.addActivity(new SightseeingActivity(START.withHour(hour), MUSEUM));
+        store.persist(user).join();
+    }
+    
+    private static void verifyRemovalsSurviveReopen(Path directory) throws IOException {
+        User user = new User(new Profile("Check User", "check@email.com"));
+        Trip kept = new Trip("Kept", START, START.plusDays(1).withHour(20), new Budget(1000));
+        Trip dropped = new Trip("Dropped", START, START.plusDays(1).withHour(20), new Budget(1000));
+        Activity morning = new SightseeingActivity(START, MUSEUM);
+        Activity afternoon = new SightseeingActivity(START.withHour(14), MUSEUM);
+        kept.addActivityToDay(START.toLocalDate(), morning);
+        kept.addActivityToDay(START.toLocalDate(), afternoon);
+        user.addTrip(kept);
+        user.addTrip(dropped);
+        Preference culture = new Preference("culture");
+        user.addPreference(culture);
+        user.addPreference(new Preference("food"));
+        VisaApplication visa = new SchengenVisaApplication("Check User", "France");
+        visa.addDocument(new Document(DocumentType.PASSPORT, "P1", LocalDate.of(2035, 1, 1)));
+        visa.addDocument(new Document(DocumentType.PHOTO, "photo.jpg"));
+        user.addVisaApplication(visa);
+        
+        try (TravelStore store = TravelStore.open(directory)) {
+            store.persist(user).join();
+            user.removeTrip(dropped);
+            kept.getDayByDate(START.toLocalDate()).orElseThrow().removeActivity(morning);
+            // Takes the slot of the removed activity.
+            kept.addActivityToDay(START.toLocalDate(), new SightseeingActivity(START.withHour(10), MUSEUM));
+            user.removePreference(culture);
+            visa.removeDocument(DocumentType.PHOTO);
+            visa.addDocument(new Document(DocumentType.PASSPORT, "P2", LocalDate.of(2036, 1, 1)));
+            store.persist(user).join();
+        }
+        
+        try (TravelStore store = TravelStore.open(directory)) {
+            User reopened = store.findUser("check@email.com").orElseThrow();
+            List<Trip> trips = reopened.getTrips();
+            List<Activity> day = trips.get(0).getItineraryDays().get(0).getActivities();
+            VisaApplication reopenedVisa = reopened.getVisaApplications().get(0);
+            boolean matches = trips.size() == 1
+                && trips.get(0).getName().equals("Kept")
+                && day.size() == 2
+                && day.get(0).getStartTime().getHour() == 10
+                && day.get(1).getStartTime().getHour() == 14
+                && reopened.getPreferences().size() == 1
+                && reopened.getPreferences().get(0).getTag().equals("food")
+                && !reopenedVisa.hasDocument(DocumentType.PHOTO)
+                && reopenedVisa.getDocument(DocumentType.PASSPORT).orElseThrow().getContent().equals("P2");
+            if (!matches) {
+                throw new IllegalStateException("Removals did not survive reopening the store!");
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import exception.BudgetExceededException;
+import exception.InvalidDateException;
+import model.accommodation.Hotel;
+import model.transport.FlightOption;
+import model.trip.Trip;
+import model.user.Profile;
+import model.user.User;
+import org.openjdk.jmh.annotations.*;
+import service.TripPlannerService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TripPlannerBenchmark {
+    
+    @Param({"3", "30", "365"})
+    public int tripDays;
+    
+    private TripPlannerService service;
+    private FlightOption flight;
+    private Hotel hotel;
+    private LocalDate start;
+    private LocalDate end;
+    private User user;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new TripPlannerService();
+        flight = new FlightOption("Istanbul", "Paris", 5000, true);
+        hotel = new Hotel("Bench Hotel", 3000, tripDays, 4, true);
+        start = LocalDate.now().plusDays(5);
+        end = start.plusDays(tripDays);
+    }
+    
+    @Setup(Level.Iteration)
+    public void freshUser() {
+        user = new User(new Profile("Bench User", "bench@email.com"));
+    }
+    
+    @Benchmark
+    public Trip planCustomTrip() throws InvalidDateException, BudgetExceededException {
+        return service.planCustomTrip(user, "Bench Trip", 1_000_000_000, start, end, flight, hotel);
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import exception.MissingDocumentException;
+import model.visa.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VisaBenchmark {
+    
+    @Param({"1", "1000", "100000"})
+    public int applicationCount;
+    
+    private VisaApplication[] applications;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        applications = new VisaApplication[applicationCount];
+        LocalDate passportExpiry = LocalDate.now().plusYears(5);
+        for (int i = 0; i < applicationCount; i++) {
+            VisaApplication app = (i % 2 == 0)
+                ? new SchengenVisaApplication("Applicant " + i, "France")
+                : new UsVisaApplication("Applicant " + i);
+            app.addDocument(new Document(DocumentType.PASSPORT, "P" + i, passportExpiry));
+            app.addDocument(new Document(DocumentType.PHOTO, "photo.jpg"));
+            app.addDocument(new Document(DocumentType.BANK_STATEMENT, "bank.pdf"));
+            if (i % 3 != 0) {
+                app.addDocument(new Document(DocumentType.INSURANCE, "insurance.pdf"));
+                app.addDocument(new Document(DocumentType.DS160_FORM, "DS160"));
+            }
+            applications[i] = app;
+        }
+    }
+    
+    @Benchmark
+    public void validateDocuments(Blackhole bh) {
+        for (VisaApplication app : applications) {
+            try {
+                app.validateDocuments();
+                bh.consume(true);
+            } catch (MissingDocumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+    
+    // A rule change that also asks for an employment letter: count the
+    // applications that no longer pass.
+    @Benchmark
+    public int recheckUnderNewRule() {
+        int extra = DocumentType.EMPLOYMENT_LETTER.mask();
+        int incomplete = 0;
+        for (VisaApplication app : applications) {
+            if (app.getMissingMask(app.getRequiredMask() | extra) != 0) {
+                incomplete++;
+            }
+        }
+        return incomplete;
+    }
+    
+    @Benchmark
+    public void getMissingDocuments(Blackhole bh) {
+        for (VisaApplication app : applications) {
+            bh.consume(app.getMissingDocuments());
+        }
+    }
+}
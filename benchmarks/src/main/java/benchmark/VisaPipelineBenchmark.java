@@ -0,0 +1,98 @@
+package benchmark;
+
+import model.visa.*;
+import org.openjdk.jmh.annotations.*;
+import service.VisaPipeline;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VisaPipelineBenchmark {
+    
+    private static final int APPLICATIONS_PER_OP = 10_000;
+    
+    @Param({"1", "4"})
+    public int workersPerStage;
+    
+    @Param({"1", "64"})
+    public int batchSize;
+    
+    private VisaPipeline pipeline;
+    private LocalDate passportExpiry;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        verifyFailedReviewReturnsDraft();
+        pipeline = new VisaPipeline(VisaPipeline.DEFAULT_QUEUE_CAPACITY, workersPerStage, workersPerStage,
+            batchSize, application -> application.getDocuments().size() % 2 == 1);
+        passportExpiry = LocalDate.now().plusYears(5);
+    }
+    
+    // A draft is claimed by its first submit, and a reviewer failure hands it
+    // back in DRAFT so it can be submitted again.
+    private static void verifyFailedReviewReturnsDraft() throws InterruptedException {
+        VisaApplication app = new UsVisaApplication("Check Applicant");
+        app.addDocument(new Document(DocumentType.PASSPORT, "P1", LocalDate.now().plusYears(5)));
+        app.addDocument(new Document(DocumentType.PHOTO, "photo.jpg"));
+        app.addDocument(new Document(DocumentType.DS160_FORM, "DS160"));
+        app.addDocument(new Document(DocumentType.BANK_STATEMENT, "bank.pdf"));
+        CountDownLatch secondSubmit = new CountDownLatch(1);
+        try (VisaPipeline failing = new VisaPipeline(4, 1, 1, 1, application -> {
+            try {
+                secondSubmit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Reviewer is down!");
+        })) {
+            CompletableFuture<VisaPipeline.Outcome> first = failing.submit(app);
+            boolean rejectedTwice;
+            try {
+                failing.submit(app);
+                rejectedTwice = false;
+            } catch (IllegalArgumentException e) {
+                rejectedTwice = true;
+            }
+            secondSubmit.countDown();
+            VisaPipeline.Outcome outcome = first.join();
+            if (!rejectedTwice || outcome.getFailure() == null || app.getStatus() != VisaApplication.Status.DRAFT) {
+                throw new IllegalStateException("Failed review did not return a single draft!");
+            }
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.close();
+    }
+    
+    // One operation pushes APPLICATIONS_PER_OP drafts through and waits for the
+    // last decision, so ops/s × APPLICATIONS_PER_OP is applications per second.
+    @Benchmark
+    @OperationsPerInvocation(APPLICATIONS_PER_OP)
+    public Object processApplications() throws InterruptedException {
+        CompletableFuture<VisaPipeline.Outcome> last = null;
+        for (int i = 0; i < APPLICATIONS_PER_OP; i++) {
+            VisaApplication app = (i % 2 == 0)
+                ? new SchengenVisaApplication("Applicant " + i, "France")
+                : new UsVisaApplication("Applicant " + i);
+            app.addDocument(new Document(DocumentType.PASSPORT, "P" + i, passportExpiry));
+            app.addDocument(new Document(DocumentType.PHOTO, "photo.jpg"));
+            app.addDocument(new Document(DocumentType.BANK_STATEMENT, "bank.pdf"));
+            if (i % 3 != 0) {
+                app.addDocument(new Document(DocumentType.INSURANCE, "insurance.pdf"));
+                app.addDocument(new Document(DocumentType.DS160_FORM, "DS160"));
+            }
+            last = pipeline.submit(app);
+        }
+        return last.join();
+    }
+}
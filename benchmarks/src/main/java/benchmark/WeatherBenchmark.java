@@ -0,0 +1,38 @@
+package benchmark;
+
+import model.location.City;
+import org.openjdk.jmh.annotations.*;
+import service.ClimateGrid;
+import service.WeatherService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WeatherBenchmark {
+    
+    @Param({"1", "7", "60"})
+    public int tripDays;
+    
+    private WeatherService weatherService;
+    private City city;
+    private LocalDate start;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        weatherService = new WeatherService(new ClimateGrid(ClimateGrid.DEFAULT_CAPACITY));
+        city = City.paris();
+        start = LocalDate.of(2026, 6, 1);
+    }
+    
+    @Benchmark
+    public List<WeatherService.WeatherForecast> tripForecast() {
+        return weatherService.getForecasts(city, start, tripDays);
+    }
+}
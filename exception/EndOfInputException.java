@@ -0,0 +1,9 @@
+package exception;
+
+// The user closed the input (Ctrl+D, or a session's connection dropped), so
+// a prompt can never be answered. Unchecked because any prompt can hit it.
+public class EndOfInputException extends RuntimeException {
+    public EndOfInputException() {
+        super("Input closed");
+    }
+}
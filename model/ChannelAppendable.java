@@ -0,0 +1,90 @@
+package model;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Appendable that encodes text as UTF-8 into a fixed-size buffer and writes
+// it to a channel whenever the buffer fills up, so an export of any size
+// needs only the two buffers allocated here.
+public class ChannelAppendable implements Appendable, Flushable {
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    
+    public ChannelAppendable(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+    
+    public ChannelAppendable(WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("Buffer must hold at least a surrogate pair!");
+        }
+        this.channel = channel;
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.bytes = ByteBuffer.allocate(bufferSize * 3 + 4);
+    }
+    
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        CharSequence text = csq != null ? csq : "null";
+        return append(text, 0, text.length());
+    }
+    
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence text = csq != null ? csq : "null";
+        int position = start;
+        while (position < end) {
+            if (!chars.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(end - position, chars.remaining());
+            chars.append(text, position, position + count);
+            position += count;
+        }
+        return this;
+    }
+    
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            drain();
+        }
+        chars.put(c);
+        return this;
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+    
+    // A surrogate pair split across two appends stays in the char buffer
+    // until its second half arrives.
+    private void drain() throws IOException {
+        chars.flip();
+        CoderResult result = encoder.encode(chars, bytes, false);
+        if (result.isError()) {
+            result.throwException();
+        }
+        chars.compact();
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
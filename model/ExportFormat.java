@@ -0,0 +1,23 @@
+package model;
+
+public enum ExportFormat {
+    TEXT("Text", "txt"),
+    JSON("JSON", "json"),
+    BINARY("Binary", "bin");
+    
+    private final String displayName;
+    private final String fileExtension;
+    
+    ExportFormat(String displayName, String fileExtension) {
+        this.displayName = displayName;
+        this.fileExtension = fileExtension;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -1,5 +1,64 @@
 package model;
 
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
 public interface Exportable {
-    String exportToText();
+    
+    // Streams the export into out piece by piece. A Writer is an Appendable
+    // too; wrap it in a BufferedWriter when it is not buffered already.
+    void exportTo(Appendable out) throws IOException;
+    
+    void writeJson(JsonWriter out) throws IOException;
+    
+    // Appends one frame; read it back with the matching model.export view.
+    void writeBinary(BinaryWriter out);
+    
+    default void exportTo(WritableByteChannel channel) throws IOException {
+        exportTo(ExportFormat.TEXT, channel);
+    }
+    
+    default void exportTo(ExportFormat format, WritableByteChannel channel) throws IOException {
+        switch (format) {
+            case TEXT, JSON -> {
+                ChannelAppendable out = new ChannelAppendable(channel);
+                exportTo(format, out);
+                out.flush();
+            }
+            case BINARY -> {
+                BinaryWriter out = new BinaryWriter();
+                writeBinary(out);
+                out.writeTo(channel);
+            }
+        }
+    }
+    
+    default void exportTo(ExportFormat format, Appendable out) throws IOException {
+        switch (format) {
+            case TEXT -> exportTo(out);
+            case JSON -> writeJson(new JsonWriter(out));
+            case BINARY -> throw new IllegalArgumentException("Binary export needs a byte channel!");
+        }
+    }
+    
+    default byte[] export(ExportFormat format) {
+        if (format == ExportFormat.BINARY) {
+            BinaryWriter out = new BinaryWriter();
+            writeBinary(out);
+            return out.toByteArray();
+        }
+        return TextFormat.toText(out -> exportTo(format, out)).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    default String exportToText() {
+        return TextFormat.toText(this::exportTo);
+    }
+    
+    default String exportToJson() {
+        return TextFormat.toText(out -> writeJson(new JsonWriter(out)));
+    }
 }
@@ -0,0 +1,94 @@
+package model;
+
+import model.finance.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Number formatting for the text exports. Writes straight into the target
+// Appendable instead of going through String.format.
+public final class TextFormat {
+    
+    @FunctionalInterface
+    public interface Source {
+        void writeTo(Appendable out) throws IOException;
+    }
+    
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000};
+    // Scaled values this close to a .5 boundary, or this large, are rounded
+    // exactly through BigDecimal, as Money does.
+    private static final double HALF_TOLERANCE = 1e-7;
+    private static final double MAX_FAST_SCALED = 1e9;
+    
+    private TextFormat() {
+    }
+    
+    public static String toText(Source source) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            source.writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+    
+    // Same text as "%.2f", rounded the way Money rounds.
+    public static void appendAmount(Appendable out, double amount) throws IOException {
+        appendMinor(out, Money.toMinorUnits(amount));
+    }
+    
+    public static void appendMinor(Appendable out, long minorUnits) throws IOException {
+        appendScaled(out, minorUnits, Money.SCALE);
+    }
+    
+    // Same text as "%.<decimals>f" for up to four decimals. Formatter rounds
+    // the decimal form of the double half-up, so 0.44999999999999996 is
+    // 0.4 even though times ten it comes out as exactly 4.5.
+    public static void appendFixed(Appendable out, double value, int decimals) throws IOException {
+        double scaled = value * POWERS_OF_TEN[decimals];
+        double magnitude = Math.abs(scaled);
+        double floor = Math.floor(magnitude);
+        double fraction = magnitude - floor;
+        if (magnitude < MAX_FAST_SCALED && Math.abs(fraction - 0.5) > HALF_TOLERANCE) {
+            long rounded = (long) floor + (fraction > 0.5 ? 1 : 0);
+            appendScaled(out, scaled < 0 ? -rounded : rounded, decimals);
+        } else {
+            appendScaled(out, BigDecimal.valueOf(value)
+                .setScale(decimals, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact(), decimals);
+        }
+    }
+    
+    public static void appendInt(Appendable out, long value) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            sb.append(value);
+        } else {
+            out.append(Long.toString(value));
+        }
+    }
+    
+    private static void appendScaled(Appendable out, long scaled, int decimals) throws IOException {
+        if (scaled < 0) {
+            out.append('-');
+            scaled = -scaled;
+        }
+        long unit = POWERS_OF_TEN[decimals];
+        appendInt(out, scaled / unit);
+        if (decimals == 0) {
+            return;
+        }
+        out.append('.');
+        long fraction = scaled % unit;
+        for (long digit = unit / 10; digit > 0; digit /= 10) {
+            out.append((char) ('0' + fraction / digit % 10));
+        }
+    }
+    
+    public static void appendTwoDigits(Appendable out, int value) throws IOException {
+        out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -1,5 +1,9 @@
 package model.accommodation;
 
+import model.TextFormat;
+
+import java.io.IOException;
+
 public abstract class Accommodation {
     protected final double nightlyRate;
     protected final int nights;
@@ -20,7 +24,15 @@ public abstract class Accommodation {
         this.nights = nights;
     }
     
-    public abstract double calculatePrice();
+    public double calculatePrice() {
+        return calculatePriceForNights(nights);
+    }
+    
+    // Total for a stay of the given length at this listing's rate and fees.
+    public abstract double calculatePriceForNights(int nights);
+    
+    // The same listing booked for a different number of nights.
+    public abstract Accommodation forNights(int nights);
     
     public abstract String getTypeName();
     
@@ -38,9 +50,23 @@ public abstract class Accommodation {
         return name;
     }
     
+    public void writeTo(Appendable out) throws IOException {
+        out.append(getTypeName()).append(": ").append(name).append(" (");
+        writeNights(out);
+        out.append(" = ");
+        TextFormat.appendAmount(out, calculatePrice());
+        out.append(" TL)");
+    }
+    
+    protected void writeNights(Appendable out) throws IOException {
+        TextFormat.appendInt(out, nights);
+        out.append(" nights × ");
+        TextFormat.appendAmount(out, nightlyRate);
+        out.append(" TL");
+    }
+    
     @Override
     public String toString() {
-        return String.format("%s: %s (%d nights × %.2f TL = %.2f TL)",
-            getTypeName(), name, nights, nightlyRate, calculatePrice());
+        return TextFormat.toText(this::writeTo);
     }
 }
@@ -0,0 +1,349 @@
+package model.accommodation;
+
+import model.finance.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Read-only search index over accommodation listings. Listings are stored in
+// ascending nightly rate order, so a rate range is one contiguous run of
+// positions found by binary search. Every other filter is a bitmap over those
+// positions (one per type, one per star rating, one for breakfast), and a
+// query ANDs the words it needs as it walks the run, 64 listings at a time.
+//
+// Because no listing costs less than its nightly rate times the nights plus
+// its extra fees, the walk for the cheapest totals skips listings on those
+// two columns alone and stops as soon as rate × nights is above the k-th
+// best total found so far.
+public final class AccommodationInventory {
+    
+    public enum Type {
+        HOTEL, APARTMENT, HOSTEL;
+        
+        static Type of(Accommodation accommodation) {
+            if (accommodation instanceof Hotel) return HOTEL;
+            if (accommodation instanceof Apartment) return APARTMENT;
+            if (accommodation instanceof Hostel) return HOSTEL;
+            throw new IllegalArgumentException("Unsupported accommodation type: " + accommodation.getClass().getName());
+        }
+    }
+    
+    public enum Sort {
+        TOTAL_PRICE, NIGHTLY_RATE, STAR_RATING
+    }
+    
+    private static final int MAX_STARS = 5;
+    private static final int ANY_RATING = -1;
+    private static final int UNRATED = 0;
+    
+    private final Accommodation[] listings;
+    private final long[] rates;
+    private final long[] fees;
+    private final long[][] typeBits;
+    // starBits[s] marks the hotels with s stars; other types have no stars.
+    private final long[][] starBits;
+    private final long[] breakfastBits;
+    
+    public AccommodationInventory(Collection<? extends Accommodation> listings) {
+        this.listings = listings.toArray(new Accommodation[0]);
+        Arrays.sort(this.listings, Comparator.comparingDouble(Accommodation::getNightlyRate));
+        
+        int words = (this.listings.length + 63) >>> 6;
+        this.rates = new long[this.listings.length];
+        this.fees = new long[this.listings.length];
+        this.typeBits = new long[Type.values().length][words];
+        this.starBits = new long[MAX_STARS + 1][words];
+        this.breakfastBits = new long[words];
+        for (int i = 0; i < this.listings.length; i++) {
+            Accommodation listing = this.listings[i];
+            rates[i] = Money.toMinorUnits(listing.getNightlyRate());
+            fees[i] = Money.toMinorUnits(listing.getExtraFees());
+            typeBits[Type.of(listing).ordinal()][i >>> 6] |= 1L << i;
+            if (listing instanceof Hotel hotel) {
+                starBits[hotel.getStarRating()][i >>> 6] |= 1L << i;
+                if (hotel.hasBreakfast()) {
+                    breakfastBits[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+    }
+    
+    public int size() {
+        return listings.length;
+    }
+    
+    public Accommodation get(int position) {
+        return listings[position];
+    }
+    
+    public List<Match> search(Query query) {
+        int from = firstAtLeast(query.minRate);
+        int to = query.maxRate == Long.MAX_VALUE ? listings.length : firstAtLeast(query.maxRate + 1);
+        if (from >= to || query.limit == 0) {
+            return List.of();
+        }
+        return switch (query.sort) {
+            case TOTAL_PRICE -> cheapest(query, from, to);
+            case NIGHTLY_RATE -> inRateOrder(query, from, to);
+            case STAR_RATING -> byStars(query, from, to);
+        };
+    }
+    
+    private int firstAtLeast(long rate) {
+        int low = 0;
+        int high = listings.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rates[mid] < rate) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    // Matching positions in one 64-listing word, limited to [from, to) and,
+    // unless rating is ANY_RATING, to listings with exactly that many stars.
+    private long candidates(Query query, int word, int from, int to, int rating) {
+        long bits = -1L;
+        if (word == from >>> 6) {
+            bits &= -1L << from;
+        }
+        if (word == (to - 1) >>> 6) {
+            bits &= -1L >>> (63 - ((to - 1) & 63));
+        }
+        if (query.types.size() < typeBits.length) {
+            long any = 0;
+            for (Type type : query.types) {
+                any |= typeBits[type.ordinal()][word];
+            }
+            bits &= any;
+        }
+        if (query.minStars > 0) {
+            long any = 0;
+            for (int stars = query.minStars; stars <= MAX_STARS; stars++) {
+                any |= starBits[stars][word];
+            }
+            bits &= any;
+        }
+        if (query.breakfast) {
+            bits &= breakfastBits[word];
+        }
+        if (rating > UNRATED) {
+            bits &= starBits[rating][word];
+        } else if (rating == UNRATED) {
+            for (int stars = 1; stars <= MAX_STARS; stars++) {
+                bits &= ~starBits[stars][word];
+            }
+        }
+        return bits;
+    }
+    
+    private List<Match> inRateOrder(Query query, int from, int to) {
+        List<Match> result = new ArrayList<>(Math.min(query.limit, 64));
+        collect(query, from, to, ANY_RATING, result);
+        return result;
+    }
+    
+    // Highest rated hotels first, cheapest first within a rating; listings
+    // without stars follow in rate order when the filter lets them in.
+    private List<Match> byStars(Query query, int from, int to) {
+        List<Match> result = new ArrayList<>(Math.min(query.limit, 64));
+        for (int stars = MAX_STARS; stars >= 1 && result.size() < query.limit; stars--) {
+            collect(query, from, to, stars, result);
+        }
+        if (result.size() < query.limit && query.minStars == 0) {
+            collect(query, from, to, UNRATED, result);
+        }
+        return result;
+    }
+    
+    private void collect(Query query, int from, int to, int rating, List<Match> result) {
+        for (int word = from >>> 6; word <= (to - 1) >>> 6 && result.size() < query.limit; word++) {
+            long bits = candidates(query, word, from, to, rating);
+            while (bits != 0 && result.size() < query.limit) {
+                int position = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                result.add(new Match(listings[position], query.nights));
+            }
+        }
+    }
+    
+    // Top-k by total price with a bounded max-heap of positions: the root is
+    // the worst of the best k so far, which is also the stopping threshold.
+    private List<Match> cheapest(Query query, int from, int to) {
+        int capacity = query.limit;
+        long[] heapTotals = new long[Math.min(capacity, 1024)];
+        int[] heapPositions = new int[heapTotals.length];
+        int size = 0;
+        scan:
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            long bits = candidates(query, word, from, to, ANY_RATING);
+            while (bits != 0) {
+                int position = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long stay = rates[position] * query.nights;
+                if (size == capacity) {
+                    if (stay > heapTotals[0]) {
+                        break scan;
+                    }
+                    if (stay + fees[position] >= heapTotals[0]) {
+                        continue;
+                    }
+                }
+                long total = Money.toMinorUnits(listings[position].calculatePriceForNights(query.nights));
+                if (size < capacity) {
+                    if (size == heapTotals.length) {
+                        heapTotals = Arrays.copyOf(heapTotals, Math.min(capacity, size * 2));
+                        heapPositions = Arrays.copyOf(heapPositions, heapTotals.length);
+                    }
+                    siftUp(heapTotals, heapPositions, size++, total, position);
+                } else if (total < heapTotals[0]) {
+                    siftDown(heapTotals, heapPositions, size, total, position);
+                }
+            }
+        }
+        
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        long[] totals = heapTotals;
+        int[] positions = heapPositions;
+        Arrays.sort(order, (a, b) -> totals[a] != totals[b]
+            ? Long.compare(totals[a], totals[b])
+            : Integer.compare(positions[a], positions[b]));
+        List<Match> result = new ArrayList<>(size);
+        for (int i : order) {
+            result.add(new Match(listings[positions[i]], query.nights, totals[i]));
+        }
+        return result;
+    }
+    
+    private static void siftUp(long[] totals, int[] positions, int i, long total, int position) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (totals[parent] >= total) {
+                break;
+            }
+            totals[i] = totals[parent];
+            positions[i] = positions[parent];
+            i = parent;
+        }
+        totals[i] = total;
+        positions[i] = position;
+    }
+    
+    // Replaces the root.
+    private static void siftDown(long[] totals, int[] positions, int size, long total, int position) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && totals[child + 1] > totals[child]) {
+                child++;
+            }
+            if (totals[child] <= total) {
+                break;
+            }
+            totals[i] = totals[child];
+            positions[i] = positions[child];
+            i = child;
+        }
+        totals[i] = total;
+        positions[i] = position;
+    }
+    
+    public static class Query {
+        private final int nights;
+        private long minRate;
+        private long maxRate = Long.MAX_VALUE;
+        private int minStars;
+        private boolean breakfast;
+        private Set<Type> types = EnumSet.allOf(Type.class);
+        private Sort sort = Sort.TOTAL_PRICE;
+        private int limit = 10;
+        
+        public Query(int nights) {
+            if (nights < 1) {
+                throw new IllegalArgumentException("Must be at least 1 night stay!");
+            }
+            this.nights = nights;
+        }
+        
+        public Query rateBetween(double min, double max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Invalid nightly rate range!");
+            }
+            this.minRate = Money.toMinorUnits(min);
+            this.maxRate = Double.isInfinite(max) ? Long.MAX_VALUE : Money.toMinorUnits(max);
+            return this;
+        }
+        
+        // Only hotels carry a star rating, so any minimum leaves hotels only.
+        public Query minStars(int stars) {
+            if (stars < 0 || stars > MAX_STARS) {
+                throw new IllegalArgumentException("Star rating must be between 0 and " + MAX_STARS + "!");
+            }
+            this.minStars = stars;
+            return this;
+        }
+        
+        public Query withBreakfast() {
+            this.breakfast = true;
+            return this;
+        }
+        
+        public Query types(Type first, Type... rest) {
+            this.types = EnumSet.of(first, rest);
+            return this;
+        }
+        
+        public Query sortBy(Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+        
+        public Query limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Result limit cannot be negative!");
+            }
+            this.limit = limit;
+            return this;
+        }
+        
+        public int getNights() { return nights; }
+    }
+    
+    public static class Match {
+        private final Accommodation listing;
+        private final int nights;
+        private final long totalPriceMinor;
+        
+        private Match(Accommodation listing, int nights) {
+            this(listing, nights, Money.toMinorUnits(listing.calculatePriceForNights(nights)));
+        }
+        
+        private Match(Accommodation listing, int nights, long totalPriceMinor) {
+            this.listing = listing;
+            this.nights = nights;
+            this.totalPriceMinor = totalPriceMinor;
+        }
+        
+        public Accommodation getListing() { return listing; }
+        public int getNights() { return nights; }
+        public long getTotalPriceMinor() { return totalPriceMinor; }
+        public double getTotalPrice() { return Money.toMajor(totalPriceMinor); }
+        
+        // The listing booked for the searched number of nights.
+        public Accommodation book() {
+            return listing.nights == nights ? listing : listing.forNights(nights);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package model.accommodation;
 
-import java.util.concurrent.ThreadLocalRandom;
+import model.TextFormat;
+import model.finance.Money;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+
+import java.io.IOException;
 
 public class Apartment extends Accommodation {
     private final double cleaningFee;
@@ -8,7 +13,7 @@ public class Apartment extends Accommodation {
     private final boolean hasKitchen;
     
     public Apartment(int nights) {
-        this("Standard Apartment", ThreadLocalRandom.current().nextDouble(1500, 5001), nights, 2, true);
+        this("Standard Apartment", QuoteProvider.standard().quote(QuoteKey.stay(QuoteKey.Product.APARTMENT, nights)), nights, 2, true);
     }
     
     public Apartment(String name, double nightlyRate, int nights, int bedroomCount, boolean hasKitchen) {
@@ -19,8 +24,13 @@ public class Apartment extends Accommodation {
     }
     
     @Override
-    public double calculatePrice() {
-        return (nightlyRate * nights) + cleaningFee;
+    public double calculatePriceForNights(int nights) {
+        return Money.toMajor(Money.toMinorUnits(nightlyRate) * nights + Money.toMinorUnits(cleaningFee));
+    }
+    
+    @Override
+    public Apartment forNights(int nights) {
+        return new Apartment(name, nightlyRate, nights, bedroomCount, hasKitchen);
     }
     
     @Override
@@ -46,9 +56,15 @@ public class Apartment extends Accommodation {
     }
     
     @Override
-    public String toString() {
-        String features = bedroomCount + " bedroom" + (hasKitchen ? ", kitchen" : "");
-        return String.format("🏠 %s: %s (%s)\n   %d nights × %.2f TL + Cleaning: %.2f TL = %.2f TL",
-            getTypeName(), name, features, nights, nightlyRate, cleaningFee, calculatePrice());
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🏠 ").append(getTypeName()).append(": ").append(name).append(" (");
+        TextFormat.appendInt(out, bedroomCount);
+        out.append(" bedroom").append(hasKitchen ? ", kitchen" : "").append(")\n   ");
+        writeNights(out);
+        out.append(" + Cleaning: ");
+        TextFormat.appendAmount(out, cleaningFee);
+        out.append(" TL = ");
+        TextFormat.appendAmount(out, calculatePrice());
+        out.append(" TL");
     }
 }
@@ -1,13 +1,18 @@
 package model.accommodation;
 
-import java.util.concurrent.ThreadLocalRandom;
+import model.TextFormat;
+import model.finance.Money;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+
+import java.io.IOException;
 
 public class Hostel extends Accommodation {
     private final boolean isPrivateRoom;
     private final int bedCount;
     
     public Hostel(int nights) {
-        this("Standard Hostel", ThreadLocalRandom.current().nextDouble(300, 1001), nights, false, 6);
+        this("Standard Hostel", QuoteProvider.standard().quote(QuoteKey.stay(QuoteKey.Product.HOSTEL, nights)), nights, false, 6);
     }
     
     public Hostel(String name, double nightlyRate, int nights, boolean isPrivateRoom, int bedCount) {
@@ -17,9 +22,14 @@ public class Hostel extends Accommodation {
     }
     
     @Override
-    public double calculatePrice() {
+    public double calculatePriceForNights(int nights) {
         double multiplier = isPrivateRoom ? 1.5 : 1.0;
-        return nightlyRate * nights * multiplier;
+        return Money.toMajor(Money.multiply(Money.toMinorUnits(nightlyRate) * nights, multiplier));
+    }
+    
+    @Override
+    public Hostel forNights(int nights) {
+        return new Hostel(name, nightlyRate, nights, isPrivateRoom, bedCount);
     }
     
     @Override
@@ -41,9 +51,18 @@ public class Hostel extends Accommodation {
     }
     
     @Override
-    public String toString() {
-        String roomType = isPrivateRoom ? "Private room" : bedCount + " person room";
-        return String.format("🛏️ %s: %s (%s)\n   %d nights × %.2f TL = %.2f TL",
-            getTypeName(), name, roomType, nights, nightlyRate, calculatePrice());
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🛏️ ").append(getTypeName()).append(": ").append(name).append(" (");
+        if (isPrivateRoom) {
+            out.append("Private room");
+        } else {
+            TextFormat.appendInt(out, bedCount);
+            out.append(" person room");
+        }
+        out.append(")\n   ");
+        writeNights(out);
+        out.append(" = ");
+        TextFormat.appendAmount(out, calculatePrice());
+        out.append(" TL");
     }
 }
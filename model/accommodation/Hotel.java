@@ -1,6 +1,11 @@
 package model.accommodation;
 
-import java.util.concurrent.ThreadLocalRandom;
+import model.TextFormat;
+import model.finance.Money;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+
+import java.io.IOException;
 
 public class Hotel extends Accommodation {
     private final int starRating;
@@ -8,7 +13,7 @@ public class Hotel extends Accommodation {
     private final boolean hasBreakfast;
     
     public Hotel(int nights) {
-        this("Standard Hotel", ThreadLocalRandom.current().nextDouble(2000, 8001), nights, 4, true);
+        this("Standard Hotel", QuoteProvider.standard().quote(QuoteKey.stay(QuoteKey.Product.HOTEL, nights)), nights, 4, true);
     }
     
     public Hotel(String name, double nightlyRate, int nights, int starRating, boolean hasBreakfast) {
@@ -19,8 +24,13 @@ public class Hotel extends Accommodation {
     }
     
     @Override
-    public double calculatePrice() {
-        return (nightlyRate * nights) + serviceFee;
+    public double calculatePriceForNights(int nights) {
+        return Money.toMajor(Money.toMinorUnits(nightlyRate) * nights + Money.toMinorUnits(serviceFee));
+    }
+    
+    @Override
+    public Hotel forNights(int nights) {
+        return new Hotel(name, nightlyRate, nights, starRating, hasBreakfast);
     }
     
     @Override
@@ -46,9 +56,14 @@ public class Hotel extends Accommodation {
     }
     
     @Override
-    public String toString() {
-        String breakfast = hasBreakfast ? " (Breakfast included)" : "";
-        return String.format("🏨 %s: %s%s\n   %d nights × %.2f TL + Service: %.2f TL = %.2f TL",
-            getTypeName(), name, breakfast, nights, nightlyRate, serviceFee, calculatePrice());
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🏨 ").append(getTypeName()).append(": ").append(name)
+            .append(hasBreakfast ? " (Breakfast included)" : "").append("\n   ");
+        writeNights(out);
+        out.append(" + Service: ");
+        TextFormat.appendAmount(out, serviceFee);
+        out.append(" TL = ");
+        TextFormat.appendAmount(out, calculatePrice());
+        out.append(" TL");
     }
 }
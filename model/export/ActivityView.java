@@ -0,0 +1,56 @@
+package model.export;
+
+import model.trip.Activity;
+
+import java.time.LocalDateTime;
+
+// ACTIVITY frame: start, end, cost (minor), kind ordinal | type name,
+// description.
+public final class ActivityView extends FrameView {
+    private static final Activity.Kind[] KINDS = Activity.Kind.values();
+    
+    private static final int START = 0;
+    private static final int END = 8;
+    private static final int COST = 16;
+    private static final int KIND = 24;
+    private static final int FIXED_SIZE = 25;
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.ACTIVITY;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 2;
+    }
+    
+    public Activity.Kind getKind() {
+        return KINDS[byteAt(KIND)];
+    }
+    
+    public LocalDateTime getStartTime() {
+        return dateTimeAt(START);
+    }
+    
+    public LocalDateTime getEndTime() {
+        return dateTimeAt(END);
+    }
+    
+    public long getCostMinor() {
+        return longAt(COST);
+    }
+    
+    public String getTypeName() {
+        return stringAt(0);
+    }
+    
+    public String getDescription() {
+        return stringAt(1);
+    }
+}
@@ -0,0 +1,173 @@
+package model.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Encoder for the binary export format. Every object is a frame:
+//
+//   [u32 length][u8 tag][fixed-width fields][strings][child frames]
+//
+// where length counts everything after itself, so a reader can step over a
+// whole trip, day or document without looking inside. Strings are u32 length
+// + UTF-8 (-1 for null), date-times are epoch seconds in UTC, dates epoch days
+// (Long.MIN_VALUE for null) and amounts exact minor units. The matching
+// readers are the *View classes in this package.
+//
+// One writer can be reset and reused for any number of exports; the buffer
+// grows to the largest frame written and is never shrunk.
+public final class BinaryWriter {
+    public static final byte TRIP = 1;
+    public static final byte DAY = 2;
+    public static final byte ACTIVITY = 3;
+    public static final byte BUDGET = 4;
+    public static final byte EXPENSE = 5;
+    public static final byte VISA_APPLICATION = 6;
+    public static final byte DOCUMENT = 7;
+    
+    public static final long NO_VALUE = Long.MIN_VALUE;
+    
+    private ByteBuffer buffer;
+    
+    public BinaryWriter() {
+        this(4096);
+    }
+    
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(Math.max(initialCapacity, 64));
+    }
+    
+    // Returns the frame start to hand back to endFrame once the frame's
+    // fields and children have been written.
+    public int beginFrame(byte tag) {
+        ensure(5);
+        int start = buffer.position();
+        buffer.putInt(0).put(tag);
+        return start;
+    }
+    
+    public void endFrame(int start) {
+        buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+    }
+    
+    // Position of the next field, for values that are only known after the
+    // children have been written (see patchInt/patchLong).
+    public int position() {
+        return buffer.position();
+    }
+    
+    public void patchInt(int position, int value) {
+        buffer.putInt(position, value);
+    }
+    
+    public void patchLong(int position, long value) {
+        buffer.putLong(position, value);
+    }
+    
+    public BinaryWriter writeByte(int value) {
+        ensure(1);
+        buffer.put((byte) value);
+        return this;
+    }
+    
+    public BinaryWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+    
+    public BinaryWriter writeInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+        return this;
+    }
+    
+    public BinaryWriter writeLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+        return this;
+    }
+    
+    public BinaryWriter writeDate(LocalDate value) {
+        return writeLong(value != null ? value.toEpochDay() : NO_VALUE);
+    }
+    
+    public BinaryWriter writeDateTime(LocalDateTime value) {
+        return writeLong(value != null ? value.toEpochSecond(ZoneOffset.UTC) : NO_VALUE);
+    }
+    
+    // Encodes UTF-8 straight into the buffer; unpaired surrogates become '?'
+    // as they do in String.getBytes.
+    public BinaryWriter writeString(String value) {
+        if (value == null) {
+            return writeInt(-1);
+        }
+        int length = value.length();
+        ensure(Integer.BYTES + length * 3);
+        int start = buffer.position();
+        buffer.position(start + Integer.BYTES);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6))
+                    .put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18))
+                    .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                    .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                    .put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12))
+                    .put((byte) (0x80 | c >> 6 & 0x3F))
+                    .put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+        return this;
+    }
+    
+    public int size() {
+        return buffer.position();
+    }
+    
+    public void reset() {
+        buffer.clear();
+    }
+    
+    // Read-only view of the bytes written so far; valid until the next write.
+    public ByteBuffer toByteBuffer() {
+        return buffer.asReadOnlyBuffer().flip();
+    }
+    
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        buffer.get(0, bytes);
+        return bytes;
+    }
+    
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer pending = buffer.duplicate().flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+    }
+    
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            long required = (long) buffer.position() + bytes;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Binary export does not fit into a single buffer!");
+            }
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, 2L * buffer.capacity()));
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package model.export;
+
+import java.nio.ByteBuffer;
+
+// BUDGET frame: limit (minor), spent (minor), expenseCount | - | EXPENSE
+// frames. spent is the sum of the exported expenses.
+public final class BudgetView extends FrameView {
+    private static final int LIMIT = 0;
+    private static final int SPENT = 8;
+    private static final int EXPENSE_COUNT = 16;
+    private static final int FIXED_SIZE = 20;
+    
+    public static BudgetView wrap(ByteBuffer buffer) {
+        return single(new BudgetView(), buffer);
+    }
+    
+    public static BudgetView sequence(ByteBuffer buffer) {
+        return sequence(new BudgetView(), buffer);
+    }
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.BUDGET;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 0;
+    }
+    
+    public long getTotalLimitMinor() {
+        return longAt(LIMIT);
+    }
+    
+    public long getCurrentSpendingMinor() {
+        return longAt(SPENT);
+    }
+    
+    public long getRemainingBudgetMinor() {
+        return getTotalLimitMinor() - getCurrentSpendingMinor();
+    }
+    
+    public int getExpenseCount() {
+        return intAt(EXPENSE_COUNT);
+    }
+    
+    public ExpenseView expenses() {
+        return expenses(new ExpenseView());
+    }
+    
+    public ExpenseView expenses(ExpenseView reuse) {
+        return children(reuse, getExpenseCount());
+    }
+}
@@ -0,0 +1,50 @@
+package model.export;
+
+import java.time.LocalDate;
+
+// DAY frame: date, cost (minor), activityCount | note | ACTIVITY frames.
+public final class DayView extends FrameView {
+    private static final int DATE = 0;
+    private static final int COST = 8;
+    private static final int ACTIVITY_COUNT = 16;
+    private static final int FIXED_SIZE = 20;
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.DAY;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 1;
+    }
+    
+    public LocalDate getDate() {
+        return dateAt(DATE);
+    }
+    
+    public long getCostMinor() {
+        return longAt(COST);
+    }
+    
+    public int getActivityCount() {
+        return intAt(ACTIVITY_COUNT);
+    }
+    
+    public String getNote() {
+        return stringAt(0);
+    }
+    
+    public ActivityView activities() {
+        return activities(new ActivityView());
+    }
+    
+    public ActivityView activities(ActivityView reuse) {
+        return children(reuse, getActivityCount());
+    }
+}
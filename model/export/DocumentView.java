@@ -0,0 +1,52 @@
+package model.export;
+
+import model.visa.DocumentType;
+
+import java.time.LocalDate;
+
+// DOCUMENT frame: upload date, expiry date, type ordinal, expired flag |
+// content.
+public final class DocumentView extends FrameView {
+    private static final DocumentType[] TYPES = DocumentType.values();
+    
+    private static final int UPLOAD_DATE = 0;
+    private static final int EXPIRY_DATE = 8;
+    private static final int TYPE = 16;
+    private static final int EXPIRED = 17;
+    private static final int FIXED_SIZE = 18;
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.DOCUMENT;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 1;
+    }
+    
+    public DocumentType getType() {
+        return TYPES[byteAt(TYPE)];
+    }
+    
+    public String getContent() {
+        return stringAt(0);
+    }
+    
+    public LocalDate getUploadDate() {
+        return dateAt(UPLOAD_DATE);
+    }
+    
+    public LocalDate getExpiryDate() {
+        return dateAt(EXPIRY_DATE);
+    }
+    
+    public boolean isExpired() {
+        return byteAt(EXPIRED) != 0;
+    }
+}
@@ -0,0 +1,46 @@
+package model.export;
+
+import model.finance.ExpenseType;
+
+import java.time.LocalDateTime;
+
+// EXPENSE frame: amount (minor), timestamp, type ordinal | description.
+public final class ExpenseView extends FrameView {
+    private static final ExpenseType[] TYPES = ExpenseType.values();
+    
+    private static final int AMOUNT = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int TYPE = 16;
+    private static final int FIXED_SIZE = 17;
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.EXPENSE;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 1;
+    }
+    
+    public long getAmountMinor() {
+        return longAt(AMOUNT);
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return dateTimeAt(TIMESTAMP);
+    }
+    
+    public ExpenseType getType() {
+        return TYPES[byteAt(TYPE)];
+    }
+    
+    public String getDescription() {
+        return stringAt(0);
+    }
+}
@@ -0,0 +1,149 @@
+package model.export;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Flyweight over one frame of a binary export (see BinaryWriter). Fields are
+// read with absolute gets straight from the buffer and nothing is decoded
+// until it is asked for. A view is also a cursor: next() moves it over the
+// following sibling frames, so iterating a million activities reuses a single
+// view object.
+public abstract class FrameView {
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+    
+    protected ByteBuffer buffer;
+    protected int offset;
+    private int nextOffset;
+    private int remaining;
+    private int limit;
+    
+    protected FrameView() {
+    }
+    
+    protected abstract byte tag();
+    
+    protected abstract int fixedSize();
+    
+    protected abstract int stringCount();
+    
+    public int getEncodedSize() {
+        return Integer.BYTES + buffer.getInt(offset);
+    }
+    
+    // Positions the view before count consecutive frames starting at first;
+    // a negative count means "until the end of the buffer".
+    void over(ByteBuffer buffer, int first, int count) {
+        this.buffer = buffer;
+        this.offset = -1;
+        this.nextOffset = first;
+        this.remaining = count;
+        this.limit = buffer.limit();
+    }
+    
+    public boolean next() {
+        if (remaining == 0 || nextOffset >= limit) {
+            return false;
+        }
+        if (limit - nextOffset < HEADER_SIZE) {
+            throw new IllegalArgumentException("Truncated frame at offset " + nextOffset + "!");
+        }
+        int length = buffer.getInt(nextOffset);
+        if (length < 1 || length > limit - nextOffset - Integer.BYTES) {
+            throw new IllegalArgumentException("Corrupt frame length at offset " + nextOffset + "!");
+        }
+        if (buffer.get(nextOffset + Integer.BYTES) != tag()) {
+            throw new IllegalArgumentException("Unexpected frame type at offset " + nextOffset + "!");
+        }
+        offset = nextOffset;
+        nextOffset = offset + Integer.BYTES + length;
+        if (remaining > 0) {
+            remaining--;
+        }
+        return true;
+    }
+    
+    static ByteBuffer bigEndian(ByteBuffer buffer) {
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? buffer : buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+    
+    static <V extends FrameView> V single(V view, ByteBuffer buffer) {
+        ByteBuffer source = bigEndian(buffer);
+        view.over(source, source.position(), 1);
+        if (!view.next()) {
+            throw new IllegalArgumentException("Buffer holds no export frame!");
+        }
+        return view;
+    }
+    
+    static <V extends FrameView> V sequence(V view, ByteBuffer buffer) {
+        ByteBuffer source = bigEndian(buffer);
+        view.over(source, source.position(), -1);
+        return view;
+    }
+    
+    // Field access relative to the start of the fixed-width part.
+    protected final byte byteAt(int field) {
+        return buffer.get(offset + HEADER_SIZE + field);
+    }
+    
+    protected final int intAt(int field) {
+        return buffer.getInt(offset + HEADER_SIZE + field);
+    }
+    
+    protected final long longAt(int field) {
+        return buffer.getLong(offset + HEADER_SIZE + field);
+    }
+    
+    protected final LocalDate dateAt(int field) {
+        long epochDay = longAt(field);
+        return epochDay != BinaryWriter.NO_VALUE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+    
+    protected final LocalDateTime dateTimeAt(int field) {
+        long epochSecond = longAt(field);
+        return epochSecond != BinaryWriter.NO_VALUE ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+    
+    protected final String stringAt(int index) {
+        int position = stringOffset(index);
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + position + Integer.BYTES, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    // Moves child over the frames that follow this frame's strings.
+    protected final <V extends FrameView> V children(V child, int count) {
+        child.over(buffer, stringOffset(stringCount()), count);
+        return child;
+    }
+    
+    // Moves child over the frames that follow the frame skipped frames into
+    // this frame's children.
+    protected final <V extends FrameView> V childrenAfter(V child, int skipped, int count) {
+        int position = stringOffset(stringCount());
+        for (int i = 0; i < skipped; i++) {
+            position += Integer.BYTES + buffer.getInt(position);
+        }
+        child.over(buffer, position, count);
+        return child;
+    }
+    
+    private int stringOffset(int index) {
+        int position = offset + HEADER_SIZE + fixedSize();
+        for (int i = 0; i < index; i++) {
+            position += Integer.BYTES + Math.max(buffer.getInt(position), 0);
+        }
+        return position;
+    }
+}
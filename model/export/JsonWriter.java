@@ -0,0 +1,167 @@
+package model.export;
+
+import model.TextFormat;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+// Streaming JSON encoder over an Appendable. Output is compact (no
+// whitespace) and written as it is produced, so an export of any size never
+// exists as one String. Amounts are exact decimals taken from minor units,
+// dates ISO-8601.
+public final class JsonWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private final Appendable out;
+    // needsComma[depth] is set once the current object/array has a member.
+    private boolean[] needsComma;
+    private int depth;
+    private boolean afterName;
+    
+    public JsonWriter(Appendable out) {
+        this.out = out;
+        this.needsComma = new boolean[16];
+    }
+    
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+    
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+    
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+    
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+    
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeQuoted(name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+    
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        writeQuoted(value);
+        return this;
+    }
+    
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        TextFormat.appendInt(out, value);
+        return this;
+    }
+    
+    public JsonWriter value(boolean value) throws IOException {
+        separate();
+        out.append(value ? "true" : "false");
+        return this;
+    }
+    
+    public JsonWriter value(Enum<?> value) throws IOException {
+        return value != null ? value(value.name()) : nullValue();
+    }
+    
+    public JsonWriter value(LocalDate value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        out.append('"');
+        DateTimeFormatter.ISO_LOCAL_DATE.formatTo(value, out);
+        out.append('"');
+        return this;
+    }
+    
+    public JsonWriter value(LocalDateTime value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        out.append('"');
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, out);
+        out.append('"');
+        return this;
+    }
+    
+    public JsonWriter amount(long minorUnits) throws IOException {
+        separate();
+        TextFormat.appendMinor(out, minorUnits);
+        return this;
+    }
+    
+    public JsonWriter nullValue() throws IOException {
+        separate();
+        out.append("null");
+        return this;
+    }
+    
+    private JsonWriter open(char bracket) throws IOException {
+        separate();
+        out.append(bracket);
+        if (++depth == needsComma.length) {
+            needsComma = Arrays.copyOf(needsComma, depth * 2);
+        }
+        needsComma[depth] = false;
+        return this;
+    }
+    
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Unbalanced JSON output!");
+        }
+        depth--;
+        out.append(bracket);
+        return this;
+    }
+    
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else {
+            if (needsComma[depth]) {
+                out.append(',');
+            }
+            needsComma[depth] = true;
+        }
+    }
+    
+    // Copies runs of characters that need no escaping in one append.
+    private void writeQuoted(String value) throws IOException {
+        out.append('"');
+        int run = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            out.append(value, run, i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> out.append("\\u")
+                    .append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF])
+                    .append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+            }
+            run = i + 1;
+        }
+        out.append(value, run, length).append('"');
+    }
+}
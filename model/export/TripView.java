@@ -0,0 +1,90 @@
+package model.export;
+
+import model.trip.Trip;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+// TRIP frame: start, end, totalCost (minor), dayCount, status ordinal |
+// name, destination city, destination country | BUDGET frame, DAY frames.
+public final class TripView extends FrameView {
+    private static final Trip.Status[] STATUSES = Trip.Status.values();
+    
+    private static final int START = 0;
+    private static final int END = 8;
+    private static final int TOTAL_COST = 16;
+    private static final int DAY_COUNT = 24;
+    private static final int STATUS = 28;
+    private static final int FIXED_SIZE = 29;
+    
+    public static TripView wrap(ByteBuffer buffer) {
+        return single(new TripView(), buffer);
+    }
+    
+    // Cursor over back-to-back trip exports; call next() before each trip.
+    public static TripView sequence(ByteBuffer buffer) {
+        return sequence(new TripView(), buffer);
+    }
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.TRIP;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 3;
+    }
+    
+    public String getName() {
+        return stringAt(0);
+    }
+    
+    public String getDestinationCity() {
+        return stringAt(1);
+    }
+    
+    public String getDestinationCountry() {
+        return stringAt(2);
+    }
+    
+    public LocalDateTime getStartDate() {
+        return dateTimeAt(START);
+    }
+    
+    public LocalDateTime getEndDate() {
+        return dateTimeAt(END);
+    }
+    
+    public long getTotalCostMinor() {
+        return longAt(TOTAL_COST);
+    }
+    
+    public Trip.Status getStatus() {
+        return STATUSES[byteAt(STATUS)];
+    }
+    
+    public int getDayCount() {
+        return intAt(DAY_COUNT);
+    }
+    
+    public BudgetView getBudget() {
+        BudgetView budget = children(new BudgetView(), 1);
+        budget.next();
+        return budget;
+    }
+    
+    public DayView days() {
+        return days(new DayView());
+    }
+    
+    // Reuses the given view, so walking many trips allocates nothing.
+    public DayView days(DayView reuse) {
+        return childrenAfter(reuse, 1, getDayCount());
+    }
+}
@@ -0,0 +1,94 @@
+package model.export;
+
+import model.visa.DocumentType;
+import model.visa.VisaApplication;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+// VISA_APPLICATION frame: application date, fee (minor), documentCount,
+// missing-document mask (bit per DocumentType ordinal), status ordinal |
+// visa type name, applicant name | DOCUMENT frames.
+public final class VisaApplicationView extends FrameView {
+    private static final VisaApplication.Status[] STATUSES = VisaApplication.Status.values();
+    private static final DocumentType[] DOCUMENT_TYPES = DocumentType.values();
+    
+    private static final int APPLICATION_DATE = 0;
+    private static final int FEE = 8;
+    private static final int DOCUMENT_COUNT = 16;
+    private static final int MISSING = 20;
+    private static final int STATUS = 24;
+    private static final int FIXED_SIZE = 25;
+    
+    public static VisaApplicationView wrap(ByteBuffer buffer) {
+        return single(new VisaApplicationView(), buffer);
+    }
+    
+    public static VisaApplicationView sequence(ByteBuffer buffer) {
+        return sequence(new VisaApplicationView(), buffer);
+    }
+    
+    @Override
+    protected byte tag() {
+        return BinaryWriter.VISA_APPLICATION;
+    }
+    
+    @Override
+    protected int fixedSize() {
+        return FIXED_SIZE;
+    }
+    
+    @Override
+    protected int stringCount() {
+        return 2;
+    }
+    
+    public String getVisaTypeName() {
+        return stringAt(0);
+    }
+    
+    public String getApplicantName() {
+        return stringAt(1);
+    }
+    
+    public LocalDate getApplicationDate() {
+        return dateAt(APPLICATION_DATE);
+    }
+    
+    public long getFeeMinor() {
+        return longAt(FEE);
+    }
+    
+    public VisaApplication.Status getStatus() {
+        return STATUSES[byteAt(STATUS)];
+    }
+    
+    public boolean isMissing(DocumentType type) {
+        return (intAt(MISSING) & type.mask()) != 0;
+    }
+    
+    public Set<DocumentType> getMissingDocuments() {
+        Set<DocumentType> missing = EnumSet.noneOf(DocumentType.class);
+        int mask = intAt(MISSING);
+        for (DocumentType type : DOCUMENT_TYPES) {
+            if ((mask & type.mask()) != 0) {
+                missing.add(type);
+            }
+        }
+        return missing;
+    }
+    
+    public int getDocumentCount() {
+        return intAt(DOCUMENT_COUNT);
+    }
+    
+    public DocumentView documents() {
+        return documents(new DocumentView());
+    }
+    
+    public DocumentView documents(DocumentView reuse) {
+        return children(reuse, getDocumentCount());
+    }
+}
@@ -1,31 +1,60 @@
 package model.finance;
 
 import exception.BudgetExceededException;
-import java.util.ArrayList;
+import model.Exportable;
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+
+import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
-public class Budget {
-    private final double totalLimit;
-    private double currentSpending;
-    private final List<Expense> expenses;
+public class Budget implements Exportable {
+    private static final ExpenseType[] EXPENSE_TYPES = ExpenseType.values();
+    
+    // All amounts are exact minor units (kuruş), see Money.
+    private final long totalLimit;
+    // The limit check and the increment happen in one compare-and-set, so the
+    // limit holds even with many concurrent writers.
+    private final AtomicLong currentSpending;
+    private final Queue<Expense> expenses;
+    private final AtomicLong expenseCount;
+    private volatile ExpenseSnapshot expenseSnapshot;
+    // Running total per ExpenseType ordinal.
+    private final AtomicLongArray categoryTotals;
     private final ExchangeRateProvider exchangeProvider;
     
     public Budget(double totalLimit) {
-        if (totalLimit <= 0) {
+        this(Money.of(totalLimit, Currency.TRY));
+    }
+    
+    public Budget(Money totalLimit) {
+        if (totalLimit.getCurrency() != Currency.TRY) {
+            throw new IllegalArgumentException("Budget limit must be in " + Currency.TRY.getDisplayName() + "!");
+        }
+        if (!totalLimit.isPositive()) {
             throw new IllegalArgumentException("Budget limit must be positive!");
         }
-        this.totalLimit = totalLimit;
-        this.currentSpending = 0;
-        this.expenses = new ArrayList<>();
+        this.totalLimit = totalLimit.getMinorUnits();
+        this.currentSpending = new AtomicLong();
+        this.expenses = new ConcurrentLinkedQueue<>();
+        this.expenseCount = new AtomicLong();
+        this.categoryTotals = new AtomicLongArray(EXPENSE_TYPES.length);
         this.exchangeProvider = new StaticExchangeRateProvider();
     }
     
     public void addExpense(Expense expense) throws BudgetExceededException {
-        validateExpense(expense.getAmount());
+        long amount = expense.getAmountMinor();
+        reserve(amount);
         expenses.add(expense);
-        currentSpending += expense.getAmount();
+        expenseCount.incrementAndGet();
+        categoryTotals.addAndGet(expense.getType().ordinal(), amount);
     }
     
     public void addExpense(double amount, String description) throws BudgetExceededException {
@@ -36,72 +65,189 @@ public class Budget {
         addExpense(new Expense(amount, description, type));
     }
     
-    private void validateExpense(double amount) throws BudgetExceededException {
+    private void reserve(long amount) throws BudgetExceededException {
+        while (true) {
+            long spent = currentSpending.get();
+            validateExpense(spent, amount);
+            if (currentSpending.compareAndSet(spent, spent + amount)) {
+                return;
+            }
+        }
+    }
+    
+    private void validateExpense(long spent, long amount) throws BudgetExceededException {
         if (amount <= 0) {
             throw new IllegalArgumentException("Expense amount must be positive!");
         }
-        if (currentSpending + amount > totalLimit) {
-            throw new BudgetExceededException(amount, getRemainingBudget());
+        if (amount > totalLimit - spent) {
+            throw new BudgetExceededException(Money.toMajor(amount), Money.toMajor(totalLimit - spent));
         }
     }
     
     public boolean canAfford(double amount) {
-        return currentSpending + amount <= totalLimit;
+        return Money.toMinorUnits(amount) <= totalLimit - currentSpending.get();
     }
     
     public double getRemainingBudget() {
-        return totalLimit - currentSpending;
+        return Money.toMajor(getRemainingBudgetMinor());
+    }
+    
+    public long getRemainingBudgetMinor() {
+        return totalLimit - currentSpending.get();
     }
     
     public double getCurrentSpending() {
-        return currentSpending;
+        return Money.toMajor(currentSpending.get());
+    }
+    
+    public long getCurrentSpendingMinor() {
+        return currentSpending.get();
     }
     
     public double getTotalLimit() {
+        return Money.toMajor(totalLimit);
+    }
+    
+    public long getTotalLimitMinor() {
         return totalLimit;
     }
     
+    public Currency getCurrency() {
+        return Currency.TRY;
+    }
+    
     public List<Expense> getExpenses() {
-        return new ArrayList<>(expenses);
+        long count = expenseCount.get();
+        ExpenseSnapshot snapshot = expenseSnapshot;
+        if (snapshot == null || snapshot.count != count) {
+            // Every expense counted so far is already in the queue, so the
+            // copy is at least as new as the count it is tagged with.
+            snapshot = new ExpenseSnapshot(count, List.copyOf(expenses));
+            expenseSnapshot = snapshot;
+        }
+        return snapshot.expenses;
+    }
+    
+    public int getExpenseCount() {
+        return (int) expenseCount.get();
     }
     
     public double getSpendingPercentage() {
-        return (currentSpending / totalLimit) * 100;
+        return (currentSpending.get() / (double) totalLimit) * 100;
+    }
+    
+    public double getCategoryTotal(ExpenseType type) {
+        return Money.toMajor(getCategoryTotalMinor(type));
+    }
+    
+    public long getCategoryTotalMinor(ExpenseType type) {
+        return categoryTotals.get(type.ordinal());
     }
     
     public Map<ExpenseType, Double> getExpensesByCategory() {
-        return expenses.stream()
-            .collect(Collectors.groupingBy(
-                Expense::getType,
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        Map<ExpenseType, Double> byCategory = new EnumMap<>(ExpenseType.class);
+        for (ExpenseType type : EXPENSE_TYPES) {
+            double total = getCategoryTotal(type);
+            if (total > 0) {
+                byCategory.put(type, total);
+            }
+        }
+        return byCategory;
     }
     
     public String generateReport() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("═══════════════════════════════════════\n");
-        sb.append("           BUDGET REPORT\n");
-        sb.append("═══════════════════════════════════════\n");
-        sb.append(String.format("Total Limit   : %.2f TL\n", totalLimit));
-        sb.append(String.format("Spent         : %.2f TL (%%%.1f)\n", currentSpending, getSpendingPercentage()));
-        sb.append(String.format("Remaining     : %.2f TL\n", getRemainingBudget()));
-        sb.append("───────────────────────────────────────\n");
+        return TextFormat.toText(this::writeReport);
+    }
+    
+    @Override
+    public void exportTo(Appendable out) throws IOException {
+        writeReport(out);
+    }
+    
+    // spent is summed from the expenses actually written, so the export stays
+    // self-consistent while other threads keep adding expenses.
+    @Override
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("limit").amount(totalLimit)
+            .name("expenses").beginArray();
+        long spent = 0;
+        for (Expense expense : expenses) {
+            expense.writeJson(out);
+            spent += expense.getAmountMinor();
+        }
+        out.endArray()
+            .name("spent").amount(spent)
+            .name("remaining").amount(totalLimit - spent)
+            .endObject();
+    }
+    
+    @Override
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.BUDGET);
+        out.writeLong(totalLimit);
+        int totals = out.position();
+        out.writeLong(0).writeInt(0);
+        long spent = 0;
+        int count = 0;
+        for (Expense expense : expenses) {
+            expense.writeBinary(out);
+            spent += expense.getAmountMinor();
+            count++;
+        }
+        out.patchLong(totals, spent);
+        out.patchInt(totals + Long.BYTES, count);
+        out.endFrame(frame);
+    }
+    
+    public void writeReport(Appendable out) throws IOException {
+        out.append("═══════════════════════════════════════\n");
+        out.append("           BUDGET REPORT\n");
+        out.append("═══════════════════════════════════════\n");
+        out.append("Total Limit   : ");
+        TextFormat.appendMinor(out, totalLimit);
+        out.append(" TL\n");
+        out.append("Spent         : ");
+        TextFormat.appendMinor(out, getCurrentSpendingMinor());
+        out.append(" TL (%");
+        TextFormat.appendFixed(out, getSpendingPercentage(), 1);
+        out.append(")\n");
+        out.append("Remaining     : ");
+        TextFormat.appendMinor(out, getRemainingBudgetMinor());
+        out.append(" TL\n");
+        out.append("───────────────────────────────────────\n");
         
         if (!expenses.isEmpty()) {
-            sb.append("By Category:\n");
-            getExpensesByCategory().forEach((type, amount) -> 
-                sb.append(String.format("  • %s: %.2f TL\n", type.getDisplayName(), amount))
-            );
-            sb.append("───────────────────────────────────────\n");
-            sb.append("All Expenses:\n");
+            out.append("By Category:\n");
+            for (ExpenseType type : EXPENSE_TYPES) {
+                long amount = categoryTotals.get(type.ordinal());
+                if (amount > 0) {
+                    out.append("  • ").append(type.getDisplayName()).append(": ");
+                    TextFormat.appendMinor(out, amount);
+                    out.append(" TL\n");
+                }
+            }
+            out.append("───────────────────────────────────────\n");
+            out.append("All Expenses:\n");
             for (Expense e : expenses) {
-                sb.append("  ").append(e.toString()).append("\n");
+                out.append("  ");
+                e.writeTo(out);
+                out.append('\n');
             }
         } else {
-            sb.append("No expenses yet.\n");
+            out.append("No expenses yet.\n");
         }
         
-        sb.append("═══════════════════════════════════════");
-        return sb.toString();
+        out.append("═══════════════════════════════════════");
+    }
+    
+    private static final class ExpenseSnapshot {
+        private final long count;
+        private final List<Expense> expenses;
+        
+        private ExpenseSnapshot(long count, List<Expense> expenses) {
+            this.count = count;
+            this.expenses = expenses;
+        }
     }
 }
@@ -0,0 +1,106 @@
+package model.finance;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CachingExchangeRateProvider implements ExchangeRateProvider, AutoCloseable {
+    
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final int SIZE = CURRENCIES.length;
+    
+    private final ExchangeRateProvider source;
+    private final ScheduledExecutorService refresher;
+    private volatile double[] rates;
+    private volatile Instant lastRefresh;
+    private final LongAdder failedRefreshes;
+    private volatile RuntimeException lastFailure;
+    
+    public CachingExchangeRateProvider(ExchangeRateProvider source, Duration ttl) {
+        if (source == null) {
+            throw new IllegalArgumentException("Rate source must be specified!");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Refresh interval must be positive!");
+        }
+        this.source = source;
+        this.failedRefreshes = new LongAdder();
+        refresh();
+        
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exchange-rate-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long ttlNanos = ttl.toNanos();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, ttlNanos, ttlNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    @Override
+    public double convert(double amount, Currency from, Currency to) {
+        if (from == to) return amount;
+        return amount * rates[from.ordinal() * SIZE + to.ordinal()];
+    }
+    
+    @Override
+    public double getRate(Currency from, Currency to) {
+        return rates[from.ordinal() * SIZE + to.ordinal()];
+    }
+    
+    public void refreshNow() {
+        refresh();
+    }
+    
+    // One source call per currency: every cross rate is derived from the rate
+    // into a common pivot, then the whole matrix is published at once.
+    private void refresh() {
+        Currency pivot = CURRENCIES[0];
+        double[] toPivot = new double[SIZE];
+        for (Currency currency : CURRENCIES) {
+            toPivot[currency.ordinal()] = currency == pivot ? 1.0 : source.getRate(currency, pivot);
+        }
+        
+        double[] matrix = new double[SIZE * SIZE];
+        for (int from = 0; from < SIZE; from++) {
+            for (int to = 0; to < SIZE; to++) {
+                matrix[from * SIZE + to] = from == to ? 1.0 : toPivot[from] / toPivot[to];
+            }
+        }
+        
+        this.rates = matrix;
+        this.lastRefresh = Instant.now();
+    }
+    
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Keep serving the last good matrix until the source recovers.
+            failedRefreshes.increment();
+            lastFailure = e;
+        }
+    }
+    
+    public Instant getLastRefresh() {
+        return lastRefresh;
+    }
+    
+    // Scheduled refreshes that failed; getLastRefresh() tells how stale the
+    // rates being served are.
+    public long getFailedRefreshes() {
+        return failedRefreshes.sum();
+    }
+    
+    // Why the latest failed scheduled refresh failed, or null.
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+    
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -4,4 +4,9 @@ public interface ExchangeRateProvider {
     double convert(double amount, Currency from, Currency to);
     
     double getRate(Currency from, Currency to);
+    
+    default Money convert(Money amount, Currency to) {
+        if (amount.getCurrency() == to) return amount;
+        return Money.of(convert(amount.toDouble(), amount.getCurrency(), to), to);
+    }
 }
@@ -1,24 +1,48 @@
 package model.finance;
 
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 public class Expense {
-    private final double amount;
+    private final long amount;
     private final String description;
     private final ExpenseType type;
     private final LocalDateTime timestamp;
     
     public Expense(double amount, String description, ExpenseType type) {
-        this.amount = amount;
+        this(Money.of(amount, Currency.TRY), description, type);
+    }
+    
+    public Expense(Money amount, String description, ExpenseType type) {
+        this(amount, description, type, LocalDateTime.now());
+    }
+    
+    public Expense(Money amount, String description, ExpenseType type, LocalDateTime timestamp) {
+        if (amount.getCurrency() != Currency.TRY) {
+            throw new IllegalArgumentException("Expenses must be recorded in " + Currency.TRY.getDisplayName() + "!");
+        }
+        this.amount = amount.getMinorUnits();
         this.description = description;
         this.type = type;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
     }
     
     public double getAmount() {
+        return Money.toMajor(amount);
+    }
+    
+    public long getAmountMinor() {
         return amount;
     }
     
+    public Money getMoney() {
+        return Money.ofMinor(amount, Currency.TRY);
+    }
+    
     public String getDescription() {
         return description;
     }
@@ -31,8 +55,32 @@ public class Expense {
         return timestamp;
     }
     
+    public void writeTo(Appendable out) throws IOException {
+        out.append('[').append(type.getDisplayName()).append("] ").append(description).append(": ");
+        TextFormat.appendMinor(out, amount);
+        out.append(" TL");
+    }
+    
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("type").value(type)
+            .name("description").value(description)
+            .name("amount").amount(amount)
+            .name("timestamp").value(timestamp)
+            .endObject();
+    }
+    
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.EXPENSE);
+        out.writeLong(amount)
+            .writeDateTime(timestamp)
+            .writeByte(type.ordinal())
+            .writeString(description);
+        out.endFrame(frame);
+    }
+    
     @Override
     public String toString() {
-        return String.format("[%s] %s: %.2f TL", type.getDisplayName(), description, amount);
+        return TextFormat.toText(this::writeTo);
     }
 }
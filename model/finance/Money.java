@@ -0,0 +1,157 @@
+package model.finance;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Exact amount of money held as a long count of minor units (cents/kuruş).
+// The static helpers work on raw minor units so hot paths can stay on
+// primitives and only wrap a Money at API boundaries.
+public final class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_MAJOR = 100;
+    private static final double MAX_MAJOR = Long.MAX_VALUE / (double) MINOR_PER_MAJOR;
+    // Products this close to a .5 boundary may be off by one ulp; they are
+    // re-rounded exactly through BigDecimal.
+    private static final double HALF_TOLERANCE = 1e-7;
+    private static final long NEEDS_EXACT = Long.MIN_VALUE;
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency must be specified!");
+        }
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money of(double amount, Currency currency) {
+        return new Money(toMinorUnits(amount), currency);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public static long toMinorUnits(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_MAJOR) {
+            throw new ArithmeticException("Amount cannot be represented as money: " + amount);
+        }
+        double scaled = amount * MINOR_PER_MAJOR;
+        long rounded = roundHalfUp(scaled);
+        if (rounded != NEEDS_EXACT) {
+            return rounded;
+        }
+        return BigDecimal.valueOf(amount)
+            .setScale(SCALE, RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    public static double toMajor(long minorUnits) {
+        return minorUnits / (double) MINOR_PER_MAJOR;
+    }
+
+    public static long multiply(long minorUnits, double factor) {
+        double product = minorUnits * factor;
+        if (Double.isNaN(product) || Math.abs(product) >= Long.MAX_VALUE) {
+            throw new ArithmeticException("Money overflow: " + minorUnits + " × " + factor);
+        }
+        long rounded = roundHalfUp(product);
+        if (rounded != NEEDS_EXACT) {
+            return rounded;
+        }
+        return BigDecimal.valueOf(minorUnits)
+            .multiply(BigDecimal.valueOf(factor))
+            .setScale(0, RoundingMode.HALF_UP)
+            .longValueExact();
+    }
+
+    private static long roundHalfUp(double value) {
+        double magnitude = Math.abs(value);
+        double floor = Math.floor(magnitude);
+        double fraction = magnitude - floor;
+        if (Math.abs(fraction - 0.5) <= HALF_TOLERANCE) {
+            return NEEDS_EXACT;
+        }
+        long result = (long) floor + (fraction > 0.5 ? 1 : 0);
+        return value < 0 ? -result : result;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    public Money times(double factor) {
+        return new Money(multiply(minorUnits, factor), currency);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public double toDouble() {
+        return toMajor(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (other.currency != currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Money)) return false;
+        Money that = (Money) obj;
+        return minorUnits == that.minorUnits && currency == that.currency;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency.getSymbol() + " " + toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,44 @@
+package model.finance;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+// Local stand-in for a remote rate service: answers like the delegate, but
+// every call costs the configured latency.
+public class SimulatedExchangeRateProvider implements ExchangeRateProvider {
+    private final ExchangeRateProvider delegate;
+    private final long latencyNanos;
+    
+    public SimulatedExchangeRateProvider(Duration latency) {
+        this(new StaticExchangeRateProvider(), latency);
+    }
+    
+    public SimulatedExchangeRateProvider(ExchangeRateProvider delegate, Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            throw new IllegalArgumentException("Latency cannot be negative!");
+        }
+        this.delegate = delegate;
+        this.latencyNanos = latency.toNanos();
+    }
+    
+    @Override
+    public double convert(double amount, Currency from, Currency to) {
+        simulateLatency();
+        return delegate.convert(amount, from, to);
+    }
+    
+    @Override
+    public double getRate(Currency from, Currency to) {
+        simulateLatency();
+        return delegate.getRate(from, to);
+    }
+    
+    private void simulateLatency() {
+        long deadline = System.nanoTime() + latencyNanos;
+        long remaining = latencyNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
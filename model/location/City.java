@@ -1,23 +1,39 @@
 package model.location;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class City {
+    private final int id;
     private final String name;
     private final Country country;
     private final List<Attraction> attractions;
+    private final List<Attraction> attractionsView;
     
     public City(String name, Country country) {
+        this(Country.UNREGISTERED, name, country);
+    }
+    
+    City(int id, String name, Country country) {
+        this.id = id;
         this.name = name;
         this.country = country;
         this.attractions = new ArrayList<>();
+        this.attractionsView = Collections.unmodifiableList(attractions);
     }
     
-    public void addAttraction(Attraction attraction) {
+    // Only GeoRegistry fills in attractions: its canonical cities are shared
+    // by every caller, so they must not change after the registry is built.
+    void addAttraction(Attraction attraction) {
         attractions.add(attraction);
     }
     
+    // Dense id in GeoRegistry, or Country.UNREGISTERED.
+    public int getId() {
+        return id;
+    }
+    
     public String getName() {
         return name;
     }
@@ -27,7 +43,7 @@ public class City {
     }
     
     public List<Attraction> getAttractions() {
-        return new ArrayList<>(attractions);
+        return attractionsView;
     }
     
     public String getFullName() {
@@ -40,23 +56,14 @@ public class City {
     }
     
     public static City paris() {
-        City paris = new City("Paris", Country.france());
-        paris.addAttraction(new Attraction("Eiffel Tower", "City landmark", 28.0, 3));
-        paris.addAttraction(new Attraction("Louvre Museum", "World-famous art museum", 17.0, 4));
-        return paris;
+        return GeoRegistry.standard().city("Paris", "FR");
     }
     
     public static City rome() {
-        City rome = new City("Rome", Country.italy());
-        rome.addAttraction(new Attraction("Colosseum", "Ancient Romen amphitheater", 16.0, 2));
-        rome.addAttraction(new Attraction("Vatican", "Religious and cultural center", 20.0, 4));
-        return rome;
+        return GeoRegistry.standard().city("Rome", "IT");
     }
     
     public static City newYork() {
-        City ny = new City("New York", Country.usa());
-        ny.addAttraction(new Attraction("Statue of Liberty", "Symbol of America", 24.0, 3));
-        ny.addAttraction(new Attraction("Central Park", "Giant city park", 0.0, 2));
-        return ny;
+        return GeoRegistry.standard().city("New York", "US");
     }
 }
@@ -1,6 +1,10 @@
 package model.location;
 
 public class Country {
+    // Id of a country created outside GeoRegistry.
+    public static final int UNREGISTERED = -1;
+    
+    private final int id;
     private final String name;
     private final String code;
     private final VisaType visaType;
@@ -24,11 +28,21 @@ public class Country {
     }
     
     public Country(String name, String code, VisaType visaType) {
+        this(UNREGISTERED, name, code, visaType);
+    }
+    
+    Country(int id, String name, String code, VisaType visaType) {
+        this.id = id;
         this.name = name;
         this.code = code.toUpperCase();
         this.visaType = visaType;
     }
     
+    // Dense id in GeoRegistry, or UNREGISTERED.
+    public int getId() {
+        return id;
+    }
+    
     public String getName() {
         return name;
     }
@@ -51,22 +65,22 @@ public class Country {
     }
     
     public static Country turkey() {
-        return new Country("Turkey", "TR", VisaType.NONE);
+        return GeoRegistry.standard().country("TR");
     }
     
     public static Country germany() {
-        return new Country("Germany", "DE", VisaType.SCHENGEN);
+        return GeoRegistry.standard().country("DE");
     }
     
     public static Country france() {
-        return new Country("France", "FR", VisaType.SCHENGEN);
+        return GeoRegistry.standard().country("FR");
     }
     
     public static Country usa() {
-        return new Country("United States of America", "US", VisaType.US);
+        return GeoRegistry.standard().country("US");
     }
     
     public static Country italy() {
-        return new Country("Italy", "IT", VisaType.SCHENGEN);
+        return GeoRegistry.standard().country("IT");
     }
 }
@@ -0,0 +1,210 @@
+package model.location;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One canonical Country and City per place, each with a dense int id in
+// registration order. Codes and names find the instance with one hash
+// lookup; per-country attributes are also kept in arrays indexed by id, so
+// code that holds ids reads them without touching the objects or
+// allocating. standard() holds the places the app ships with; places met
+// later, e.g. in saved data, are added on first sight. Only an explicit
+// registerCountry() makes a country a Schengen member, so data from outside
+// cannot change which countries the visa rules treat as Schengen.
+//
+// Lookups are lock-free. Registration is synchronized and publishes a new
+// entry by bumping the volatile count after its slots are written.
+public final class GeoRegistry {
+    private static final int INITIAL_CAPACITY = 32;
+    private static final Country.VisaType[] VISA_TYPES = Country.VisaType.values();
+    
+    private static final GeoRegistry STANDARD = createStandard();
+    
+    private final Map<String, Country> countriesByCode = new ConcurrentHashMap<>();
+    private final Map<String, City> citiesByKey = new ConcurrentHashMap<>();
+    private volatile Country[] countries = new Country[INITIAL_CAPACITY];
+    private volatile byte[] visaTypes = new byte[INITIAL_CAPACITY];
+    private volatile long[] schengenBits = new long[1];
+    private volatile City[] cities = new City[INITIAL_CAPACITY];
+    private volatile int[] cityCountries = new int[INITIAL_CAPACITY];
+    private volatile int countryCount;
+    private volatile int cityCount;
+    
+    public static GeoRegistry standard() {
+        return STANDARD;
+    }
+    
+    // Returns the place already registered under the code, or registers it.
+    public synchronized Country registerCountry(String name, String code, Country.VisaType visaType, boolean schengenMember) {
+        if (name == null || name.isBlank() || code == null || code.isBlank() || visaType == null) {
+            throw new IllegalArgumentException("Country needs a name, a code and a visa type!");
+        }
+        String key = normalizeCode(code);
+        Country existing = countriesByCode.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = countryCount;
+        if (id == countries.length) {
+            countries = Arrays.copyOf(countries, id * 2);
+            visaTypes = Arrays.copyOf(visaTypes, id * 2);
+        }
+        if (id >>> 6 == schengenBits.length) {
+            schengenBits = Arrays.copyOf(schengenBits, schengenBits.length * 2);
+        }
+        Country country = new Country(id, name, key, visaType);
+        countries[id] = country;
+        visaTypes[id] = (byte) visaType.ordinal();
+        if (schengenMember) {
+            schengenBits[id >>> 6] |= 1L << id;
+        }
+        countryCount = id + 1;
+        countriesByCode.put(key, country);
+        return country;
+    }
+    
+    public synchronized City registerCity(String name, Country country) {
+        if (name == null || name.isBlank() || country == null) {
+            throw new IllegalArgumentException("City needs a name and a country!");
+        }
+        Country canonical = intern(country);
+        String key = cityKey(name, canonical.getCode());
+        City existing = citiesByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = cityCount;
+        if (id == cities.length) {
+            cities = Arrays.copyOf(cities, id * 2);
+            cityCountries = Arrays.copyOf(cityCountries, id * 2);
+        }
+        City city = new City(id, name.trim(), canonical);
+        cities[id] = city;
+        cityCountries[id] = canonical.getId();
+        cityCount = id + 1;
+        citiesByKey.put(key, city);
+        return city;
+    }
+    
+    // The canonical instance for a country built elsewhere, e.g. with the
+    // public constructor. Unknown countries are added as non-members.
+    public Country intern(Country country) {
+        if (isRegistered(country)) {
+            return country;
+        }
+        Country known = country(country.getCode());
+        if (known != null) {
+            return known;
+        }
+        return registerCountry(country.getName(), country.getCode(), country.getVisaType(), false);
+    }
+    
+    public City intern(City city) {
+        int id = city.getId();
+        if (id >= 0 && id < cityCount && cities[id] == city) {
+            return city;
+        }
+        City known = city(city.getName(), city.getCountry().getCode());
+        return known != null ? known : registerCity(city.getName(), city.getCountry());
+    }
+    
+    // ISO code, any case; null when unknown.
+    public Country country(String code) {
+        Country country = countriesByCode.get(code);
+        return country != null ? country : countriesByCode.get(normalizeCode(code));
+    }
+    
+    public Country country(int id) {
+        checkCountry(id);
+        return countries[id];
+    }
+    
+    public int countryCount() {
+        return countryCount;
+    }
+    
+    public Country.VisaType visaType(int countryId) {
+        checkCountry(countryId);
+        return VISA_TYPES[visaTypes[countryId]];
+    }
+    
+    public boolean isSchengen(int countryId) {
+        checkCountry(countryId);
+        return (schengenBits[countryId >>> 6] & 1L << countryId) != 0;
+    }
+    
+    // Name in any case; null when unknown.
+    public City city(String name, String countryCode) {
+        return citiesByKey.get(cityKey(name, normalizeCode(countryCode)));
+    }
+    
+    public City city(int id) {
+        checkCity(id);
+        return cities[id];
+    }
+    
+    public int cityCount() {
+        return cityCount;
+    }
+    
+    public int countryOf(int cityId) {
+        checkCity(cityId);
+        return cityCountries[cityId];
+    }
+    
+    private boolean isRegistered(Country country) {
+        int id = country.getId();
+        return id >= 0 && id < countryCount && countries[id] == country;
+    }
+    
+    private void checkCountry(int id) {
+        if (id < 0 || id >= countryCount) {
+            throw new IllegalArgumentException("Unknown country id: " + id + "!");
+        }
+    }
+    
+    private void checkCity(int id) {
+        if (id < 0 || id >= cityCount) {
+            throw new IllegalArgumentException("Unknown city id: " + id + "!");
+        }
+    }
+    
+    private static String normalizeCode(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+    
+    private static String cityKey(String name, String countryCode) {
+        return name.trim().toLowerCase(Locale.ROOT) + "|" + countryCode;
+    }
+    
+    private static GeoRegistry createStandard() {
+        GeoRegistry geo = new GeoRegistry();
+        Country turkey = geo.registerCountry("Turkey", "TR", Country.VisaType.NONE, false);
+        String[][] schengen = {
+            {"DE", "Germany"}, {"FR", "France"}, {"IT", "Italy"}, {"ES", "Spain"},
+            {"NL", "Netherlands"}, {"BE", "Belgium"}, {"AT", "Austria"}, {"CH", "Switzerland"},
+            {"GR", "Greece"}, {"PT", "Portugal"}, {"SE", "Sweden"}, {"NO", "Norway"},
+            {"DK", "Denmark"}, {"FI", "Finland"}, {"PL", "Poland"}, {"CZ", "Czech Republic"}
+        };
+        for (String[] country : schengen) {
+            geo.registerCountry(country[1], country[0], Country.VisaType.SCHENGEN, true);
+        }
+        Country usa = geo.registerCountry("United States of America", "US", Country.VisaType.US, false);
+        
+        City paris = geo.registerCity("Paris", geo.country("FR"));
+        paris.addAttraction(new Attraction("Eiffel Tower", "City landmark", 28.0, 3));
+        paris.addAttraction(new Attraction("Louvre Museum", "World-famous art museum", 17.0, 4));
+        City rome = geo.registerCity("Rome", geo.country("IT"));
+        rome.addAttraction(new Attraction("Colosseum", "Ancient Romen amphitheater", 16.0, 2));
+        rome.addAttraction(new Attraction("Vatican", "Religious and cultural center", 20.0, 4));
+        City newYork = geo.registerCity("New York", usa);
+        newYork.addAttraction(new Attraction("Statue of Liberty", "Symbol of America", 24.0, 3));
+        newYork.addAttraction(new Attraction("Central Park", "Giant city park", 0.0, 2));
+        for (String name : new String[] {"Istanbul", "Ankara", "Izmir", "Antalya"}) {
+            geo.registerCity(name, turkey);
+        }
+        return geo;
+    }
+}
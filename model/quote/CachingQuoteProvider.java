@@ -0,0 +1,120 @@
+package model.quote;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache in front of a quote source. Keys are spread over lock
+// stripes, each an access-ordered LinkedHashMap that drops its least
+// recently used quote when full, so eviction is LRU per stripe and threads
+// asking for different routes rarely meet on a lock. The source is called
+// outside the lock; two threads missing on the same key may both ask it,
+// which is harmless because a quote for a key never changes.
+public class CachingQuoteProvider implements QuoteProvider {
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_STRIPE_CAPACITY = 64;
+    
+    private final QuoteProvider source;
+    private final Stripe[] stripes;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public CachingQuoteProvider(QuoteProvider source, int capacity) {
+        if (source == null) {
+            throw new IllegalArgumentException("Quote source must be specified!");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive!");
+        }
+        this.source = source;
+        this.capacity = capacity;
+        int stripeCount = 1;
+        while (stripeCount < MAX_STRIPES && capacity / (stripeCount * 2) >= MIN_STRIPE_CAPACITY) {
+            stripeCount *= 2;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // Spread the remainder so the stripes add up to the capacity.
+            stripes[i] = new Stripe(capacity / stripeCount + (i < capacity % stripeCount ? 1 : 0));
+        }
+    }
+    
+    @Override
+    public double quote(QuoteKey key) {
+        Stripe stripe = stripes[(int) (key.getFingerprint() >>> 32) & (stripes.length - 1)];
+        Double cached;
+        synchronized (stripe) {
+            cached = stripe.quotes.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        double quote = source.quote(key);
+        synchronized (stripe) {
+            stripe.quotes.putIfAbsent(key, quote);
+        }
+        return quote;
+    }
+    
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.quotes.size();
+            }
+        }
+        return size;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+    
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.quotes.clear();
+            }
+        }
+    }
+    
+    // The stripe is also the lock for its map.
+    private final class Stripe {
+        private final LinkedHashMap<QuoteKey, Double> quotes;
+        
+        private Stripe(int limit) {
+            this.quotes = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<QuoteKey, Double> eldest) {
+                    if (size() > limit) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package model.quote;
+
+import java.util.Locale;
+
+// What a price is asked for: a transport product between two places, or an
+// accommodation product for a number of nights. Places compare
+// case-insensitively, so "Paris" and " paris" share one quote.
+public final class QuoteKey {
+    
+    public enum Product {
+        FLIGHT(3000, 8001, false),
+        TRAIN(600, 1501, false),
+        BUS(800, 2001, false),
+        HOTEL(2000, 8001, true),
+        APARTMENT(1500, 5001, true),
+        HOSTEL(300, 1001, true);
+        
+        private final double minPrice;
+        private final double maxPrice;
+        private final boolean stay;
+        
+        Product(double minPrice, double maxPrice, boolean stay) {
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.stay = stay;
+        }
+        
+        public double getMinPrice() {
+            return minPrice;
+        }
+        
+        // Exclusive upper bound.
+        public double getMaxPrice() {
+            return maxPrice;
+        }
+        
+        public boolean isStay() {
+            return stay;
+        }
+    }
+    
+    private final Product product;
+    private final String origin;
+    private final String destination;
+    private final int nights;
+    private final long fingerprint;
+    
+    private QuoteKey(Product product, String origin, String destination, int nights) {
+        this.product = product;
+        this.origin = origin;
+        this.destination = destination;
+        this.nights = nights;
+        this.fingerprint = fingerprint(product, origin, destination, nights);
+    }
+    
+    public static QuoteKey transport(Product product, String from, String to) {
+        if (product == null || product.isStay()) {
+            throw new IllegalArgumentException("Transport quote needs a transport product!");
+        }
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new IllegalArgumentException("Transport quote needs both departure and arrival!");
+        }
+        return new QuoteKey(product, normalize(from), normalize(to), 0);
+    }
+    
+    public static QuoteKey stay(Product product, int nights) {
+        if (product == null || !product.isStay()) {
+            throw new IllegalArgumentException("Stay quote needs an accommodation product!");
+        }
+        if (nights < 1) {
+            throw new IllegalArgumentException("Must be at least 1 night stay!");
+        }
+        return new QuoteKey(product, "", "", nights);
+    }
+    
+    private static String normalize(String place) {
+        return place.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    // 64-bit FNV-1a over the key's fields. Unlike hashCode of an enum this is
+    // the same in every JVM run, so seeded quotes are reproducible.
+    private static long fingerprint(Product product, String origin, String destination, int nights) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ product.ordinal()) * 0x100000001b3L;
+        for (int i = 0; i < origin.length(); i++) {
+            hash = (hash ^ origin.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+        for (int i = 0; i < destination.length(); i++) {
+            hash = (hash ^ destination.charAt(i)) * 0x100000001b3L;
+        }
+        return (hash ^ nights) * 0x100000001b3L;
+    }
+    
+    public Product getProduct() {
+        return product;
+    }
+    
+    public String getOrigin() {
+        return origin;
+    }
+    
+    public String getDestination() {
+        return destination;
+    }
+    
+    public int getNights() {
+        return nights;
+    }
+    
+    public long getFingerprint() {
+        return fingerprint;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof QuoteKey other)) return false;
+        return fingerprint == other.fingerprint && product == other.product && nights == other.nights
+            && origin.equals(other.origin) && destination.equals(other.destination);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint);
+    }
+    
+    @Override
+    public String toString() {
+        return product.isStay()
+            ? product + " x" + nights
+            : product + " " + origin + " → " + destination;
+    }
+}
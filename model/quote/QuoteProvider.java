@@ -0,0 +1,13 @@
+package model.quote;
+
+public interface QuoteProvider {
+    // Price in TL for the key: the base fare for transport, the nightly rate
+    // for a stay.
+    double quote(QuoteKey key);
+    
+    // Shared provider behind the convenience constructors of the transport
+    // and accommodation types: seeded prices served through a bounded cache.
+    static QuoteProvider standard() {
+        return StandardQuotes.PROVIDER;
+    }
+}
@@ -0,0 +1,31 @@
+package model.quote;
+
+import model.finance.Money;
+
+import java.util.SplittableRandom;
+
+// Deterministic prices: every key gets its own SplittableRandom stream,
+// seeded from the provider seed and the key's fingerprint, so the same
+// request is quoted the same price in any order, on any thread and in any
+// run, and nothing is shared between threads.
+public class SeededQuoteProvider implements QuoteProvider {
+    public static final long DEFAULT_SEED = 0x5EED_2024L;
+    
+    private final long seed;
+    
+    public SeededQuoteProvider(long seed) {
+        this.seed = seed;
+    }
+    
+    @Override
+    public double quote(QuoteKey key) {
+        QuoteKey.Product product = key.getProduct();
+        double price = new SplittableRandom(seed ^ key.getFingerprint())
+            .nextDouble(product.getMinPrice(), product.getMaxPrice());
+        return Money.toMajor(Money.toMinorUnits(price));
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+}
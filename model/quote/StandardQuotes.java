@@ -0,0 +1,9 @@
+package model.quote;
+
+final class StandardQuotes {
+    static final CachingQuoteProvider PROVIDER =
+        new CachingQuoteProvider(new SeededQuoteProvider(SeededQuoteProvider.DEFAULT_SEED), 4096);
+    
+    private StandardQuotes() {
+    }
+}
@@ -1,13 +1,17 @@
 package model.transport;
 
-import java.util.concurrent.ThreadLocalRandom;
+import model.finance.Money;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+
+import java.io.IOException;
 
 public class BusOption extends TransportOption {
     private final boolean hasWifi;
     private final boolean hasTV;
     
     public BusOption(String from, String to) {
-        this(from, to, ThreadLocalRandom.current().nextDouble(800, 2001));
+        this(from, to, QuoteProvider.standard().quote(QuoteKey.transport(QuoteKey.Product.BUS, from, to)));
     }
     
     public BusOption(String from, String to, double basePrice) {
@@ -18,7 +22,7 @@ public class BusOption extends TransportOption {
     
     @Override
     public double calculateTotalCost() {
-        return Math.round(basePrice * 100.0) / 100.0;
+        return Money.toMajor(Money.toMinorUnits(basePrice));
     }
     
     @Override
@@ -40,9 +44,9 @@ public class BusOption extends TransportOption {
     }
     
     @Override
-    public String toString() {
-        String features = (hasWifi ? "WiFi" : "") + (hasTV ? ", TV" : "");
-        return String.format("🚌 Bus: %s (%.2f TL, ~%d hours) [%s]",
-            getRouteInfo(), calculateTotalCost(), getEstimatedDurationHours(), features);
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🚌 ");
+        super.writeTo(out);
+        out.append(" [").append(hasWifi ? "WiFi" : "").append(hasTV ? ", TV" : "").append(']');
     }
 }
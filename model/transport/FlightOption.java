@@ -1,6 +1,11 @@
 package model.transport;
 
-import java.util.concurrent.ThreadLocalRandom;
+import model.TextFormat;
+import model.finance.Money;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+
+import java.io.IOException;
 
 public class FlightOption extends TransportOption {
     private static final double BAGGAGE_FEE = 500.0;
@@ -11,19 +16,19 @@ public class FlightOption extends TransportOption {
     private final boolean directFlight;
     
     public FlightOption(String from, String to) {
-        this(from, to, ThreadLocalRandom.current().nextDouble(3000, 8001), true);
+        this(from, to, QuoteProvider.standard().quote(QuoteKey.transport(QuoteKey.Product.FLIGHT, from, to)), true);
     }
     
     public FlightOption(String from, String to, double basePrice, boolean directFlight) {
         super(from, to, basePrice);
         this.directFlight = directFlight;
         this.baggageFee = BAGGAGE_FEE;
-        this.tax = basePrice * TAX_RATE;
+        this.tax = Money.toMajor(Money.multiply(Money.toMinorUnits(basePrice), TAX_RATE));
     }
     
     @Override
     public double calculateTotalCost() {
-        return Math.round((basePrice + baggageFee + tax) * 100.0) / 100.0;
+        return Money.toMajor(Money.toMinorUnits(basePrice) + Money.toMinorUnits(baggageFee) + Money.toMinorUnits(tax));
     }
     
     @Override
@@ -49,8 +54,17 @@ public class FlightOption extends TransportOption {
     }
     
     @Override
-    public String toString() {
-        return String.format("✈️ %s: %s\n   Base: %.2f TL + Baggage: %.2f TL + Tax: %.2f TL = %.2f TL",
-            getTypeName(), getRouteInfo(), basePrice, baggageFee, tax, calculateTotalCost());
+    public void writeTo(Appendable out) throws IOException {
+        out.append("✈️ ").append(getTypeName()).append(": ");
+        writeRouteInfo(out);
+        out.append("\n   Base: ");
+        TextFormat.appendAmount(out, basePrice);
+        out.append(" TL + Baggage: ");
+        TextFormat.appendAmount(out, baggageFee);
+        out.append(" TL + Tax: ");
+        TextFormat.appendAmount(out, tax);
+        out.append(" TL = ");
+        TextFormat.appendAmount(out, calculateTotalCost());
+        out.append(" TL");
     }
 }
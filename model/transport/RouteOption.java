@@ -0,0 +1,107 @@
+package model.transport;
+
+import model.TextFormat;
+import model.finance.Money;
+
+import java.io.IOException;
+import java.util.List;
+
+// A journey made of one or more connecting legs, booked as a single
+// transport option. Cost and duration are the sums over the legs.
+public class RouteOption extends TransportOption {
+    private final List<TransportOption> legs;
+    private final long totalCostMinor;
+    private final int durationHours;
+    
+    public RouteOption(List<? extends TransportOption> legs) {
+        super(firstLeg(legs).getFrom(), legs.get(legs.size() - 1).getTo(), Money.toMajor(sumCostMinor(legs)));
+        for (int i = 1; i < legs.size(); i++) {
+            if (!legs.get(i - 1).getTo().equalsIgnoreCase(legs.get(i).getFrom())) {
+                throw new IllegalArgumentException("Route legs must connect: " + legs.get(i - 1).getRouteInfo()
+                    + " then " + legs.get(i).getRouteInfo() + "!");
+            }
+        }
+        this.legs = List.copyOf(legs);
+        this.totalCostMinor = sumCostMinor(legs);
+        int hours = 0;
+        for (TransportOption leg : legs) {
+            hours += leg.getEstimatedDurationHours();
+        }
+        this.durationHours = hours;
+    }
+    
+    private static TransportOption firstLeg(List<? extends TransportOption> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new IllegalArgumentException("Route must have at least one leg!");
+        }
+        return legs.get(0);
+    }
+    
+    private static long sumCostMinor(List<? extends TransportOption> legs) {
+        long total = 0;
+        for (TransportOption leg : legs) {
+            total += Money.toMinorUnits(leg.calculateTotalCost());
+        }
+        return total;
+    }
+    
+    @Override
+    public double calculateTotalCost() {
+        return Money.toMajor(totalCostMinor);
+    }
+    
+    public long calculateTotalCostMinor() {
+        return totalCostMinor;
+    }
+    
+    @Override
+    public String getTypeName() {
+        return legs.size() == 1 ? legs.get(0).getTypeName() : "Route (" + legs.size() + " legs)";
+    }
+    
+    @Override
+    public int getEstimatedDurationHours() {
+        return durationHours;
+    }
+    
+    public List<TransportOption> getLegs() {
+        return legs;
+    }
+    
+    public int getLegCount() {
+        return legs.size();
+    }
+    
+    @Override
+    public String getRouteInfo() {
+        return TextFormat.toText(this::writeRouteInfo);
+    }
+    
+    @Override
+    protected void writeRouteInfo(Appendable out) throws IOException {
+        out.append(from);
+        for (TransportOption leg : legs) {
+            out.append(" → ").append(leg.getTo());
+        }
+    }
+    
+    @Override
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🧭 ").append(getTypeName()).append(": ");
+        writeRouteInfo(out);
+        out.append(" (");
+        TextFormat.appendMinor(out, totalCostMinor);
+        out.append(" TL, ~");
+        TextFormat.appendInt(out, durationHours);
+        out.append(" hours)");
+        if (legs.size() > 1) {
+            for (TransportOption leg : legs) {
+                out.append("\n   • ").append(leg.getTypeName()).append(": ").append(leg.getRouteInfo()).append(" (");
+                TextFormat.appendAmount(out, leg.calculateTotalCost());
+                out.append(" TL, ~");
+                TextFormat.appendInt(out, leg.getEstimatedDurationHours());
+                out.append(" hours)");
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package model.transport;
 
-import java.util.concurrent.ThreadLocalRandom;
+import model.finance.Money;
+import model.quote.QuoteKey;
+import model.quote.QuoteProvider;
+
+import java.io.IOException;
 
 public class TrainOption extends TransportOption {
     
@@ -29,7 +33,7 @@ public class TrainOption extends TransportOption {
     private final TrainClass trainClass;
     
     public TrainOption(String from, String to) {
-        this(from, to, ThreadLocalRandom.current().nextDouble(600, 1501), TrainClass.ECONOMY);
+        this(from, to, QuoteProvider.standard().quote(QuoteKey.transport(QuoteKey.Product.TRAIN, from, to)), TrainClass.ECONOMY);
     }
     
     public TrainOption(String from, String to, double basePrice, TrainClass trainClass) {
@@ -39,7 +43,7 @@ public class TrainOption extends TransportOption {
     
     @Override
     public double calculateTotalCost() {
-        return Math.round(basePrice * trainClass.getMultiplier() * 100.0) / 100.0;
+        return Money.toMajor(Money.multiply(Money.toMinorUnits(basePrice), trainClass.getMultiplier()));
     }
     
     @Override
@@ -57,8 +61,8 @@ public class TrainOption extends TransportOption {
     }
     
     @Override
-    public String toString() {
-        return String.format("🚄 %s: %s (%.2f TL, ~%d hours)",
-            getTypeName(), getRouteInfo(), calculateTotalCost(), getEstimatedDurationHours());
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🚄 ");
+        super.writeTo(out);
     }
 }
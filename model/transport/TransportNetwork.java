@@ -0,0 +1,388 @@
+package model.transport;
+
+import model.finance.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable directed graph of transport options. City names are interned to
+// dense ids (case-insensitively) and the edges are kept in compressed sparse
+// row form: the options leaving city c are firstEdge[c]..firstEdge[c + 1] - 1
+// in parallel primitive arrays, so a search walks plain int/long arrays and
+// only touches the TransportOption objects when it rebuilds a route.
+//
+// Route searches are goal-directed with landmark (ALT) lower bounds: the
+// cheapest cost and the fewest hours from a handful of far-apart landmark
+// cities to every city are computed once, here, and by the triangle
+// inequality d(L, to) - d(L, city) never overestimates what is left to pay
+// or to travel from city.
+public final class TransportNetwork {
+    private static final int MAX_LANDMARKS = 8;
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+    
+    private final Map<String, Integer> cityIds;
+    private final String[] cityNames;
+    private final int[] firstEdge;
+    private final int[] edgeTarget;
+    private final long[] edgeCost;
+    private final int[] edgeHours;
+    private final TransportOption[] edgeOption;
+    private final int landmarkCount;
+    // Landmark distances, city-major: [city * landmarkCount + landmark].
+    private final long[] landmarkCost;
+    private final long[] landmarkHours;
+    
+    public TransportNetwork(Collection<? extends TransportOption> options) {
+        int edgeCount = options.size();
+        this.cityIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        TransportOption[] ordered = options.toArray(new TransportOption[0]);
+        for (int i = 0; i < edgeCount; i++) {
+            sources[i] = intern(ordered[i].getFrom(), names);
+            targets[i] = intern(ordered[i].getTo(), names);
+        }
+        this.cityNames = names.toArray(new String[0]);
+        
+        // Counting sort of the edges by source city.
+        this.firstEdge = new int[cityNames.length + 1];
+        for (int source : sources) {
+            firstEdge[source + 1]++;
+        }
+        for (int c = 0; c < cityNames.length; c++) {
+            firstEdge[c + 1] += firstEdge[c];
+        }
+        int[] next = Arrays.copyOf(firstEdge, cityNames.length);
+        this.edgeTarget = new int[edgeCount];
+        this.edgeCost = new long[edgeCount];
+        this.edgeHours = new int[edgeCount];
+        this.edgeOption = new TransportOption[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = next[sources[i]]++;
+            edgeTarget[slot] = targets[i];
+            edgeCost[slot] = Money.toMinorUnits(ordered[i].calculateTotalCost());
+            edgeHours[slot] = ordered[i].getEstimatedDurationHours();
+            edgeOption[slot] = ordered[i];
+        }
+        
+        this.landmarkCount = Math.min(MAX_LANDMARKS, cityNames.length);
+        this.landmarkCost = new long[cityNames.length * landmarkCount];
+        this.landmarkHours = new long[cityNames.length * landmarkCount];
+        selectLandmarks();
+    }
+    
+    // Farthest-point selection: each landmark is the city that is most
+    // expensive to reach from the landmarks chosen so far, which spreads
+    // them towards the edges of the network where their bounds are tight.
+    private void selectLandmarks() {
+        long[] nearest = new long[cityNames.length];
+        Arrays.fill(nearest, UNREACHABLE);
+        long[] cost = new long[cityNames.length];
+        long[] hours = new long[cityNames.length];
+        int landmark = 0;
+        for (int l = 0; l < landmarkCount; l++) {
+            shortestFrom(landmark, edgeCost, cost);
+            shortestFrom(landmark, null, hours);
+            int farthest = -1;
+            for (int c = 0; c < cityNames.length; c++) {
+                landmarkCost[c * landmarkCount + l] = cost[c];
+                landmarkHours[c * landmarkCount + l] = hours[c];
+                nearest[c] = Math.min(nearest[c], cost[c]);
+                // Cities no landmark reaches yet come first.
+                if (farthest < 0 || nearest[c] > nearest[farthest]) {
+                    farthest = c;
+                }
+            }
+            landmark = farthest;
+        }
+    }
+    
+    // Single-criterion Dijkstra over the edge costs, or over the edge hours
+    // when weights is null.
+    private void shortestFrom(int source, long[] weights, long[] distance) {
+        Arrays.fill(distance, UNREACHABLE);
+        distance[source] = 0;
+        long[] keys = new long[64];
+        int[] cities = new int[64];
+        int size = 0;
+        keys[size] = 0;
+        cities[size++] = source;
+        while (size > 0) {
+            long key = keys[0];
+            int city = cities[0];
+            size--;
+            siftDown(keys, cities, size, keys[size], cities[size]);
+            if (key > distance[city]) {
+                continue;
+            }
+            for (int e = firstEdge[city], end = firstEdge[city + 1]; e < end; e++) {
+                long next = key + (weights != null ? weights[e] : edgeHours[e]);
+                int target = edgeTarget[e];
+                if (next < distance[target]) {
+                    distance[target] = next;
+                    if (size == keys.length) {
+                        keys = Arrays.copyOf(keys, size * 2);
+                        cities = Arrays.copyOf(cities, size * 2);
+                    }
+                    int i = size++;
+                    while (i > 0 && keys[(i - 1) >>> 1] > next) {
+                        keys[i] = keys[(i - 1) >>> 1];
+                        cities[i] = cities[(i - 1) >>> 1];
+                        i = (i - 1) >>> 1;
+                    }
+                    keys[i] = next;
+                    cities[i] = target;
+                }
+            }
+        }
+    }
+    
+    private static void siftDown(long[] keys, int[] cities, int size, long key, int city) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            keys[i] = keys[child];
+            cities[i] = cities[child];
+            i = child;
+        }
+        keys[i] = key;
+        cities[i] = city;
+    }
+    
+    // Lower bound on the distance from city to target in the given landmark
+    // table, or UNREACHABLE when some landmark reaches city but not target.
+    private long lowerBound(long[] table, int city, int target) {
+        long bound = 0;
+        int from = city * landmarkCount;
+        int to = target * landmarkCount;
+        for (int l = 0; l < landmarkCount; l++) {
+            long toCity = table[from + l];
+            if (toCity == UNREACHABLE) {
+                continue;
+            }
+            long toTarget = table[to + l];
+            if (toTarget == UNREACHABLE) {
+                return UNREACHABLE;
+            }
+            bound = Math.max(bound, toTarget - toCity);
+        }
+        return bound;
+    }
+    
+    private int intern(String city, List<String> names) {
+        Integer id = cityIds.putIfAbsent(key(city), names.size());
+        if (id != null) {
+            return id;
+        }
+        names.add(city);
+        return names.size() - 1;
+    }
+    
+    private static String key(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    public int getCityCount() {
+        return cityNames.length;
+    }
+    
+    public int getConnectionCount() {
+        return edgeTarget.length;
+    }
+    
+    public boolean contains(String city) {
+        return city != null && cityIds.containsKey(key(city));
+    }
+    
+    public List<String> getCities() {
+        return Collections.unmodifiableList(Arrays.asList(cityNames));
+    }
+    
+    // The Pareto front of routes from one city to another: every route that
+    // no other route beats on both total cost and total duration, cheapest
+    // first (and so fastest last). Empty when the destination is unreachable.
+    public List<RouteOption> findRoutes(String from, String to) {
+        int source = cityId(from);
+        int target = cityId(to);
+        if (source == target) {
+            throw new IllegalArgumentException("Departure and arrival must be different cities!");
+        }
+        return new Search(target).run(source);
+    }
+    
+    private int cityId(String city) {
+        if (city == null || city.isBlank()) {
+            throw new IllegalArgumentException("City cannot be empty!");
+        }
+        Integer id = cityIds.get(key(city));
+        if (id == null) {
+            throw new IllegalArgumentException("No connections known for " + city.trim() + "!");
+        }
+        return id;
+    }
+    
+    // Bi-objective label-setting search. Labels (partial routes) are settled
+    // in lexicographic (cost + cost bound, hours) order; the bound is the
+    // same for every label at one city, so every label settled earlier there
+    // is at least as cheap. A new label is therefore only worth keeping if it
+    // is strictly faster than all of them, and one number per city - the
+    // fewest hours settled there so far - decides dominance. Partial routes
+    // that cannot beat the fastest complete route found so far (which is
+    // also cheaper) even with the hours bound are dropped.
+    private final class Search {
+        private final int target;
+        private final int[] bestHours;
+        // Landmark bounds per city, computed on first use (-1 = not yet).
+        private final long[] costLeft;
+        private final long[] hoursLeft;
+        private long[] labelKey = new long[64];
+        private long[] labelCost = new long[64];
+        private int[] labelHours = new int[64];
+        private int[] labelCity = new int[64];
+        private int[] labelParent = new int[64];
+        private int[] labelEdge = new int[64];
+        private int labelCount;
+        private int[] heap = new int[64];
+        private int heapSize;
+        
+        private Search(int target) {
+            this.target = target;
+            this.bestHours = new int[cityNames.length];
+            Arrays.fill(bestHours, Integer.MAX_VALUE);
+            this.costLeft = new long[cityNames.length];
+            this.hoursLeft = new long[cityNames.length];
+            Arrays.fill(costLeft, -1);
+            Arrays.fill(hoursLeft, -1);
+        }
+        
+        private long costLeft(int city) {
+            long bound = costLeft[city];
+            return bound >= 0 ? bound : (costLeft[city] = lowerBound(landmarkCost, city, target));
+        }
+        
+        private long hoursLeft(int city) {
+            long bound = hoursLeft[city];
+            return bound >= 0 ? bound : (hoursLeft[city] = lowerBound(landmarkHours, city, target));
+        }
+        
+        private List<RouteOption> run(int source) {
+            List<RouteOption> front = new ArrayList<>();
+            long sourceBound = costLeft(source);
+            if (sourceBound == UNREACHABLE) {
+                return front;
+            }
+            push(newLabel(sourceBound, 0, 0, source, -1, -1));
+            while (heapSize > 0) {
+                int label = pop();
+                int city = labelCity[label];
+                int hours = labelHours[label];
+                if (hours >= bestHours[city] || hours >= bestHours[target]) {
+                    continue;
+                }
+                bestHours[city] = hours;
+                if (city == target) {
+                    front.add(toRoute(label));
+                    continue;
+                }
+                long cost = labelCost[label];
+                for (int e = firstEdge[city], end = firstEdge[city + 1]; e < end; e++) {
+                    int nextHours = hours + edgeHours[e];
+                    int nextCity = edgeTarget[e];
+                    if (nextHours >= bestHours[nextCity] || nextHours >= bestHours[target]) {
+                        continue;
+                    }
+                    long remaining = hoursLeft(nextCity);
+                    if (remaining == UNREACHABLE || nextHours + remaining >= bestHours[target]) {
+                        continue;
+                    }
+                    long nextCost = cost + edgeCost[e];
+                    push(newLabel(nextCost + costLeft(nextCity), nextCost, nextHours,
+                        nextCity, label, e));
+                }
+            }
+            return front;
+        }
+        
+        private RouteOption toRoute(int label) {
+            List<TransportOption> legs = new ArrayList<>();
+            for (int l = label; labelEdge[l] >= 0; l = labelParent[l]) {
+                legs.add(edgeOption[labelEdge[l]]);
+            }
+            Collections.reverse(legs);
+            return new RouteOption(legs);
+        }
+        
+        private int newLabel(long key, long cost, int hours, int city, int parent, int edge) {
+            if (labelCount == labelCost.length) {
+                int capacity = labelCount * 2;
+                labelKey = Arrays.copyOf(labelKey, capacity);
+                labelCost = Arrays.copyOf(labelCost, capacity);
+                labelHours = Arrays.copyOf(labelHours, capacity);
+                labelCity = Arrays.copyOf(labelCity, capacity);
+                labelParent = Arrays.copyOf(labelParent, capacity);
+                labelEdge = Arrays.copyOf(labelEdge, capacity);
+            }
+            labelKey[labelCount] = key;
+            labelCost[labelCount] = cost;
+            labelHours[labelCount] = hours;
+            labelCity[labelCount] = city;
+            labelParent[labelCount] = parent;
+            labelEdge[labelCount] = edge;
+            return labelCount++;
+        }
+        
+        private boolean before(int a, int b) {
+            return labelKey[a] < labelKey[b] || labelKey[a] == labelKey[b] && labelHours[a] < labelHours[b];
+        }
+        
+        private void push(int label) {
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(label, heap[parent])) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = label;
+        }
+        
+        private int pop() {
+            int top = heap[0];
+            int last = heap[--heapSize];
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!before(heap[child], last)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package model.transport;
 
+import model.TextFormat;
+
+import java.io.IOException;
+
 public abstract class TransportOption {
     protected final String from;
     protected final String to;
@@ -42,9 +46,22 @@ public abstract class TransportOption {
         return from + " → " + to;
     }
     
+    public void writeTo(Appendable out) throws IOException {
+        out.append(getTypeName()).append(": ");
+        writeRouteInfo(out);
+        out.append(" (");
+        TextFormat.appendAmount(out, calculateTotalCost());
+        out.append(" TL, ~");
+        TextFormat.appendInt(out, getEstimatedDurationHours());
+        out.append(" hours)");
+    }
+    
+    protected void writeRouteInfo(Appendable out) throws IOException {
+        out.append(from).append(" → ").append(to);
+    }
+    
     @Override
     public String toString() {
-        return String.format("%s: %s (%.2f TL, ~%d hours)", 
-            getTypeName(), getRouteInfo(), calculateTotalCost(), getEstimatedDurationHours());
+        return TextFormat.toText(this::writeTo);
     }
 }
@@ -1,6 +1,9 @@
 package model.trip;
 
+import model.TextFormat;
 import model.accommodation.Accommodation;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 public class AccommodationActivity extends Activity {
@@ -21,12 +24,26 @@ public class AccommodationActivity extends Activity {
         return accommodation.getTypeName();
     }
     
+    @Override
+    public Kind getKind() {
+        return Kind.ACCOMMODATION;
+    }
+    
+    @Override
+    public boolean blocksTime() {
+        return false;
+    }
+    
     public Accommodation getAccommodation() {
         return accommodation;
     }
     
     @Override
-    public String toString() {
-        return String.format("🛏️ %s (%.2f TL)", accommodation.toString(), calculateCost());
+    public void writeTo(Appendable out) throws IOException {
+        out.append("🛏️ ");
+        accommodation.writeTo(out);
+        out.append(" (");
+        TextFormat.appendAmount(out, calculateCost());
+        out.append(" TL)");
     }
 }
@@ -1,9 +1,22 @@
 package model.trip;
 
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+import model.finance.Money;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public abstract class Activity implements Schedulable {
+    
+    public enum Kind {
+        TRANSPORT,
+        ACCOMMODATION,
+        SIGHTSEEING
+    }
+    
     protected final String description;
     protected final LocalDateTime startTime;
     protected final LocalDateTime endTime;
@@ -44,13 +57,59 @@ public abstract class Activity implements Schedulable {
     
     public abstract String getTypeName();
     
+    public abstract Kind getKind();
+    
+    public long calculateCostMinor() {
+        return Money.toMinorUnits(calculateCost());
+    }
+    
     public String getTimeRange() {
         return startTime.format(TIME_FORMAT) + " - " + endTime.format(TIME_FORMAT);
     }
     
+    public void writeTo(Appendable out) throws IOException {
+        writeTimeRange(out);
+        out.append(' ').append(getTypeName()).append(": ").append(description).append(" (");
+        TextFormat.appendAmount(out, calculateCost());
+        out.append(" TL)");
+    }
+    
+    protected void writeTimeRange(Appendable out) throws IOException {
+        out.append('[');
+        TextFormat.appendTwoDigits(out, startTime.getHour());
+        out.append(':');
+        TextFormat.appendTwoDigits(out, startTime.getMinute());
+        out.append(" - ");
+        TextFormat.appendTwoDigits(out, endTime.getHour());
+        out.append(':');
+        TextFormat.appendTwoDigits(out, endTime.getMinute());
+        out.append(']');
+    }
+    
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("kind").value(getKind())
+            .name("type").value(getTypeName())
+            .name("description").value(description)
+            .name("start").value(startTime)
+            .name("end").value(endTime)
+            .name("cost").amount(calculateCostMinor())
+            .endObject();
+    }
+    
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.ACTIVITY);
+        out.writeDateTime(startTime)
+            .writeDateTime(endTime)
+            .writeLong(calculateCostMinor())
+            .writeByte(getKind().ordinal())
+            .writeString(getTypeName())
+            .writeString(description);
+        out.endFrame(frame);
+    }
+    
     @Override
     public String toString() {
-        return String.format("[%s] %s: %s (%.2f TL)", 
-            getTimeRange(), getTypeName(), description, calculateCost());
+        return TextFormat.toText(this::writeTo);
     }
 }
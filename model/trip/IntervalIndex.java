@@ -0,0 +1,284 @@
+package model.trip;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Interval index over scheduled items: a treap ordered by start time (ties
+// keep insertion order) where every node also carries the latest end time in
+// its subtree, once over all items and once over the items that block time.
+// Queries skip each subtree that ends before the window they ask about, so a
+// conflict check is O(log n) and listing k overlaps is O(k + log n).
+// Times are epoch seconds; intervals are half-open [start, end).
+final class IntervalIndex<T extends Schedulable> {
+    private static final long NONE = Long.MIN_VALUE;
+
+    private Node<T> root;
+    private int size;
+    private long nextSequence;
+
+    void add(T item) {
+        root = insert(root, new Node<>(item, seconds(item.getStartTime()), seconds(item.getEndTime()),
+            nextSequence++, item.blocksTime(), ThreadLocalRandom.current().nextInt()));
+        size++;
+    }
+
+    boolean remove(T item) {
+        Node<T> node = find(root, item, seconds(item.getStartTime()));
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Some time-blocking item that overlaps candidate, or null. Items that do
+    // not block time never conflict.
+    T findConflict(Schedulable candidate) {
+        if (!candidate.blocksTime()) {
+            return null;
+        }
+        return findBlocking(seconds(candidate.getStartTime()), seconds(candidate.getEndTime()));
+    }
+
+    T findBlocking(long start, long end) {
+        Node<T> node = root;
+        while (node != null && node.maxBlockingEnd > start) {
+            if (node.blocking && node.start < end && node.end > start) {
+                return node.item;
+            }
+            // If the left subtree has a blocking item reaching past start but
+            // none of them overlap, they all start at or after end, and so
+            // does everything to the right.
+            if (node.left != null && node.left.maxBlockingEnd > start) {
+                node = node.left;
+            } else if (node.start >= end) {
+                return null;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    List<T> overlapping(LocalDateTime from, LocalDateTime to, boolean blockingOnly) {
+        List<T> result = new ArrayList<>();
+        collect(root, seconds(from), seconds(to), blockingOnly, result);
+        return result;
+    }
+
+    List<T> at(LocalDateTime time) {
+        long second = seconds(time);
+        List<T> result = new ArrayList<>();
+        collect(root, second, second + 1, false, result);
+        return result;
+    }
+
+    // Earliest start in [from, to - duration] where nothing blocking is
+    // scheduled for the whole duration, or null. Walks the blocking items in
+    // start order from the first one still running at from and stops at the
+    // first gap that is long enough.
+    LocalDateTime findFreeSlot(LocalDateTime from, LocalDateTime to, Duration duration) {
+        long length = duration.toSeconds();
+        if (length <= 0) {
+            throw new IllegalArgumentException("Slot duration must be positive!");
+        }
+        long end = seconds(to);
+        Gap gap = new Gap(seconds(from));
+        if (gap.frontier + length > end) {
+            return null;
+        }
+        scan(root, gap, length, end);
+        if (!gap.done && gap.frontier + length <= end) {
+            gap.found = true;
+        }
+        return gap.found ? LocalDateTime.ofEpochSecond(gap.frontier, 0, ZoneOffset.UTC) : null;
+    }
+
+    private void scan(Node<T> node, Gap gap, long length, long end) {
+        if (node == null || gap.done || node.maxBlockingEnd <= gap.frontier) {
+            return;
+        }
+        scan(node.left, gap, length, end);
+        if (gap.done) {
+            return;
+        }
+        if (node.start >= gap.frontier + length) {
+            gap.done = true;
+            gap.found = true;
+            return;
+        }
+        if (node.blocking && node.end > gap.frontier) {
+            gap.frontier = node.end;
+            if (gap.frontier + length > end) {
+                gap.done = true;
+                return;
+            }
+        }
+        scan(node.right, gap, length, end);
+    }
+
+    private void collect(Node<T> node, long start, long end, boolean blockingOnly, List<T> out) {
+        if (node == null || (blockingOnly ? node.maxBlockingEnd : node.maxEnd) <= start) {
+            return;
+        }
+        collect(node.left, start, end, blockingOnly, out);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start && (node.blocking || !blockingOnly)) {
+            out.add(node.item);
+        }
+        collect(node.right, start, end, blockingOnly, out);
+    }
+
+    private Node<T> insert(Node<T> parent, Node<T> node) {
+        if (parent == null) {
+            return node;
+        }
+        if (node.isBefore(parent)) {
+            parent.left = insert(parent.left, node);
+            if (parent.left.priority > parent.priority) {
+                return rotateRight(parent);
+            }
+        } else {
+            parent.right = insert(parent.right, node);
+            if (parent.right.priority > parent.priority) {
+                return rotateLeft(parent);
+            }
+        }
+        parent.update();
+        return parent;
+    }
+
+    // Items with the same start may sit on either side of each other, so an
+    // equal start searches both subtrees.
+    private Node<T> find(Node<T> node, T item, long start) {
+        while (node != null) {
+            if (start < node.start) {
+                node = node.left;
+            } else if (start > node.start) {
+                node = node.right;
+            } else if (node.item == item) {
+                return node;
+            } else {
+                Node<T> found = find(node.left, item, start);
+                return found != null ? found : find(node.right, item, start);
+            }
+        }
+        return null;
+    }
+
+    private Node<T> delete(Node<T> parent, Node<T> target) {
+        if (parent == target) {
+            return merge(parent.left, parent.right);
+        }
+        if (target.isBefore(parent)) {
+            parent.left = delete(parent.left, target);
+        } else {
+            parent.right = delete(parent.right, target);
+        }
+        parent.update();
+        return parent;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class Gap {
+        private long frontier;
+        private boolean done;
+        private boolean found;
+
+        private Gap(long frontier) {
+            this.frontier = frontier;
+        }
+    }
+
+    private static final class Node<T> {
+        private final T item;
+        private final long start;
+        private final long end;
+        private final long sequence;
+        private final boolean blocking;
+        private final int priority;
+        private long maxEnd;
+        private long maxBlockingEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T item, long start, long end, long sequence, boolean blocking, int priority) {
+            this.item = item;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.blocking = blocking;
+            this.priority = priority;
+            this.maxEnd = end;
+            this.maxBlockingEnd = blocking ? end : NONE;
+        }
+
+        private boolean isBefore(Node<T> other) {
+            return start < other.start || start == other.start && sequence < other.sequence;
+        }
+
+        private void update() {
+            long latest = end;
+            long latestBlocking = blocking ? end : NONE;
+            if (left != null) {
+                latest = Math.max(latest, left.maxEnd);
+                latestBlocking = Math.max(latestBlocking, left.maxBlockingEnd);
+            }
+            if (right != null) {
+                latest = Math.max(latest, right.maxEnd);
+                latestBlocking = Math.max(latestBlocking, right.maxBlockingEnd);
+            }
+            maxEnd = latest;
+            maxBlockingEnd = latestBlocking;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package model.trip;
 
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class ItineraryDay {
     private final LocalDate date;
     private final List<Activity> activities;
+    private final List<Activity> activitiesView;
+    // The day's own index until a Trip adopts the day; from then on the trip's
+    // index, so activities running past midnight are checked against the
+    // following days too.
+    private IntervalIndex<Activity> schedule;
+    private boolean attached;
     private String note;
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMMM yyyy, EEEE");
@@ -19,6 +34,8 @@ public class ItineraryDay {
         }
         this.date = date;
         this.activities = new ArrayList<>();
+        this.activitiesView = Collections.unmodifiableList(activities);
+        this.schedule = new IntervalIndex<>();
         this.note = "";
     }
     
@@ -26,12 +43,76 @@ public class ItineraryDay {
         if (activity == null) {
             throw new IllegalArgumentException("Activity cannot be null!");
         }
-        activities.add(activity);
-        activities.sort(Comparator.comparing(Activity::getStartTime));
+        Activity conflict = schedule.findConflict(activity);
+        if (conflict != null) {
+            throw conflictBetween(activity, conflict);
+        }
+        schedule.add(activity);
+        activities.add(insertionPoint(activity.getStartTime()), activity);
     }
     
     public void removeActivity(Activity activity) {
-        activities.remove(activity);
+        if (activities.remove(activity)) {
+            schedule.remove(activity);
+        }
+    }
+    
+    // After the last activity starting at or before start, so equal start
+    // times keep the order they were added in.
+    private int insertionPoint(LocalDateTime start) {
+        int low = 0;
+        int high = activities.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (activities.get(mid).getStartTime().isAfter(start)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+    
+    void attachTo(IntervalIndex<Activity> tripSchedule) {
+        if (attached) {
+            throw new IllegalArgumentException("Itinerary day already belongs to a trip!");
+        }
+        for (Activity activity : activities) {
+            Activity conflict = tripSchedule.findConflict(activity);
+            if (conflict != null) {
+                throw conflictBetween(activity, conflict);
+            }
+        }
+        for (Activity activity : activities) {
+            tripSchedule.add(activity);
+        }
+        schedule = tripSchedule;
+        attached = true;
+    }
+    
+    static IllegalArgumentException conflictBetween(Activity activity, Activity conflict) {
+        return new IllegalArgumentException(activity.getDescription() + " overlaps with "
+            + conflict.getDescription() + " [" + conflict.getTimeRange() + "]!");
+    }
+    
+    public Optional<Activity> findConflict(Schedulable candidate) {
+        return Optional.ofNullable(schedule.findConflict(candidate));
+    }
+    
+    // Everything running at time, including stays and activities carried over
+    // from an earlier day.
+    public List<Activity> getActivitiesAt(LocalDateTime time) {
+        return schedule.at(time);
+    }
+    
+    public Optional<LocalDateTime> findFreeSlot(Duration duration) {
+        return findFreeSlot(duration, LocalTime.MIN, null);
+    }
+    
+    // latest == null means the end of the day.
+    public Optional<LocalDateTime> findFreeSlot(Duration duration, LocalTime earliest, LocalTime latest) {
+        LocalDateTime to = latest != null ? date.atTime(latest) : date.plusDays(1).atStartOfDay();
+        return Optional.ofNullable(schedule.findFreeSlot(date.atTime(earliest), to, duration));
     }
     
     public double calculateDayCost() {
@@ -40,12 +121,21 @@ public class ItineraryDay {
             .sum();
     }
     
+    // Exact sum of the activity costs as exported, in minor units.
+    public long calculateDayCostMinor() {
+        long total = 0;
+        for (Activity activity : activities) {
+            total += activity.calculateCostMinor();
+        }
+        return total;
+    }
+    
     public LocalDate getDate() {
         return date;
     }
     
     public List<Activity> getActivities() {
-        return new ArrayList<>(activities);
+        return activitiesView;
     }
     
     public int getActivityCount() {
@@ -64,25 +154,56 @@ public class ItineraryDay {
         this.note = note != null ? note : "";
     }
     
-    @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("📅 ").append(date.format(DATE_FORMAT)).append("\n");
+    public void writeTo(Appendable out) throws IOException {
+        out.append("📅 ");
+        DATE_FORMAT.formatTo(date, out);
+        out.append('\n');
         
         if (activities.isEmpty()) {
-            sb.append("   (No activities planned)\n");
+            out.append("   (No activities planned)\n");
         } else {
             for (Activity activity : activities) {
-                sb.append("   • ").append(activity.toString()).append("\n");
+                out.append("   • ");
+                activity.writeTo(out);
+                out.append('\n');
             }
-            sb.append(String.format("   ─────────────────────────\n"));
-            sb.append(String.format("   Daily Total: %.2f TL\n", calculateDayCost()));
+            out.append("   ─────────────────────────\n");
+            out.append("   Daily Total: ");
+            TextFormat.appendAmount(out, calculateDayCost());
+            out.append(" TL\n");
         }
         
         if (!note.isEmpty()) {
-            sb.append("   📝 Note: ").append(note).append("\n");
+            out.append("   📝 Note: ").append(note).append('\n');
         }
-        
-        return sb.toString();
+    }
+    
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("date").value(date)
+            .name("note").value(note)
+            .name("cost").amount(calculateDayCostMinor())
+            .name("activities").beginArray();
+        for (Activity activity : activities) {
+            activity.writeJson(out);
+        }
+        out.endArray().endObject();
+    }
+    
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.DAY);
+        out.writeDate(date)
+            .writeLong(calculateDayCostMinor())
+            .writeInt(activities.size())
+            .writeString(note);
+        for (Activity activity : activities) {
+            activity.writeBinary(out);
+        }
+        out.endFrame(frame);
+    }
+    
+    @Override
+    public String toString() {
+        return TextFormat.toText(this::writeTo);
     }
 }
@@ -13,4 +13,10 @@ public interface Schedulable {
     default int getDurationHours() {
         return (int) Math.ceil(getDurationMinutes() / 60.0);
     }
+    
+    // Whether nothing else can be scheduled while this runs. A hotel stay
+    // spans the whole trip but does not keep you from sightseeing.
+    default boolean blocksTime() {
+        return true;
+    }
 }
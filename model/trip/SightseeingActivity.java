@@ -1,6 +1,9 @@
 package model.trip;
 
+import model.TextFormat;
 import model.location.Attraction;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 public class SightseeingActivity extends Activity {
@@ -34,13 +37,25 @@ public class SightseeingActivity extends Activity {
         return "Sightseeing";
     }
     
+    @Override
+    public Kind getKind() {
+        return Kind.SIGHTSEEING;
+    }
+    
     public Attraction getAttraction() {
         return attraction;
     }
     
     @Override
-    public String toString() {
-        String feeStr = attraction.isFree() ? "Free" : String.format("%.2f TL", calculateCost());
-        return String.format("[%s] 🏛️ %s (%s)", getTimeRange(), attraction.getName(), feeStr);
+    public void writeTo(Appendable out) throws IOException {
+        writeTimeRange(out);
+        out.append(" 🏛️ ").append(attraction.getName()).append(" (");
+        if (attraction.isFree()) {
+            out.append("Free");
+        } else {
+            TextFormat.appendAmount(out, calculateCost());
+            out.append(" TL");
+        }
+        out.append(')');
     }
 }
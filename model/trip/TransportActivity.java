@@ -1,6 +1,9 @@
 package model.trip;
 
+import model.TextFormat;
 import model.transport.TransportOption;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 public class TransportActivity extends Activity {
@@ -25,13 +28,22 @@ public class TransportActivity extends Activity {
         return transportOption.getTypeName();
     }
     
+    @Override
+    public Kind getKind() {
+        return Kind.TRANSPORT;
+    }
+    
     public TransportOption getTransportOption() {
         return transportOption;
     }
     
     @Override
-    public String toString() {
-        return String.format("[%s] %s (%.2f TL)",
-            getTimeRange(), transportOption.toString(), calculateCost());
+    public void writeTo(Appendable out) throws IOException {
+        writeTimeRange(out);
+        out.append(' ');
+        transportOption.writeTo(out);
+        out.append(" (");
+        TextFormat.appendAmount(out, calculateCost());
+        out.append(" TL)");
     }
 }
@@ -1,17 +1,22 @@
 package model.trip;
 
 import model.Exportable;
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
 import model.finance.Budget;
 import model.location.City;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 
 public class Trip implements Exportable {
     
@@ -37,7 +42,10 @@ public class Trip implements Exportable {
     private final LocalDateTime startDate;
     private final LocalDateTime endDate;
     private final Budget budget;
-    private final List<ItineraryDay> itineraryDays;
+    private final NavigableMap<LocalDate, ItineraryDay> itineraryDays;
+    private List<ItineraryDay> itineraryDaysSnapshot;
+    // Every activity of every day, for conflicts that cross midnight.
+    private final IntervalIndex<Activity> schedule;
     private City destination;
     private Status status;
     
@@ -61,7 +69,8 @@ public class Trip implements Exportable {
         this.startDate = startDate;
         this.endDate = endDate;
         this.budget = budget;
-        this.itineraryDays = new ArrayList<>();
+        this.itineraryDays = new TreeMap<>();
+        this.schedule = new IntervalIndex<>();
         this.status = Status.PLANNING;
         
         initializeItineraryDays();
@@ -72,44 +81,70 @@ public class Trip implements Exportable {
         LocalDate end = endDate.toLocalDate();
         
         while (!current.isAfter(end)) {
-            itineraryDays.add(new ItineraryDay(current));
+            ItineraryDay day = new ItineraryDay(current);
+            day.attachTo(schedule);
+            itineraryDays.put(current, day);
             current = current.plusDays(1);
         }
     }
     
     public void addItineraryDay(ItineraryDay day) {
-        boolean exists = itineraryDays.stream()
-            .anyMatch(d -> d.getDate().equals(day.getDate()));
-        
-        if (!exists) {
-            itineraryDays.add(day);
-            itineraryDays.sort(Comparator.comparing(ItineraryDay::getDate));
+        if (!itineraryDays.containsKey(day.getDate())) {
+            day.attachTo(schedule);
+            itineraryDays.put(day.getDate(), day);
+            itineraryDaysSnapshot = null;
         }
     }
     
     public Optional<ItineraryDay> getDayByDate(LocalDate date) {
-        return itineraryDays.stream()
-            .filter(d -> d.getDate().equals(date))
-            .findFirst();
+        return Optional.ofNullable(itineraryDays.get(date));
     }
     
     public void addActivityToDay(LocalDate date, Activity activity) {
-        getDayByDate(date).ifPresentOrElse(
-            day -> day.addActivity(activity),
-            () -> {
-                ItineraryDay newDay = new ItineraryDay(date);
-                newDay.addActivity(activity);
-                addItineraryDay(newDay);
-            }
-        );
+        ItineraryDay day = itineraryDays.get(date);
+        if (day == null) {
+            day = new ItineraryDay(date);
+            day.addActivity(activity);
+            addItineraryDay(day);
+        } else {
+            day.addActivity(activity);
+        }
+    }
+    
+    public Optional<Activity> findConflict(Schedulable candidate) {
+        return Optional.ofNullable(schedule.findConflict(candidate));
+    }
+    
+    public List<Activity> getConflicts(LocalDateTime from, LocalDateTime to) {
+        return schedule.overlapping(from, to, true);
+    }
+    
+    public List<Activity> getActivitiesAt(LocalDateTime time) {
+        return schedule.at(time);
+    }
+    
+    public Optional<LocalDateTime> findFreeSlot(LocalDateTime from, LocalDateTime to, Duration duration) {
+        return Optional.ofNullable(schedule.findFreeSlot(from, to, duration));
+    }
+    
+    public int getActivityCount() {
+        return schedule.size();
     }
     
     public double calculateTotalCost() {
-        return itineraryDays.stream()
+        return itineraryDays.values().stream()
             .mapToDouble(ItineraryDay::calculateDayCost)
             .sum();
     }
     
+    public long calculateTotalCostMinor() {
+        long total = 0;
+        for (ItineraryDay day : itineraryDays.values()) {
+            total += day.calculateDayCostMinor();
+        }
+        return total;
+    }
+    
     public long getDurationDays() {
         return ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()) + 1;
     }
@@ -131,7 +166,12 @@ public class Trip implements Exportable {
     }
     
     public List<ItineraryDay> getItineraryDays() {
-        return new ArrayList<>(itineraryDays);
+        List<ItineraryDay> snapshot = itineraryDaysSnapshot;
+        if (snapshot == null) {
+            snapshot = List.copyOf(itineraryDays.values());
+            itineraryDaysSnapshot = snapshot;
+        }
+        return snapshot;
     }
     
     public City getDestination() {
@@ -151,40 +191,96 @@ public class Trip implements Exportable {
     }
     
     @Override
-    public String exportToText() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("═══════════════════════════════════════════════\n");
-        sb.append("              TRIP PLAN\n");
-        sb.append("═══════════════════════════════════════════════\n");
-        sb.append("Trip Name    : ").append(name).append("\n");
+    public void exportTo(Appendable out) throws IOException {
+        out.append("═══════════════════════════════════════════════\n");
+        out.append("              TRIP PLAN\n");
+        out.append("═══════════════════════════════════════════════\n");
+        out.append("Trip Name    : ").append(name).append('\n');
         
         if (destination != null) {
-            sb.append("Destination  : ").append(destination.getFullName()).append("\n");
+            out.append("Destination  : ").append(destination.getName())
+               .append(", ").append(destination.getCountry().getName()).append('\n');
         }
         
-        sb.append("Dates        : ").append(startDate.format(DATE_FORMAT))
-          .append(" - ").append(endDate.format(DATE_FORMAT))
-          .append(" (").append(getDurationDays()).append(" days)\n");
-        sb.append("Status       : ").append(status.getDisplayName()).append("\n");
-        sb.append("───────────────────────────────────────────────\n");
+        out.append("Dates        : ");
+        DATE_FORMAT.formatTo(startDate, out);
+        out.append(" - ");
+        DATE_FORMAT.formatTo(endDate, out);
+        out.append(" (");
+        TextFormat.appendInt(out, getDurationDays());
+        out.append(" days)\n");
+        out.append("Status       : ").append(status.getDisplayName()).append('\n');
+        out.append("───────────────────────────────────────────────\n");
         
-        sb.append("BUDGET STATUS:\n");
-        sb.append(String.format("  Limit      : %.2f TL\n", budget.getTotalLimit()));
-        sb.append(String.format("  Spent      : %.2f TL (%%%.1f)\n", 
-            budget.getCurrentSpending(), budget.getSpendingPercentage()));
-        sb.append(String.format("  Remaining  : %.2f TL\n", budget.getRemainingBudget()));
-        sb.append("───────────────────────────────────────────────\n");
+        out.append("BUDGET STATUS:\n");
+        out.append("  Limit      : ");
+        TextFormat.appendMinor(out, budget.getTotalLimitMinor());
+        out.append(" TL\n");
+        out.append("  Spent      : ");
+        TextFormat.appendMinor(out, budget.getCurrentSpendingMinor());
+        out.append(" TL (%");
+        TextFormat.appendFixed(out, budget.getSpendingPercentage(), 1);
+        out.append(")\n");
+        out.append("  Remaining  : ");
+        TextFormat.appendMinor(out, budget.getRemainingBudgetMinor());
+        out.append(" TL\n");
+        out.append("───────────────────────────────────────────────\n");
         
-        sb.append("DAILY SCHEDULE:\n\n");
-        for (ItineraryDay day : itineraryDays) {
-            sb.append(day.toString()).append("\n");
+        out.append("DAILY SCHEDULE:\n\n");
+        for (ItineraryDay day : itineraryDays.values()) {
+            day.writeTo(out);
+            out.append('\n');
         }
         
-        sb.append("═══════════════════════════════════════════════\n");
-        sb.append(String.format("TOTAL COST: %.2f TL\n", calculateTotalCost()));
-        sb.append("═══════════════════════════════════════════════");
-        
-        return sb.toString();
+        out.append("═══════════════════════════════════════════════\n");
+        out.append("TOTAL COST: ");
+        TextFormat.appendAmount(out, calculateTotalCost());
+        out.append(" TL\n");
+        out.append("═══════════════════════════════════════════════");
+    }
+    
+    @Override
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("name").value(name)
+            .name("destination");
+        if (destination != null) {
+            out.beginObject()
+                .name("city").value(destination.getName())
+                .name("country").value(destination.getCountry().getName())
+                .endObject();
+        } else {
+            out.nullValue();
+        }
+        out.name("start").value(startDate)
+            .name("end").value(endDate)
+            .name("status").value(status)
+            .name("totalCost").amount(calculateTotalCostMinor())
+            .name("budget");
+        budget.writeJson(out);
+        out.name("days").beginArray();
+        for (ItineraryDay day : itineraryDays.values()) {
+            day.writeJson(out);
+        }
+        out.endArray().endObject();
+    }
+    
+    @Override
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.TRIP);
+        out.writeDateTime(startDate)
+            .writeDateTime(endDate)
+            .writeLong(calculateTotalCostMinor())
+            .writeInt(itineraryDays.size())
+            .writeByte(status.ordinal())
+            .writeString(name)
+            .writeString(destination != null ? destination.getName() : null)
+            .writeString(destination != null ? destination.getCountry().getName() : null);
+        budget.writeBinary(out);
+        for (ItineraryDay day : itineraryDays.values()) {
+            day.writeBinary(out);
+        }
+        out.endFrame(frame);
     }
     
     @Override
@@ -1,17 +1,32 @@
 package model.user;
 
+import model.TextFormat;
+import model.finance.Money;
 import model.trip.Trip;
 import model.visa.VisaApplication;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+// Safe to share between threads: mutators and readers synchronize on the
+// user, and the list getters hand out immutable snapshots that are rebuilt
+// only after their list changes, so callers can iterate them without the
+// lock.
 public class User {
     private final Profile profile;
     private final List<Preference> preferences;
     private final List<Trip> trips;
+    private final Set<Trip> tripSet;
     private final List<VisaApplication> visaApplications;
+    private List<Trip> tripsSnapshot;
+    private List<Preference> preferencesSnapshot;
+    private List<VisaApplication> visaApplicationsSnapshot;
     
     public User(Profile profile) {
         if (profile == null) {
@@ -20,56 +35,80 @@ public class User {
         this.profile = profile;
         this.preferences = new ArrayList<>();
         this.trips = new ArrayList<>();
+        this.tripSet = Collections.newSetFromMap(new IdentityHashMap<>());
         this.visaApplications = new ArrayList<>();
+        this.tripsSnapshot = List.of();
+        this.preferencesSnapshot = List.of();
+        this.visaApplicationsSnapshot = List.of();
     }
     
-    public void addTrip(Trip trip) {
-        if (trip != null && !trips.contains(trip)) {
+    public synchronized void addTrip(Trip trip) {
+        if (trip != null && tripSet.add(trip)) {
             trips.add(trip);
+            tripsSnapshot = null;
         }
     }
     
-    public void removeTrip(Trip trip) {
-        trips.remove(trip);
+    public synchronized void addTrips(Collection<Trip> newTrips) {
+        for (Trip trip : newTrips) {
+            if (trip != null && tripSet.add(trip)) {
+                trips.add(trip);
+            }
+        }
+        tripsSnapshot = null;
+    }
+    
+    public synchronized void removeTrip(Trip trip) {
+        if (tripSet.remove(trip)) {
+            trips.remove(trip);
+            tripsSnapshot = null;
+        }
     }
     
-    public Optional<Trip> getTripByName(String name) {
+    public synchronized Optional<Trip> getTripByName(String name) {
         return trips.stream()
             .filter(t -> t.getName().equalsIgnoreCase(name))
             .findFirst();
     }
     
-    public List<Trip> getTrips() {
-        return new ArrayList<>(trips);
+    public synchronized List<Trip> getTrips() {
+        if (tripsSnapshot == null) {
+            tripsSnapshot = List.copyOf(trips);
+        }
+        return tripsSnapshot;
     }
     
-    public int getTripCount() {
+    public synchronized int getTripCount() {
         return trips.size();
     }
     
-    public void addVisaApplication(VisaApplication app) {
+    public synchronized void addVisaApplication(VisaApplication app) {
         if (app != null) {
             visaApplications.add(app);
+            visaApplicationsSnapshot = null;
         }
     }
     
-    public List<VisaApplication> getVisaApplications() {
-        return new ArrayList<>(visaApplications);
+    public synchronized List<VisaApplication> getVisaApplications() {
+        if (visaApplicationsSnapshot == null) {
+            visaApplicationsSnapshot = List.copyOf(visaApplications);
+        }
+        return visaApplicationsSnapshot;
     }
     
-    public boolean hasApprovedSchengenVisa() {
+    public synchronized boolean hasApprovedSchengenVisa() {
         return visaApplications.stream()
             .anyMatch(v -> v.getVisaTypeName().contains("Schengen") && 
                           v.getStatus() == VisaApplication.Status.APPROVED);
     }
     
-    public boolean hasApprovedUsVisa() {
+    public synchronized boolean hasApprovedUsVisa() {
         return visaApplications.stream()
             .anyMatch(v -> v.getVisaTypeName().contains("US Visa") && 
                           v.getStatus() == VisaApplication.Status.APPROVED);
     }
     
-    public boolean hasApprovedVisa(String visaType) {
+    public synchronized boolean hasApprovedVisa(String visaType) {
         if (visaType == null) return true;
         return switch (visaType.toUpperCase()) {
             case "SCHENGEN" -> hasApprovedSchengenVisa();
@@ -78,21 +117,27 @@ public class User {
         };
     }
     
-    public void addPreference(Preference preference) {
+    public synchronized void addPreference(Preference preference) {
         if (preference != null && !preferences.contains(preference)) {
             preferences.add(preference);
+            preferencesSnapshot = null;
         }
     }
     
-    public void removePreference(Preference preference) {
-        preferences.remove(preference);
+    public synchronized void removePreference(Preference preference) {
+        if (preferences.remove(preference)) {
+            preferencesSnapshot = null;
+        }
     }
     
-    public List<Preference> getPreferences() {
-        return new ArrayList<>(preferences);
+    public synchronized List<Preference> getPreferences() {
+        if (preferencesSnapshot == null) {
+            preferencesSnapshot = List.copyOf(preferences);
+        }
+        return preferencesSnapshot;
     }
     
-    public boolean hasPreference(String tag) {
+    public synchronized boolean hasPreference(String tag) {
         return preferences.stream()
             .anyMatch(p -> p.getTag().equalsIgnoreCase(tag));
     }
@@ -105,38 +150,46 @@ public class User {
         return profile.getFullName();
     }
     
-    public double getTotalSpending() {
-        return trips.stream()
-            .mapToDouble(t -> t.getBudget().getCurrentSpending())
-            .sum();
+    public synchronized double getTotalSpending() {
+        long total = 0;
+        for (Trip trip : trips) {
+            total += trip.getBudget().getCurrentSpendingMinor();
+        }
+        return Money.toMajor(total);
     }
     
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return String.format("User: %s | Trips: %d | Preferences: %d",
             profile.getFullName(), trips.size(), preferences.size());
     }
     
     public String getSummary() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("═══════════════════════════════════════\n");
-        sb.append("         USER PROFILE\n");
-        sb.append("═══════════════════════════════════════\n");
-        sb.append("Full Name  : ").append(profile.getFullName()).append("\n");
-        sb.append("Email      : ").append(profile.getEmail()).append("\n");
-        sb.append("───────────────────────────────────────\n");
-        sb.append("Trips      : ").append(trips.size()).append(" total\n");
-        sb.append("Visa Apps  : ").append(visaApplications.size()).append(" total\n");
-        sb.append("Preferences: ");
+        return TextFormat.toText(this::writeSummary);
+    }
+    
+    public synchronized void writeSummary(Appendable out) throws IOException {
+        out.append("═══════════════════════════════════════\n");
+        out.append("         USER PROFILE\n");
+        out.append("═══════════════════════════════════════\n");
+        out.append("Full Name  : ").append(profile.getFullName()).append('\n');
+        out.append("Email      : ").append(profile.getEmail()).append('\n');
+        out.append("───────────────────────────────────────\n");
+        out.append("Trips      : ");
+        TextFormat.appendInt(out, trips.size());
+        out.append(" total\n");
+        out.append("Visa Apps  : ");
+        TextFormat.appendInt(out, visaApplications.size());
+        out.append(" total\n");
+        out.append("Preferences: ");
         if (preferences.isEmpty()) {
-            sb.append("(Not specified)\n");
+            out.append("(Not specified)\n");
         } else {
-            sb.append("\n");
+            out.append('\n');
             for (Preference p : preferences) {
-                sb.append("  • ").append(p.getTag()).append("\n");
+                out.append("  • ").append(p.getTag()).append('\n');
             }
         }
-        sb.append("═══════════════════════════════════════");
-        return sb.toString();
+        out.append("═══════════════════════════════════════");
     }
 }
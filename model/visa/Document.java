@@ -1,5 +1,10 @@
 package model.visa;
 
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+
+import java.io.IOException;
 import java.time.LocalDate;
 
 public class Document {
@@ -42,17 +47,46 @@ public class Document {
     }
     
     public boolean isExpired() {
+        return isExpired(LocalDate.now());
+    }
+    
+    // Lets callers checking many documents read the clock once.
+    public boolean isExpired(LocalDate today) {
         if (expiryDate == null) return false;
-        return LocalDate.now().isAfter(expiryDate);
+        return today.isAfter(expiryDate);
     }
     
     public boolean isValid() {
         return !isExpired();
     }
     
+    public void writeTo(Appendable out) throws IOException {
+        out.append("📄 ").append(type.getDisplayName()).append(": ").append(content)
+            .append(isExpired() ? " [EXPIRED]" : "");
+    }
+    
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("type").value(type)
+            .name("content").value(content)
+            .name("uploadDate").value(uploadDate)
+            .name("expiryDate").value(expiryDate)
+            .name("expired").value(isExpired())
+            .endObject();
+    }
+    
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.DOCUMENT);
+        out.writeDate(uploadDate)
+            .writeDate(expiryDate)
+            .writeByte(type.ordinal())
+            .writeBoolean(isExpired())
+            .writeString(content);
+        out.endFrame(frame);
+    }
+    
     @Override
     public String toString() {
-        String status = isExpired() ? " [EXPIRED]" : "";
-        return String.format("📄 %s: %s%s", type.getDisplayName(), content, status);
+        return TextFormat.toText(this::writeTo);
     }
 }
@@ -0,0 +1,253 @@
+package model.visa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Expiry schedule for documents that carry an expiry date, advanced one day
+// (or many) at a time. Documents sit in one bucket per expiry day on a wheel
+// of WHEEL_DAYS slots, just over eleven years, which covers a new ten-year
+// passport. Days further out wait in an overflow map and move onto the wheel
+// as it turns. An occupancy bitmap lets advanceTo() jump straight to the next
+// non-empty day, so a call costs the documents it reports, not the number
+// indexed.
+//
+// Each document is reported at most twice: once when it comes within the
+// warning window and once when it has expired, after which it leaves the
+// index. Not thread-safe, and listeners must not modify the index.
+public final class DocumentExpiryIndex {
+    
+    public interface Listener {
+        void expiring(Document document, int daysLeft);
+        
+        void expired(Document document);
+    }
+    
+    private static final int WHEEL_DAYS = 1 << 12;
+    private static final int SLOT_MASK = WHEEL_DAYS - 1;
+    
+    private final int warningDays;
+    private final Bucket[] wheel;
+    private final long[] occupied;
+    private final TreeMap<Long, Bucket> overflow;
+    // Added for a day that has already been expired or warned; reported by
+    // the next advanceTo().
+    private final List<Document> overdue;
+    private final List<Document> unwarned;
+    private long expiredThrough;
+    private long warnedThrough;
+    private int size;
+    
+    public DocumentExpiryIndex(LocalDate today, int warningDays) {
+        if (today == null) {
+            throw new IllegalArgumentException("Start date cannot be empty!");
+        }
+        if (warningDays < 0 || warningDays >= WHEEL_DAYS) {
+            throw new IllegalArgumentException("Warning window must be between 0 and " + (WHEEL_DAYS - 1) + " days!");
+        }
+        this.warningDays = warningDays;
+        this.wheel = new Bucket[WHEEL_DAYS];
+        this.occupied = new long[WHEEL_DAYS >>> 6];
+        this.overflow = new TreeMap<>();
+        this.overdue = new ArrayList<>();
+        this.unwarned = new ArrayList<>();
+        this.expiredThrough = today.toEpochDay() - 1;
+        this.warnedThrough = expiredThrough;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getWarningDays() {
+        return warningDays;
+    }
+    
+    // Documents without an expiry date are not indexed.
+    public boolean add(Document document) {
+        LocalDate expiry = document.getExpiryDate();
+        if (expiry == null) {
+            return false;
+        }
+        long day = expiry.toEpochDay();
+        if (day <= expiredThrough) {
+            overdue.add(document);
+        } else {
+            bucket(day).add(document);
+            if (day <= warnedThrough) {
+                unwarned.add(document);
+            }
+        }
+        size++;
+        return true;
+    }
+    
+    public boolean remove(Document document) {
+        LocalDate expiry = document.getExpiryDate();
+        if (expiry == null) {
+            return false;
+        }
+        long day = expiry.toEpochDay();
+        boolean removed;
+        if (day <= expiredThrough) {
+            removed = removeSame(overdue, document);
+        } else if (onWheel(day)) {
+            int slot = (int) (day & SLOT_MASK);
+            Bucket bucket = wheel[slot];
+            removed = bucket != null && bucket.remove(document);
+            if (removed && bucket.count == 0) {
+                occupied[slot >>> 6] &= ~(1L << slot);
+            }
+        } else {
+            Bucket bucket = overflow.get(day);
+            removed = bucket != null && bucket.remove(document);
+            if (removed && bucket.count == 0) {
+                overflow.remove(day);
+            }
+        }
+        if (removed) {
+            if (day <= warnedThrough) {
+                removeSame(unwarned, document);
+            }
+            size--;
+        }
+        return removed;
+    }
+    
+    // Reports documents that expired before today and documents expiring
+    // within the warning window, counted from today.
+    public void advanceTo(LocalDate today, Listener listener) {
+        long day = today.toEpochDay();
+        long lastExpired = day - 1;
+        if (lastExpired < expiredThrough) {
+            throw new IllegalArgumentException("Expiry index cannot go back to " + today + "!");
+        }
+        
+        for (Document document : overdue) {
+            listener.expired(document);
+        }
+        size -= overdue.size();
+        overdue.clear();
+        
+        scan(expiredThrough + 1, Math.min(lastExpired, expiredThrough + WHEEL_DAYS), day, true, listener);
+        // Only reached when today jumps more than the whole wheel ahead.
+        while (!overflow.isEmpty() && overflow.firstKey() <= lastExpired) {
+            Bucket bucket = overflow.pollFirstEntry().getValue();
+            for (int i = 0; i < bucket.count; i++) {
+                listener.expired(bucket.items[i]);
+            }
+            size -= bucket.count;
+        }
+        expiredThrough = lastExpired;
+        while (!overflow.isEmpty() && onWheel(overflow.firstKey())) {
+            Map.Entry<Long, Bucket> entry = overflow.pollFirstEntry();
+            int slot = (int) (entry.getKey() & SLOT_MASK);
+            wheel[slot] = entry.getValue();
+            occupied[slot >>> 6] |= 1L << slot;
+        }
+        
+        for (Document document : unwarned) {
+            long expiry = document.getExpiryDate().toEpochDay();
+            if (expiry > lastExpired) {
+                listener.expiring(document, (int) (expiry - day));
+            }
+        }
+        unwarned.clear();
+        
+        long warnThrough = day + warningDays;
+        scan(Math.max(warnedThrough, lastExpired) + 1, warnThrough, day, false, listener);
+        warnedThrough = Math.max(warnedThrough, warnThrough);
+    }
+    
+    private boolean onWheel(long day) {
+        return day - expiredThrough <= WHEEL_DAYS;
+    }
+    
+    private Bucket bucket(long day) {
+        if (!onWheel(day)) {
+            return overflow.computeIfAbsent(day, d -> new Bucket());
+        }
+        int slot = (int) (day & SLOT_MASK);
+        Bucket bucket = wheel[slot];
+        if (bucket == null) {
+            bucket = wheel[slot] = new Bucket();
+        }
+        occupied[slot >>> 6] |= 1L << slot;
+        return bucket;
+    }
+    
+    // Visits the non-empty days in [from, to], at most one turn of the wheel.
+    private void scan(long from, long to, long today, boolean expire, Listener listener) {
+        long day = from;
+        while (day <= to) {
+            int slot = (int) (day & SLOT_MASK);
+            long bits = occupied[slot >>> 6] & (-1L << slot);
+            if (bits == 0) {
+                day += 64 - (slot & 63);
+                continue;
+            }
+            day += Long.numberOfTrailingZeros(bits) - (slot & 63);
+            if (day > to) {
+                break;
+            }
+            slot = (int) (day & SLOT_MASK);
+            Bucket bucket = wheel[slot];
+            for (int i = 0; i < bucket.count; i++) {
+                if (expire) {
+                    listener.expired(bucket.items[i]);
+                } else {
+                    listener.expiring(bucket.items[i], (int) (day - today));
+                }
+            }
+            if (expire) {
+                size -= bucket.count;
+                bucket.clear();
+                occupied[slot >>> 6] &= ~(1L << slot);
+            }
+            day++;
+        }
+    }
+    
+    private static boolean removeSame(List<Document> documents, Document document) {
+        for (int i = 0; i < documents.size(); i++) {
+            if (documents.get(i) == document) {
+                documents.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Documents expiring on one day. Removal is a linear scan of the day,
+    // which stays short even with tens of millions of documents indexed.
+    private static final class Bucket {
+        private Document[] items = new Document[4];
+        private int count;
+        
+        void add(Document document) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, count + (count >> 1));
+            }
+            items[count++] = document;
+        }
+        
+        boolean remove(Document document) {
+            for (int i = 0; i < count; i++) {
+                if (items[i] == document) {
+                    items[i] = items[--count];
+                    items[count] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        void clear() {
+            Arrays.fill(items, 0, count, null);
+            count = 0;
+        }
+    }
+}
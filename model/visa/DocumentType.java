@@ -1,5 +1,8 @@
 package model.visa;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public enum DocumentType {
     PASSPORT("Passport", true),
     PHOTO("Biometric Photo", true),
@@ -11,6 +14,8 @@ public enum DocumentType {
     EMPLOYMENT_LETTER("Employment Letter", false),
     INVITATION_LETTER("Invitation Letter", false);
     
+    private static final DocumentType[] VALUES = values();
+    
     private final String displayName;
     private final boolean mandatory;
     
@@ -26,4 +31,27 @@ public enum DocumentType {
     public boolean isMandatory() {
         return mandatory;
     }
+    
+    // Bit for this type in a document mask; masks are ints, one bit per type
+    // by ordinal.
+    public int mask() {
+        return 1 << ordinal();
+    }
+    
+    public static int maskOf(DocumentType... types) {
+        int mask = 0;
+        for (DocumentType type : types) {
+            mask |= type.mask();
+        }
+        return mask;
+    }
+    
+    // The types in a mask, in declaration order.
+    public static List<DocumentType> listOf(int mask) {
+        List<DocumentType> types = new ArrayList<>(Integer.bitCount(mask));
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            types.add(VALUES[Integer.numberOfTrailingZeros(bits)]);
+        }
+        return types;
+    }
 }
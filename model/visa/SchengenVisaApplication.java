@@ -1,13 +1,16 @@
 package model.visa;
 
 import exception.MissingDocumentException;
-import java.util.Arrays;
-import java.util.List;
 
 public class SchengenVisaApplication extends VisaApplication {
     
     private static final double BASE_FEE_EUR = 80.0;
     private static final double EUR_TO_TRY = 37.0;
+    private static final DocumentType[] CHECK_ORDER = {
+        DocumentType.PASSPORT, DocumentType.INSURANCE,
+        DocumentType.BANK_STATEMENT, DocumentType.PHOTO
+    };
+    private static final int REQUIRED_DOCUMENTS = DocumentType.maskOf(CHECK_ORDER);
     
     private final String targetCountry;
     
@@ -31,40 +34,13 @@ public class SchengenVisaApplication extends VisaApplication {
     }
     
     @Override
-    public List<DocumentType> getRequiredDocuments() {
-        return Arrays.asList(
-            DocumentType.PASSPORT,
-            DocumentType.PHOTO,
-            DocumentType.INSURANCE,
-            DocumentType.BANK_STATEMENT
-        );
+    public int getRequiredMask() {
+        return REQUIRED_DOCUMENTS;
     }
     
     @Override
     public void validateDocuments() throws MissingDocumentException {
-        if (!hasDocument(DocumentType.PASSPORT)) {
-            throw new MissingDocumentException(DocumentType.PASSPORT);
-        }
-        
-        getDocument(DocumentType.PASSPORT).ifPresent(passport -> {
-            if (passport.isExpired()) {
-                throw new IllegalStateException("Your passport has expired!");
-            }
-        });
-        
-        if (!hasDocument(DocumentType.INSURANCE)) {
-            throw new MissingDocumentException(DocumentType.INSURANCE);
-        }
-        
-        if (!hasDocument(DocumentType.BANK_STATEMENT)) {
-            throw new MissingDocumentException(DocumentType.BANK_STATEMENT);
-        }
-        
-        if (!hasDocument(DocumentType.PHOTO)) {
-            throw new MissingDocumentException(DocumentType.PHOTO);
-        }
-        
-        System.out.println("✅ Schengen visa documents complete!");
+        requireDocuments(CHECK_ORDER);
         setStatus(Status.SUBMITTED);
     }
     
@@ -1,13 +1,16 @@
 package model.visa;
 
 import exception.MissingDocumentException;
-import java.util.Arrays;
-import java.util.List;
 
 public class UsVisaApplication extends VisaApplication {
     
     private static final double BASE_FEE_USD = 185.0;
     private static final double USD_TO_TRY = 34.5;
+    private static final DocumentType[] CHECK_ORDER = {
+        DocumentType.PASSPORT, DocumentType.DS160_FORM,
+        DocumentType.BANK_STATEMENT, DocumentType.PHOTO
+    };
+    private static final int REQUIRED_DOCUMENTS = DocumentType.maskOf(CHECK_ORDER);
     
     private final String visaCategory;
     
@@ -31,40 +34,13 @@ public class UsVisaApplication extends VisaApplication {
     }
     
     @Override
-    public List<DocumentType> getRequiredDocuments() {
-        return Arrays.asList(
-            DocumentType.PASSPORT,
-            DocumentType.PHOTO,
-            DocumentType.DS160_FORM,
-            DocumentType.BANK_STATEMENT
-        );
+    public int getRequiredMask() {
+        return REQUIRED_DOCUMENTS;
     }
     
     @Override
     public void validateDocuments() throws MissingDocumentException {
-        if (!hasDocument(DocumentType.PASSPORT)) {
-            throw new MissingDocumentException(DocumentType.PASSPORT);
-        }
-        
-        getDocument(DocumentType.PASSPORT).ifPresent(passport -> {
-            if (passport.isExpired()) {
-                throw new IllegalStateException("Your passport has expired!");
-            }
-        });
-        
-        if (!hasDocument(DocumentType.DS160_FORM)) {
-            throw new MissingDocumentException(DocumentType.DS160_FORM);
-        }
-        
-        if (!hasDocument(DocumentType.BANK_STATEMENT)) {
-            throw new MissingDocumentException(DocumentType.BANK_STATEMENT);
-        }
-        
-        if (!hasDocument(DocumentType.PHOTO)) {
-            throw new MissingDocumentException(DocumentType.PHOTO);
-        }
-        
-        System.out.println("✅ US visa documents complete!");
+        requireDocuments(CHECK_ORDER);
         setStatus(Status.SUBMITTED);
     }
     
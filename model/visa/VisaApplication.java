@@ -2,9 +2,15 @@ package model.visa;
 
 import exception.MissingDocumentException;
 import model.Exportable;
+import model.TextFormat;
+import model.export.BinaryWriter;
+import model.export.JsonWriter;
+import model.finance.Money;
 
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,17 +34,24 @@ public abstract class VisaApplication implements Exportable {
         }
     }
     
+    private static final int DOCUMENT_TYPES = DocumentType.values().length;
+    
     protected final String applicantName;
-    protected final List<Document> documents;
+    // One slot per DocumentType ordinal; presentMask has the bit of every
+    // filled slot, so requirement checks are mask arithmetic.
+    private final Document[] documents;
+    private int presentMask;
+    private final List<Document> documentsView;
     protected final LocalDate applicationDate;
-    protected Status status;
+    protected volatile Status status;
     
     public VisaApplication(String applicantName) {
         if (applicantName == null || applicantName.isBlank()) {
             throw new IllegalArgumentException("Applicant name cannot be empty!");
         }
         this.applicantName = applicantName.trim();
-        this.documents = new ArrayList<>();
+        this.documents = new Document[DOCUMENT_TYPES];
+        this.documentsView = new DocumentList();
         this.applicationDate = LocalDate.now();
         this.status = Status.DRAFT;
     }
@@ -47,22 +60,30 @@ public abstract class VisaApplication implements Exportable {
         if (doc == null) {
             throw new IllegalArgumentException("Document cannot be null!");
         }
-        documents.removeIf(d -> d.getType() == doc.getType());
-        documents.add(doc);
+        documents[doc.getType().ordinal()] = doc;
+        presentMask |= doc.getType().mask();
+    }
+    
+    public void removeDocument(DocumentType type) {
+        documents[type.ordinal()] = null;
+        presentMask &= ~type.mask();
     }
     
     public Optional<Document> getDocument(DocumentType type) {
-        return documents.stream()
-            .filter(d -> d.getType() == type)
-            .findFirst();
+        return Optional.ofNullable(documents[type.ordinal()]);
     }
     
     public boolean hasDocument(DocumentType type) {
-        return getDocument(type).isPresent();
+        return (presentMask & type.mask()) != 0;
     }
     
+    // Uploaded documents in DocumentType order.
     public List<Document> getDocuments() {
-        return new ArrayList<>(documents);
+        return documentsView;
+    }
+    
+    public int getPresentMask() {
+        return presentMask;
     }
     
     public String getApplicantName() {
@@ -77,57 +98,155 @@ public abstract class VisaApplication implements Exportable {
         return status;
     }
     
-    public void setStatus(Status status) {
+    public synchronized void setStatus(Status status) {
         this.status = status;
     }
     
+    // Moves to the next status only if the application is still in the
+    // expected one, so two callers cannot both claim it.
+    public synchronized boolean compareAndSetStatus(Status expected, Status next) {
+        if (status != expected) {
+            return false;
+        }
+        status = next;
+        return true;
+    }
+    
     public abstract void validateDocuments() throws MissingDocumentException;
     
     public abstract double calculateFee();
     
     public abstract String getVisaTypeName();
     
-    public abstract List<DocumentType> getRequiredDocuments();
+    public abstract int getRequiredMask();
+    
+    public List<DocumentType> getRequiredDocuments() {
+        return DocumentType.listOf(getRequiredMask());
+    }
+    
+    public int getMissingMask() {
+        return getMissingMask(getRequiredMask());
+    }
+    
+    // What would be missing under a different set of requirements, e.g. to
+    // re-check stored applications against a changed rule.
+    public int getMissingMask(int requiredMask) {
+        return requiredMask & ~presentMask;
+    }
     
     public List<DocumentType> getMissingDocuments() {
-        List<DocumentType> missing = new ArrayList<>();
-        for (DocumentType required : getRequiredDocuments()) {
-            if (!hasDocument(required)) {
-                missing.add(required);
+        return DocumentType.listOf(getMissingMask());
+    }
+    
+    // Checks the required documents in the given order and fails on the
+    // first one that is missing, or on an expired passport once the passport
+    // itself has been checked. Complete applications cost two mask operations
+    // and the passport expiry check.
+    protected final void requireDocuments(DocumentType... checkOrder) throws MissingDocumentException {
+        int missing = getMissingMask();
+        Document passport = documents[DocumentType.PASSPORT.ordinal()];
+        boolean passportExpired = passport != null && passport.isExpired();
+        if (missing == 0 && !passportExpired) {
+            return;
+        }
+        for (DocumentType type : checkOrder) {
+            if ((missing & type.mask()) != 0) {
+                throw new MissingDocumentException(type);
+            }
+            if (type == DocumentType.PASSPORT && passportExpired) {
+                throw new IllegalStateException("Your passport has expired!");
             }
         }
-        return missing;
     }
     
     @Override
-    public String exportToText() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("═══════════════════════════════════════\n");
-        sb.append("         VISA APPLICATION\n");
-        sb.append("═══════════════════════════════════════\n");
-        sb.append("Visa Type    : ").append(getVisaTypeName()).append("\n");
-        sb.append("Applicant    : ").append(applicantName).append("\n");
-        sb.append("Application  : ").append(applicationDate).append("\n");
-        sb.append("Status       : ").append(status.getDisplayName()).append("\n");
-        sb.append("Fee          : ").append(String.format("%.2f", calculateFee())).append("\n");
-        sb.append("───────────────────────────────────────\n");
-        sb.append("Uploaded Documents:\n");
-        if (documents.isEmpty()) {
-            sb.append("  (No documents uploaded yet)\n");
+    public void exportTo(Appendable out) throws IOException {
+        out.append("═══════════════════════════════════════\n");
+        out.append("         VISA APPLICATION\n");
+        out.append("═══════════════════════════════════════\n");
+        out.append("Visa Type    : ").append(getVisaTypeName()).append('\n');
+        out.append("Applicant    : ").append(applicantName).append('\n');
+        out.append("Application  : ");
+        DateTimeFormatter.ISO_LOCAL_DATE.formatTo(applicationDate, out);
+        out.append('\n');
+        out.append("Status       : ").append(status.getDisplayName()).append('\n');
+        out.append("Fee          : ");
+        TextFormat.appendAmount(out, calculateFee());
+        out.append('\n');
+        out.append("───────────────────────────────────────\n");
+        out.append("Uploaded Documents:\n");
+        if (presentMask == 0) {
+            out.append("  (No documents uploaded yet)\n");
         } else {
-            for (Document doc : documents) {
-                sb.append("  ").append(doc.toString()).append("\n");
+            for (Document doc : documentsView) {
+                out.append("  ");
+                doc.writeTo(out);
+                out.append('\n');
             }
         }
-        List<DocumentType> missing = getMissingDocuments();
-        if (!missing.isEmpty()) {
-            sb.append("───────────────────────────────────────\n");
-            sb.append("⚠️ Missing Documents:\n");
-            for (DocumentType type : missing) {
-                sb.append("  • ").append(type.getDisplayName()).append("\n");
+        int missing = getMissingMask();
+        if (missing != 0) {
+            out.append("───────────────────────────────────────\n");
+            out.append("⚠️ Missing Documents:\n");
+            for (DocumentType type : DocumentType.listOf(missing)) {
+                out.append("  • ").append(type.getDisplayName()).append('\n');
             }
         }
-        sb.append("═══════════════════════════════════════");
-        return sb.toString();
+        out.append("═══════════════════════════════════════");
+    }
+    
+    @Override
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+            .name("visaType").value(getVisaTypeName())
+            .name("applicant").value(applicantName)
+            .name("applicationDate").value(applicationDate)
+            .name("status").value(status)
+            .name("fee").amount(Money.toMinorUnits(calculateFee()))
+            .name("documents").beginArray();
+        for (Document doc : documentsView) {
+            doc.writeJson(out);
+        }
+        out.endArray().name("missing").beginArray();
+        for (DocumentType type : DocumentType.listOf(getMissingMask())) {
+            out.value(type);
+        }
+        out.endArray().endObject();
+    }
+    
+    @Override
+    public void writeBinary(BinaryWriter out) {
+        int frame = out.beginFrame(BinaryWriter.VISA_APPLICATION);
+        out.writeDate(applicationDate)
+            .writeLong(Money.toMinorUnits(calculateFee()))
+            .writeInt(Integer.bitCount(presentMask))
+            .writeInt(getMissingMask())
+            .writeByte(status.ordinal())
+            .writeString(getVisaTypeName())
+            .writeString(applicantName);
+        for (Document doc : documentsView) {
+            doc.writeBinary(out);
+        }
+        out.endFrame(frame);
+    }
+    
+    // Read-only view over the filled slots.
+    private final class DocumentList extends AbstractList<Document> {
+        @Override
+        public Document get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int bits = presentMask;
+            for (int i = 0; i < index; i++) {
+                bits &= bits - 1;
+            }
+            return documents[Integer.numberOfTrailingZeros(bits)];
+        }
+        
+        @Override
+        public int size() {
+            return Integer.bitCount(presentMask);
+        }
     }
 }
@@ -0,0 +1,189 @@
+package service;
+
+import model.location.City;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Daily climate normals per city: one row of DAYS packed ints, indexed by day
+// of year, holding the mean temperature, humidity and chance of rain for that
+// day. Rows are computed from a handful of per-city parameters on first use
+// and kept in an LRU of recently asked cities, so a trip's forecast is one
+// map lookup followed by array reads.
+//
+// Cities without known normals get parameters derived from their name and
+// country, so every city has a climate and it is the same in every run.
+public final class ClimateGrid {
+    public static final int DAYS = 366;
+    public static final int DEFAULT_CAPACITY = 256;
+    
+    // Packed day: temperature in tenths of a degree (signed, bits 0-15),
+    // humidity % (bits 16-22), chance of rain % (bits 23-29).
+    private static final int HUMIDITY_SHIFT = 16;
+    private static final int RAIN_SHIFT = 23;
+    private static final int PERCENT_MASK = 0x7F;
+    // Coldest day of the year in the northern hemisphere.
+    private static final int COLDEST_DAY = 20;
+    
+    private static final Map<String, Normals> KNOWN = Map.ofEntries(
+        Map.entry("paris|FR", new Normals(12.5, 8.0, 72, 30)),
+        Map.entry("rome|IT", new Normals(16.0, 8.5, 68, 22)),
+        Map.entry("new york|US", new Normals(13.0, 12.0, 63, 30)),
+        Map.entry("berlin|DE", new Normals(10.0, 9.5, 72, 30)),
+        Map.entry("istanbul|TR", new Normals(15.0, 9.0, 72, 28)),
+        Map.entry("ankara|TR", new Normals(12.0, 12.0, 60, 20)),
+        Map.entry("izmir|TR", new Normals(18.0, 9.5, 60, 15)),
+        Map.entry("antalya|TR", new Normals(19.0, 8.5, 62, 13))
+    );
+    
+    private static final ClimateGrid STANDARD = new ClimateGrid(DEFAULT_CAPACITY);
+    
+    private final int capacity;
+    private final LinkedHashMap<String, int[]> rows;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public ClimateGrid(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive!");
+        }
+        this.capacity = capacity;
+        this.rows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > ClimateGrid.this.capacity;
+            }
+        };
+    }
+    
+    // Shared by every WeatherService, so hot cities stay cached across them.
+    public static ClimateGrid standard() {
+        return STANDARD;
+    }
+    
+    // The city's row; callers must not modify it.
+    int[] row(City city) {
+        String key = key(city);
+        int[] row;
+        synchronized (rows) {
+            row = rows.get(key);
+        }
+        if (row != null) {
+            hits.increment();
+            return row;
+        }
+        misses.increment();
+        row = computeRow(normals(key));
+        synchronized (rows) {
+            int[] raced = rows.putIfAbsent(key, row);
+            return raced != null ? raced : row;
+        }
+    }
+    
+    // Feb 29 gets its own slot and every later day keeps the same slot in
+    // leap and common years.
+    static int dayIndex(LocalDate date) {
+        int index = date.getDayOfYear() - 1;
+        if (!date.isLeapYear() && date.getMonthValue() > Month.FEBRUARY.getValue()) {
+            index++;
+        }
+        return index;
+    }
+    
+    static double temperature(int day) {
+        return (short) day / 10.0;
+    }
+    
+    static int humidity(int day) {
+        return (day >>> HUMIDITY_SHIFT) & PERCENT_MASK;
+    }
+    
+    static int rainChance(int day) {
+        return (day >>> RAIN_SHIFT) & PERCENT_MASK;
+    }
+    
+    // Stable per-city seed for the daily variation around the normals.
+    static long seed(City city) {
+        return fingerprint(key(city));
+    }
+    
+    public int size() {
+        synchronized (rows) {
+            return rows.size();
+        }
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    private static String key(City city) {
+        return city.getName().trim().toLowerCase(Locale.ROOT) + "|" + city.getCountry().getCode();
+    }
+    
+    private static Normals normals(String key) {
+        Normals known = KNOWN.get(key);
+        if (known != null) {
+            return known;
+        }
+        SplittableRandom random = new SplittableRandom(fingerprint(key));
+        return new Normals(5 + random.nextDouble() * 20, 3 + random.nextDouble() * 11,
+            45 + random.nextInt(36), 10 + random.nextInt(31));
+    }
+    
+    private static int[] computeRow(Normals normals) {
+        int[] row = new int[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            // 1 on the coldest day, -1 half a year later.
+            double winter = Math.cos(2 * Math.PI * (i + 1 - COLDEST_DAY) / DAYS);
+            long tenths = Math.round((normals.meanTemperature - normals.amplitude * winter) * 10);
+            int humidity = clampPercent(normals.humidity + (int) Math.round(8 * winter));
+            int rain = clampPercent(normals.rainDays + (int) Math.round(normals.rainDays / 3.0 * winter));
+            row[i] = (int) (tenths & 0xFFFF) | humidity << HUMIDITY_SHIFT | rain << RAIN_SHIFT;
+        }
+        return row;
+    }
+    
+    private static int clampPercent(int value) {
+        return Math.max(0, Math.min(100, value));
+    }
+    
+    // 64-bit FNV-1a, the same in every JVM run.
+    private static long fingerprint(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    private static final class Normals {
+        private final double meanTemperature;
+        // Half the gap between the warmest and coldest day; negative in the
+        // southern hemisphere.
+        private final double amplitude;
+        private final int humidity;
+        // Share of days with rain, in percent.
+        private final int rainDays;
+        
+        private Normals(double meanTemperature, double amplitude, int humidity, int rainDays) {
+            this.meanTemperature = meanTemperature;
+            this.amplitude = amplitude;
+            this.humidity = humidity;
+            this.rainDays = rainDays;
+        }
+    }
+}
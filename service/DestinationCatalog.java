@@ -0,0 +1,20 @@
+package service;
+
+import service.RecommendationService.Destination;
+
+import java.nio.IntBuffer;
+import java.util.Collection;
+
+// Destinations are indexed 0..size()-1 in ascending minBudget order.
+public interface DestinationCatalog {
+    int size();
+    
+    double getMinBudget(int index);
+    
+    Destination get(int index);
+    
+    Collection<String> getCategories();
+    
+    // Ascending catalog indexes of the destinations in the given category.
+    IntBuffer postings(String category);
+}
@@ -0,0 +1,64 @@
+package service;
+
+import service.RecommendationService.Destination;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InMemoryDestinationCatalog implements DestinationCatalog {
+    private static final IntBuffer NO_POSTINGS = IntBuffer.allocate(0);
+    
+    private final Destination[] destinations;
+    private final double[] budgets;
+    private final Map<String, int[]> postings;
+    
+    public InMemoryDestinationCatalog(Collection<Destination> destinations) {
+        this.destinations = destinations.toArray(new Destination[0]);
+        Arrays.sort(this.destinations, Comparator.comparingDouble(Destination::getMinBudget));
+        
+        this.budgets = new double[this.destinations.length];
+        Map<String, List<Integer>> byCategory = new LinkedHashMap<>();
+        for (int i = 0; i < this.destinations.length; i++) {
+            budgets[i] = this.destinations[i].getMinBudget();
+            byCategory.computeIfAbsent(this.destinations[i].getCategory(), c -> new ArrayList<>()).add(i);
+        }
+        
+        this.postings = new HashMap<>();
+        byCategory.forEach((category, positions) ->
+            postings.put(category, positions.stream().mapToInt(Integer::intValue).toArray()));
+    }
+    
+    @Override
+    public int size() {
+        return destinations.length;
+    }
+    
+    @Override
+    public double getMinBudget(int index) {
+        return budgets[index];
+    }
+    
+    @Override
+    public Destination get(int index) {
+        return destinations[index];
+    }
+    
+    @Override
+    public Collection<String> getCategories() {
+        return Collections.unmodifiableSet(postings.keySet());
+    }
+    
+    @Override
+    public IntBuffer postings(String category) {
+        int[] positions = postings.get(category);
+        return positions != null ? IntBuffer.wrap(positions).asReadOnlyBuffer() : NO_POSTINGS;
+    }
+}
@@ -0,0 +1,436 @@
+package service;
+
+import model.finance.Money;
+import model.location.Attraction;
+import model.trip.Activity;
+import model.trip.ItineraryDay;
+import model.trip.Trip;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+// Picks the most valuable set of attractions that fits into the free hours of
+// a trip and the money left in its budget. It is a multiple-knapsack problem:
+// every free stretch of a day is a bin of whole hours, and all bins share one
+// budget. Branch and bound runs on a fork-join pool and starts from a greedy
+// plan, so whatever it has found when the time budget runs out is at least
+// as good as the greedy one.
+public class ItineraryOptimizer {
+    public static final LocalTime DAY_START = LocalTime.of(9, 0);
+    public static final LocalTime DAY_END = LocalTime.of(21, 0);
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofMillis(250);
+    
+    // Enough fork-join tasks to keep every worker busy while the shallow
+    // levels are split; each task then searches its subtree sequentially.
+    private static final int TASKS_PER_WORKER = 4;
+    private static final int MAX_SPLIT_DEPTH = 4;
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+    
+    private final ForkJoinPool pool;
+    private final Duration timeBudget;
+    private final ToLongFunction<Attraction> valueFunction;
+    
+    public ItineraryOptimizer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TIME_BUDGET, Attraction::getEstimatedHours);
+    }
+    
+    public ItineraryOptimizer(ForkJoinPool pool, Duration timeBudget, ToLongFunction<Attraction> valueFunction) {
+        if (timeBudget.isNegative() || timeBudget.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive!");
+        }
+        this.pool = pool;
+        this.timeBudget = timeBudget;
+        this.valueFunction = valueFunction;
+    }
+    
+    public Plan optimize(Trip trip, Collection<Attraction> attractions) {
+        return optimize(trip, attractions, trip.getBudget().getRemainingBudgetMinor());
+    }
+    
+    public Plan optimize(Trip trip, Collection<Attraction> attractions, long budgetMinor) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        List<Gap> gaps = freeGaps(trip);
+        Problem problem = Problem.of(attractions, gaps, budgetMinor, valueFunction);
+        if (problem.size() == 0) {
+            return new Plan(Collections.emptyList(), 0, 0, true, 0);
+        }
+        
+        int splitDepth = 0;
+        for (long tasks = 1; splitDepth < MAX_SPLIT_DEPTH && tasks < (long) pool.getParallelism() * TASKS_PER_WORKER; splitDepth++) {
+            tasks *= gaps.size() + 1;
+        }
+        Search search = new Search(problem, deadline, splitDepth);
+        search.offer(problem.greedy());
+        pool.invoke(search.root());
+        return search.toPlan(gaps);
+    }
+    
+    // Whole free hours between DAY_START and DAY_END on each day, around the
+    // time-blocking activities already planned.
+    private List<Gap> freeGaps(Trip trip) {
+        List<Gap> gaps = new ArrayList<>();
+        for (ItineraryDay day : trip.getItineraryDays()) {
+            LocalDateTime from = latest(day.getDate().atTime(DAY_START), trip.getStartDate());
+            LocalDateTime to = earliest(day.getDate().atTime(DAY_END), trip.getEndDate());
+            LocalDateTime free = from;
+            for (Activity busy : trip.getConflicts(from, to)) {
+                addGap(gaps, free, busy.getStartTime());
+                free = latest(free, busy.getEndTime());
+            }
+            addGap(gaps, free, to);
+        }
+        return gaps;
+    }
+    
+    private static void addGap(List<Gap> gaps, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        if (start.isBefore(from)) {
+            start = start.plusHours(1);
+        }
+        long hours = ChronoUnit.HOURS.between(start, to);
+        if (hours > 0) {
+            gaps.add(new Gap(start, (int) hours));
+        }
+    }
+    
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private record Gap(LocalDateTime start, int hours) {
+    }
+    
+    // Attractions that can fit at all, sorted by value per hour so the search
+    // tries the densest ones first and the bound is a fractional knapsack.
+    private static final class Problem {
+        private final Attraction[] attractions;
+        private final int[] hours;
+        private final long[] fees;
+        private final long[] values;
+        private final int[] gapHours;
+        private final long budget;
+        
+        private Problem(Attraction[] attractions, int[] hours, long[] fees, long[] values, int[] gapHours, long budget) {
+            this.attractions = attractions;
+            this.hours = hours;
+            this.fees = fees;
+            this.values = values;
+            this.gapHours = gapHours;
+            this.budget = budget;
+        }
+        
+        static Problem of(Collection<Attraction> candidates, List<Gap> gaps, long budget,
+                          ToLongFunction<Attraction> valueFunction) {
+            int longestGap = 0;
+            int[] gapHours = new int[gaps.size()];
+            for (int g = 0; g < gapHours.length; g++) {
+                gapHours[g] = gaps.get(g).hours();
+                longestGap = Math.max(longestGap, gapHours[g]);
+            }
+            List<Attraction> usable = new ArrayList<>(candidates.size());
+            for (Attraction attraction : candidates) {
+                if (attraction.getEstimatedHours() <= longestGap
+                        && Money.toMinorUnits(attraction.getEntryFee()) <= budget
+                        && valueFunction.applyAsLong(attraction) > 0) {
+                    usable.add(attraction);
+                }
+            }
+            usable.sort(Comparator.comparingDouble(
+                (Attraction a) -> -(double) valueFunction.applyAsLong(a) / a.getEstimatedHours())
+                .thenComparingDouble(Attraction::getEntryFee));
+            
+            int n = usable.size();
+            Attraction[] attractions = usable.toArray(new Attraction[0]);
+            int[] hours = new int[n];
+            long[] fees = new long[n];
+            long[] values = new long[n];
+            for (int i = 0; i < n; i++) {
+                hours[i] = attractions[i].getEstimatedHours();
+                fees[i] = Money.toMinorUnits(attractions[i].getEntryFee());
+                values[i] = valueFunction.applyAsLong(attractions[i]);
+            }
+            return new Problem(attractions, hours, fees, values, gapHours, budget);
+        }
+        
+        int size() {
+            return attractions.length;
+        }
+        
+        int[] capacities() {
+            return gapHours.clone();
+        }
+        
+        // Best-fit in density order. Gap indexes are stored plus one so that
+        // zero means "not visited".
+        int[] greedy() {
+            int[] capacity = capacities();
+            int[] assignment = new int[size()];
+            long money = budget;
+            for (int i = 0; i < size(); i++) {
+                if (fees[i] > money) {
+                    continue;
+                }
+                int best = -1;
+                for (int g = 0; g < capacity.length; g++) {
+                    if (capacity[g] >= hours[i] && (best < 0 || capacity[g] < capacity[best])) {
+                        best = g;
+                    }
+                }
+                if (best >= 0) {
+                    capacity[best] -= hours[i];
+                    money -= fees[i];
+                    assignment[i] = best + 1;
+                }
+            }
+            return assignment;
+        }
+        
+        // Fractional knapsack over the hours left: valid because items are
+        // sorted by value per hour. Items the money can no longer pay for are
+        // skipped.
+        long bound(int from, long value, int hoursLeft, long moneyLeft) {
+            double bound = value;
+            int room = hoursLeft;
+            for (int i = from; i < size() && room > 0; i++) {
+                if (fees[i] > moneyLeft) {
+                    continue;
+                }
+                if (hours[i] <= room) {
+                    bound += values[i];
+                    room -= hours[i];
+                } else {
+                    bound += (double) values[i] * room / hours[i];
+                    room = 0;
+                }
+            }
+            return (long) Math.floor(bound);
+        }
+    }
+    
+    private static final class Search {
+        private final Problem problem;
+        private final long deadline;
+        private final int splitDepth;
+        private final AtomicLong nodes;
+        private volatile boolean expired;
+        // Read without the lock for pruning; replaced under it.
+        private volatile long bestValue;
+        private long bestCost;
+        private int[] bestAssignment;
+        
+        private Search(Problem problem, long deadline, int splitDepth) {
+            this.problem = problem;
+            this.deadline = deadline;
+            this.splitDepth = splitDepth;
+            this.nodes = new AtomicLong();
+            this.bestValue = -1;
+        }
+        
+        Branch root() {
+            int[] capacity = problem.capacities();
+            int hours = 0;
+            for (int room : capacity) {
+                hours += room;
+            }
+            return new Branch(0, capacity, new int[problem.size()], 0, 0, problem.budget, hours);
+        }
+        
+        void offer(int[] assignment) {
+            long value = 0;
+            long cost = 0;
+            for (int i = 0; i < assignment.length; i++) {
+                if (assignment[i] != 0) {
+                    value += problem.values[i];
+                    cost += problem.fees[i];
+                }
+            }
+            offer(assignment, value, cost);
+        }
+        
+        synchronized void offer(int[] assignment, long value, long cost) {
+            if (value > bestValue || value == bestValue && cost < bestCost) {
+                bestAssignment = assignment.clone();
+                bestCost = cost;
+                bestValue = value;
+            }
+        }
+        
+        synchronized Plan toPlan(List<Gap> gaps) {
+            int[] used = new int[gaps.size()];
+            List<Visit> visits = new ArrayList<>();
+            for (int i = 0; i < bestAssignment.length; i++) {
+                int gap = bestAssignment[i] - 1;
+                if (gap >= 0) {
+                    LocalDateTime start = gaps.get(gap).start().plusHours(used[gap]);
+                    used[gap] += problem.hours[i];
+                    visits.add(new Visit(problem.attractions[i], start));
+                }
+            }
+            visits.sort(Comparator.comparing(Visit::getStartTime));
+            return new Plan(visits, bestValue, bestCost, !expired, nodes.get());
+        }
+        
+        // ForkJoinTask is Serializable, but branches only live inside one search.
+        @SuppressWarnings("serial")
+        final class Branch extends RecursiveAction {
+            private final int depth;
+            private final int[] capacity;
+            private final int[] assignment;
+            private final long value;
+            private final long cost;
+            private final long moneyLeft;
+            private final int hoursLeft;
+            private long visited;
+            
+            Branch(int depth, int[] capacity, int[] assignment, long value, long cost, long moneyLeft, int hoursLeft) {
+                this.depth = depth;
+                this.capacity = capacity;
+                this.assignment = assignment;
+                this.value = value;
+                this.cost = cost;
+                this.moneyLeft = moneyLeft;
+                this.hoursLeft = hoursLeft;
+            }
+            
+            @Override
+            protected void compute() {
+                if (depth < splitDepth && depth < problem.size()) {
+                    split();
+                } else {
+                    explore(depth, value, cost, moneyLeft, hoursLeft);
+                    nodes.addAndGet(visited);
+                }
+            }
+            
+            // One subtask per distinct way to place item depth, plus one that
+            // skips it.
+            private void split() {
+                List<Branch> branches = new ArrayList<>();
+                int i = depth;
+                if (!prune(i, value, moneyLeft, hoursLeft)) {
+                    if (problem.fees[i] <= moneyLeft) {
+                        for (int g = 0; g < capacity.length; g++) {
+                            if (fits(i, g)) {
+                                int[] nextCapacity = capacity.clone();
+                                int[] nextAssignment = assignment.clone();
+                                nextCapacity[g] -= problem.hours[i];
+                                nextAssignment[i] = g + 1;
+                                branches.add(new Branch(depth + 1, nextCapacity, nextAssignment,
+                                    value + problem.values[i], cost + problem.fees[i],
+                                    moneyLeft - problem.fees[i], hoursLeft - problem.hours[i]));
+                            }
+                        }
+                    }
+                    branches.add(new Branch(depth + 1, capacity.clone(), assignment.clone(),
+                        value, cost, moneyLeft, hoursLeft));
+                }
+                nodes.incrementAndGet();
+                offer(assignment, value, cost);
+                invokeAll(branches);
+            }
+            
+            // Only including an item recurses; skipping it is the next turn of
+            // the loop, so the stack stays as deep as one plan is long rather
+            // than as long as the attraction list.
+            private void explore(int from, long value, long cost, long money, int hours) {
+                if (value > bestValue || value == bestValue && cost < bestCost) {
+                    offer(assignment, value, cost);
+                }
+                for (int i = from; i < problem.size(); i++) {
+                    if ((++visited & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+                        expired = true;
+                    }
+                    if (prune(i, value, money, hours)) {
+                        return;
+                    }
+                    if (problem.fees[i] > money) {
+                        continue;
+                    }
+                    for (int g = 0; g < capacity.length; g++) {
+                        if (fits(i, g)) {
+                            capacity[g] -= problem.hours[i];
+                            assignment[i] = g + 1;
+                            explore(i + 1, value + problem.values[i], cost + problem.fees[i],
+                                money - problem.fees[i], hours - problem.hours[i]);
+                            assignment[i] = 0;
+                            capacity[g] += problem.hours[i];
+                        }
+                    }
+                }
+            }
+            
+            // Gaps with the same hours left are interchangeable; only the
+            // first of them is tried.
+            private boolean fits(int i, int g) {
+                int room = capacity[g];
+                if (room < problem.hours[i]) {
+                    return false;
+                }
+                for (int earlier = 0; earlier < g; earlier++) {
+                    if (capacity[earlier] == room) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            
+            private boolean prune(int i, long value, long money, int hours) {
+                return expired || problem.bound(i, value, hours, money) <= bestValue;
+            }
+        }
+    }
+    
+    public static class Visit {
+        private final Attraction attraction;
+        private final LocalDateTime startTime;
+        
+        public Visit(Attraction attraction, LocalDateTime startTime) {
+            this.attraction = attraction;
+            this.startTime = startTime;
+        }
+        
+        public Attraction getAttraction() { return attraction; }
+        public LocalDateTime getStartTime() { return startTime; }
+        public int getHours() { return attraction.getEstimatedHours(); }
+    }
+    
+    public static class Plan {
+        private final List<Visit> visits;
+        private final long totalValue;
+        private final long totalCostMinor;
+        private final boolean optimal;
+        private final long exploredNodes;
+        
+        public Plan(List<Visit> visits, long totalValue, long totalCostMinor, boolean optimal, long exploredNodes) {
+            this.visits = List.copyOf(visits);
+            this.totalValue = totalValue;
+            this.totalCostMinor = totalCostMinor;
+            this.optimal = optimal;
+            this.exploredNodes = exploredNodes;
+        }
+        
+        public List<Visit> getVisits() { return visits; }
+        public long getTotalValue() { return totalValue; }
+        public long getTotalCostMinor() { return totalCostMinor; }
+        public double getTotalCost() { return Money.toMajor(totalCostMinor); }
+        // False when the time budget ran out before the search finished.
+        public boolean isOptimal() { return optimal; }
+        public long getExploredNodes() { return exploredNodes; }
+        public boolean isEmpty() { return visits.isEmpty(); }
+    }
+}
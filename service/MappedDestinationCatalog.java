@@ -0,0 +1,251 @@
+package service;
+
+import service.RecommendationService.Destination;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-only destination catalog served straight from a memory-mapped file.
+//
+// Layout (big-endian):
+//   header     magic, version, count, categoryCount, recordsOffset
+//   categories per category: postingsOffset, postingsCount, name (u16 length + UTF-8)
+//   records    count x 16 bytes: minBudget, stringsOffset, categoryId, visaRequired, padding
+//   postings   int catalog indexes per category, ascending
+//   strings    per destination: name, country, description (u16 length + UTF-8)
+//
+// Records are written in ascending minBudget order, so the file itself is the
+// budget index and nothing has to be materialized on open.
+public class MappedDestinationCatalog implements DestinationCatalog {
+    private static final int MAGIC = 0x44434154; // "DCAT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int RECORD_SIZE = 16;
+    private static final IntBuffer NO_POSTINGS = IntBuffer.allocate(0);
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int recordsOffset;
+    private final String[] categoryNames;
+    private final Map<String, IntBuffer> postings;
+
+    private MappedDestinationCatalog(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a destination catalog file!");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported catalog version: " + buffer.getInt(4));
+        }
+        this.count = buffer.getInt(8);
+        int categoryCount = buffer.getInt(12);
+        this.recordsOffset = buffer.getInt(16);
+
+        this.categoryNames = new String[categoryCount];
+        this.postings = new HashMap<>();
+        int offset = HEADER_SIZE;
+        for (int c = 0; c < categoryCount; c++) {
+            int postingsOffset = buffer.getInt(offset);
+            int postingsCount = buffer.getInt(offset + 4);
+            categoryNames[c] = readString(offset + 8);
+            offset += 8 + 2 + (buffer.getShort(offset + 8) & 0xFFFF);
+            postings.put(categoryNames[c],
+                buffer.slice(postingsOffset, postingsCount * Integer.BYTES).asIntBuffer().asReadOnlyBuffer());
+        }
+    }
+
+    public static MappedDestinationCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog file is too large to map: " + file);
+            }
+            return new MappedDestinationCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static void write(Path file, Collection<Destination> destinations) throws IOException {
+        Destination[] sorted = destinations.toArray(new Destination[0]);
+        Arrays.sort(sorted, Comparator.comparingDouble(Destination::getMinBudget));
+
+        Map<String, List<Integer>> byCategory = new LinkedHashMap<>();
+        for (int i = 0; i < sorted.length; i++) {
+            byCategory.computeIfAbsent(sorted[i].getCategory(), c -> new ArrayList<>()).add(i);
+        }
+        List<String> categories = new ArrayList<>(byCategory.keySet());
+        if (categories.size() > 0xFF) {
+            throw new IOException("Catalog supports at most 255 categories!");
+        }
+
+        long tableSize = 0;
+        for (String category : categories) {
+            tableSize += 8 + 2 + utf8(category).length;
+        }
+        long records = align(HEADER_SIZE + tableSize, 8);
+        long postingsStart = records + (long) sorted.length * RECORD_SIZE;
+        long stringsStart = postingsStart + (long) sorted.length * Integer.BYTES;
+
+        long stringsOffset = stringsStart;
+        for (Destination dest : sorted) {
+            stringsOffset += stringsSize(dest);
+        }
+        if (stringsOffset > Integer.MAX_VALUE) {
+            throw new IOException("Catalog does not fit into a single mapped file!");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.length);
+            out.writeInt(categories.size());
+            out.writeInt((int) records);
+
+            long postingsOffset = postingsStart;
+            for (String category : categories) {
+                int postingsCount = byCategory.get(category).size();
+                out.writeInt((int) postingsOffset);
+                out.writeInt(postingsCount);
+                writeString(out, category);
+                postingsOffset += (long) postingsCount * Integer.BYTES;
+            }
+            for (long pad = HEADER_SIZE + tableSize; pad < records; pad++) {
+                out.writeByte(0);
+            }
+
+            stringsOffset = stringsStart;
+            for (Destination dest : sorted) {
+                out.writeDouble(dest.getMinBudget());
+                out.writeInt((int) stringsOffset);
+                out.writeByte(categories.indexOf(dest.getCategory()));
+                out.writeByte(dest.isVisaRequired() ? 1 : 0);
+                out.writeShort(0);
+                stringsOffset += stringsSize(dest);
+            }
+
+            for (String category : categories) {
+                for (int index : byCategory.get(category)) {
+                    out.writeInt(index);
+                }
+            }
+
+            for (Destination dest : sorted) {
+                writeString(out, dest.getName());
+                writeString(out, dest.getCountry());
+                writeString(out, dest.getDescription());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public double getMinBudget(int index) {
+        return buffer.getDouble(recordOffset(index));
+    }
+
+    @Override
+    public Destination get(int index) {
+        int record = recordOffset(index);
+        return new MappedDestination(
+            buffer.getInt(record + 8),
+            buffer.getDouble(record),
+            categoryNames[buffer.get(record + 12) & 0xFF],
+            buffer.get(record + 13) != 0
+        );
+    }
+
+    @Override
+    public Collection<String> getCategories() {
+        return Collections.unmodifiableList(Arrays.asList(categoryNames));
+    }
+
+    @Override
+    public IntBuffer postings(String category) {
+        IntBuffer positions = postings.get(category);
+        return positions != null ? positions.duplicate() : NO_POSTINGS;
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Catalog index out of range: " + index);
+        }
+        return recordsOffset + index * RECORD_SIZE;
+    }
+
+    private String readString(int offset) {
+        byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int skipString(int offset) {
+        return offset + 2 + (buffer.getShort(offset) & 0xFFFF);
+    }
+
+    private static long stringsSize(Destination dest) throws IOException {
+        return 6L + utf8(dest.getName()).length + utf8(dest.getCountry()).length + utf8(dest.getDescription()).length;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = utf8(value);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] utf8(String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Catalog string is too long: " + value.substring(0, 32) + "...");
+        }
+        return bytes;
+    }
+
+    private static long align(long offset, int alignment) {
+        return (offset + alignment - 1) / alignment * alignment;
+    }
+
+    // Budget, category and visa flag come from the fixed-size record; the
+    // strings are decoded from the mapped file only when they are asked for.
+    private final class MappedDestination extends Destination {
+        private final int stringsOffset;
+
+        private MappedDestination(int stringsOffset, double minBudget, String category, boolean visaRequired) {
+            super(null, null, null, minBudget, category, visaRequired);
+            this.stringsOffset = stringsOffset;
+        }
+
+        @Override
+        public String getName() {
+            return readString(stringsOffset);
+        }
+
+        @Override
+        public String getCountry() {
+            return readString(skipString(stringsOffset));
+        }
+
+        @Override
+        public String getDescription() {
+            return readString(skipString(skipString(stringsOffset)));
+        }
+    }
+}
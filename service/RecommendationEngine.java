@@ -0,0 +1,121 @@
+package service;
+
+import service.RecommendationService.Destination;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class RecommendationEngine {
+
+    private final DestinationCatalog catalog;
+
+    public RecommendationEngine(DestinationCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public RecommendationEngine(Collection<Destination> destinations) {
+        this(new InMemoryDestinationCatalog(destinations));
+    }
+
+    public int size() {
+        return catalog.size();
+    }
+
+    public List<Destination> withinBudget(double dailyBudget, int limit) {
+        int cutoff = budgetCutoff(dailyBudget);
+        int count = Math.min(cutoff, limit);
+        List<Destination> result = new ArrayList<>(count);
+        for (int i = cutoff - 1; i >= cutoff - count; i--) {
+            result.add(catalog.get(i));
+        }
+        return result;
+    }
+
+    // Destinations of each category share one score (the summed preference
+    // priority), and each posting list is sorted by budget. The best K are
+    // therefore a K-way merge of the posting-list tails below the budget cutoff.
+    public List<Destination> topK(Map<String, Integer> categoryWeights, double dailyBudget, int k) {
+        if (k <= 0 || categoryWeights.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(categoryWeights.size());
+        categoryWeights.forEach((category, weight) -> {
+            IntBuffer positions = catalog.postings(category);
+            if (weight > 0) {
+                int next = upperBound(positions, dailyBudget) - 1;
+                if (next >= 0) {
+                    heap.add(new Cursor(positions, next, weight));
+                }
+            }
+        });
+
+        List<Destination> result = new ArrayList<>(Math.min(k, 64));
+        while (result.size() < k && !heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            result.add(catalog.get(cursor.position()));
+            if (--cursor.next >= 0) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private int budgetCutoff(double dailyBudget) {
+        int low = 0;
+        int high = catalog.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalog.getMinBudget(mid) <= dailyBudget) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(IntBuffer positions, double dailyBudget) {
+        int low = 0;
+        int high = positions.limit();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalog.getMinBudget(positions.get(mid)) <= dailyBudget) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private final class Cursor implements Comparable<Cursor> {
+        private final IntBuffer positions;
+        private final int weight;
+        private int next;
+
+        private Cursor(IntBuffer positions, int next, int weight) {
+            this.positions = positions;
+            this.next = next;
+            this.weight = weight;
+        }
+
+        private int position() {
+            return positions.get(next);
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            if (weight != other.weight) {
+                return Integer.compare(other.weight, weight);
+            }
+            int byBudget = Double.compare(catalog.getMinBudget(other.position()), catalog.getMinBudget(position()));
+            return byBudget != 0 ? byBudget : Integer.compare(other.position(), position());
+        }
+    }
+}
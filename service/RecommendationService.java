@@ -2,9 +2,14 @@ package service;
 
 import model.user.Preference;
 import model.user.User;
+import service.event.ConsoleEventSink;
+import service.event.EventSink;
+import service.event.EventSink.Level;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RecommendationService {
     
@@ -35,20 +40,30 @@ public class RecommendationService {
         
         @Override
         public String toString() {
-            String visa = visaRequired ? " 📋 Visa Required" : " ✅ No Visa";
+            String visa = isVisaRequired() ? " 📋 Visa Required" : " ✅ No Visa";
             return String.format("• %s, %s\n  %s\n  💰 Min. daily: %.0f TL%s",
-                name, country, description, minBudget, visa);
+                getName(), getCountry(), getDescription(), getMinBudget(), visa);
         }
     }
     
-    private final List<Destination> destinations;
+    private final RecommendationEngine engine;
+    private final EventSink events;
     
     public RecommendationService() {
-        destinations = new ArrayList<>();
-        initializeDestinations();
+        this(new InMemoryDestinationCatalog(defaultDestinations()));
     }
     
-    private void initializeDestinations() {
+    public RecommendationService(DestinationCatalog catalog) {
+        this(catalog, new ConsoleEventSink());
+    }
+    
+    public RecommendationService(DestinationCatalog catalog, EventSink events) {
+        this.engine = new RecommendationEngine(catalog);
+        this.events = events;
+    }
+    
+    public static List<Destination> defaultDestinations() {
+        List<Destination> destinations = new ArrayList<>();
         destinations.add(new Destination("Dubai", "UAE", "Luxury shopping and desert safari", 15000, "LUXURY", true));
         destinations.add(new Destination("Maldives", "Maldives", "Tropical paradise and overwater bungalows", 20000, "LUXURY", true));
         destinations.add(new Destination("Miami", "USA", "Beaches and American lifestyle", 12000, "LUXURY", true));
@@ -69,65 +84,58 @@ public class RecommendationService {
         
         destinations.add(new Destination("Cappadocia", "Turkey", "Balloon tour and fairy chimneys", 3000, "ADVENTURE", false));
         destinations.add(new Destination("Nepal", "Nepal", "Himalaya trekking", 3500, "ADVENTURE", false));
+        return destinations;
     }
     
     public List<Destination> recommendByBudget(double dailyBudget) {
-        List<Destination> recommendations = new ArrayList<>();
+        return engine.withinBudget(dailyBudget, Integer.MAX_VALUE);
+    }
+    
+    public List<Destination> recommendByPreferences(User user, double dailyBudget) {
+        return recommendByPreferences(user, dailyBudget, Integer.MAX_VALUE);
+    }
+    
+    public List<Destination> recommendByPreferences(User user, double dailyBudget, int limit) {
+        List<Destination> recommendations = engine.topK(categoryWeights(user), dailyBudget, limit);
         
-        for (Destination dest : destinations) {
-            if (dest.getMinBudget() <= dailyBudget) {
-                recommendations.add(dest);
-            }
+        if (recommendations.isEmpty()) {
+            return engine.withinBudget(dailyBudget, Math.min(5, limit));
         }
         
-        recommendations.sort((a, b) -> Double.compare(b.getMinBudget(), a.getMinBudget()));
-        
         return recommendations;
     }
     
-    public List<Destination> recommendByPreferences(User user, double dailyBudget) {
-        List<Destination> budgetFiltered = recommendByBudget(dailyBudget);
-        List<Destination> recommendations = new ArrayList<>();
-        
+    private Map<String, Integer> categoryWeights(User user) {
+        Map<String, Integer> weights = new HashMap<>();
         for (Preference pref : user.getPreferences()) {
-            String tag = pref.getTag().toUpperCase();
-            for (Destination dest : budgetFiltered) {
-                if (matchesPreference(dest, tag) && !recommendations.contains(dest)) {
-                    recommendations.add(dest);
-                }
+            String category = categoryForTag(pref.getTag().toUpperCase());
+            if (category != null) {
+                weights.merge(category, pref.getPriority(), Integer::sum);
             }
         }
-        
-        if (recommendations.isEmpty()) {
-            return budgetFiltered.stream().limit(5).toList();
-        }
-        
-        return recommendations;
+        return weights;
     }
     
-    private boolean matchesPreference(Destination dest, String preference) {
+    private String categoryForTag(String preference) {
         return switch (preference) {
-            case "TARİH", "TARIH", "HISTORY", "KULTUR", "KÜLTÜR" -> 
-                dest.getCategory().equals("CULTURE");
-            case "PLAJ", "DENİZ", "DENIZ", "BEACH" -> 
-                dest.getCategory().equals("TROPICAL");
-            case "MACERA", "ADVENTURE", "DOĞA", "DOGA" -> 
-                dest.getCategory().equals("ADVENTURE");
-            case "LÜKS", "LUKS", "LUXURY" -> 
-                dest.getCategory().equals("LUXURY");
-            default -> false;
+            case "TARİH", "TARIH", "HISTORY", "KULTUR", "KÜLTÜR" -> "CULTURE";
+            case "PLAJ", "DENİZ", "DENIZ", "BEACH" -> "TROPICAL";
+            case "MACERA", "ADVENTURE", "DOĞA", "DOGA" -> "ADVENTURE";
+            case "LÜKS", "LUKS", "LUXURY" -> "LUXURY";
+            default -> null;
         };
     }
     
     public void printRecommendations(double totalBudget, int days) {
         double dailyBudget = totalBudget / days;
         
-        System.out.println("\n═══════════════════════════════════════════════");
-        System.out.println("          DESTINATION RECOMMENDATIONS");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.printf("Total Budget: %.0f TL | Duration: %d days\n", totalBudget, days);
-        System.out.printf("Daily Budget: %.0f TL\n", dailyBudget);
-        System.out.println("───────────────────────────────────────────────");
+        events.emit(Level.INFO, "\n═══════════════════════════════════════════════");
+        events.emit(Level.INFO, "          DESTINATION RECOMMENDATIONS");
+        events.emit(Level.INFO, "═══════════════════════════════════════════════");
+        events.emit(Level.INFO, "Total Budget: {} TL | Duration: {} days",
+            Long.valueOf(Math.round(totalBudget)), Integer.valueOf(days));
+        events.emit(Level.INFO, "Daily Budget: {} TL", Long.valueOf(Math.round(dailyBudget)));
+        events.emit(Level.INFO, "───────────────────────────────────────────────");
         
         String category;
         if (dailyBudget >= 12000) {
@@ -140,17 +148,13 @@ public class RecommendationService {
             category = "BUDGET ADVENTURE";
         }
         
-        System.out.println("\n🎯 RECOMMENDED ROUTE TYPE: " + category);
-        System.out.println("───────────────────────────────────────────────\n");
+        events.emit(Level.INFO, "\n🎯 RECOMMENDED ROUTE TYPE: {}", category);
+        events.emit(Level.INFO, "───────────────────────────────────────────────\n");
         
-        List<Destination> recs = recommendByBudget(dailyBudget);
-        int count = 0;
-        for (Destination dest : recs) {
-            if (count++ >= 5) break;
-            System.out.println(dest.toString());
-            System.out.println();
+        for (Destination dest : engine.withinBudget(dailyBudget, 5)) {
+            events.emit(Level.INFO, "{}\n", dest);
         }
         
-        System.out.println("═══════════════════════════════════════════════");
+        events.emit(Level.INFO, "═══════════════════════════════════════════════");
     }
 }
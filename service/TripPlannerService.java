@@ -10,21 +10,212 @@ import model.location.City;
 import model.transport.TransportOption;
 import model.trip.*;
 import model.user.User;
+import service.event.ConsoleEventSink;
+import service.event.EventSink;
+import service.event.EventSink.Level;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 public class TripPlannerService {
     
+    private static final int BATCH_CHUNK_SIZE = 256;
+    
+    private final EventSink events;
+    private final ItineraryOptimizer optimizer;
+    
+    public TripPlannerService() {
+        this(new ConsoleEventSink());
+    }
+    
+    public TripPlannerService(EventSink events) {
+        this(events, new ItineraryOptimizer());
+    }
+    
+    public TripPlannerService(EventSink events, ItineraryOptimizer optimizer) {
+        this.events = events;
+        this.optimizer = optimizer;
+    }
+    
+    public static class TripPlanRequest {
+        private final User user;
+        private final String tripName;
+        private final double budgetLimit;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final TransportOption transportOption;
+        private final Accommodation accommodation;
+        
+        public TripPlanRequest(User user, String tripName, double budgetLimit,
+                               LocalDate startDate, LocalDate endDate,
+                               TransportOption transportOption, Accommodation accommodation) {
+            this.user = user;
+            this.tripName = tripName;
+            this.budgetLimit = budgetLimit;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.transportOption = transportOption;
+            this.accommodation = accommodation;
+        }
+        
+        public User getUser() { return user; }
+        public String getTripName() { return tripName; }
+        public double getBudgetLimit() { return budgetLimit; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public TransportOption getTransportOption() { return transportOption; }
+        public Accommodation getAccommodation() { return accommodation; }
+    }
+    
+    public static class TripPlanResult {
+        
+        public enum Failure {
+            INVALID_DATES,
+            BUDGET_EXCEEDED,
+            INVALID_REQUEST,
+            ERROR
+        }
+        
+        private final TripPlanRequest request;
+        private final Trip trip;
+        private final Failure failure;
+        private final String message;
+        
+        private TripPlanResult(TripPlanRequest request, Trip trip, Failure failure, String message) {
+            this.request = request;
+            this.trip = trip;
+            this.failure = failure;
+            this.message = message;
+        }
+        
+        static TripPlanResult planned(TripPlanRequest request, Trip trip) {
+            return new TripPlanResult(request, trip, null, null);
+        }
+        
+        static TripPlanResult failed(TripPlanRequest request, Failure failure, String message) {
+            return new TripPlanResult(request, null, failure, message);
+        }
+        
+        public boolean isSuccess() { return trip != null; }
+        public TripPlanRequest getRequest() { return request; }
+        public Trip getTrip() { return trip; }
+        public Failure getFailure() { return failure; }
+        public String getMessage() { return message; }
+    }
+    
     public Trip planCustomTrip(User user, String tripName, double budgetLimit,
                                 LocalDate startDate, LocalDate endDate,
                                 TransportOption transportOption, Accommodation accommodation) 
             throws InvalidDateException, BudgetExceededException {
         
-        InvalidDateException.validateDateRange(startDate, endDate);
+        events.emit(Level.INFO, "\n>> Creating trip plan...");
         
-        System.out.println("\n>> Creating trip plan...");
+        Trip trip = buildTrip(tripName, budgetLimit, startDate, endDate, transportOption, accommodation);
+        user.addTrip(trip);
+        
+        Budget budget = trip.getBudget();
+        events.emit(Level.SUCCESS, "Trip plan created!");
+        events.emitAmount(Level.INFO, "   Total Cost: {#} TL", budget.getCurrentSpending());
+        events.emitAmount(Level.INFO, "   Remaining Budget: {#} TL", budget.getRemainingBudget());
+        
+        return trip;
+    }
+    
+    // Plans requests on virtual threads, a chunk of requests per thread so the
+    // per-task overhead stays small next to the planning work. Results come
+    // back in request order; successful trips are attached to their users
+    // afterwards, one bulk add per user, so concurrent plans never contend on
+    // a User.
+    public List<TripPlanResult> planTrips(Stream<TripPlanRequest> requests) {
+        List<Future<List<TripPlanResult>>> pending = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<TripPlanRequest> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+            for (TripPlanRequest request : (Iterable<TripPlanRequest>) requests::iterator) {
+                chunk.add(request);
+                if (chunk.size() == BATCH_CHUNK_SIZE) {
+                    pending.add(submitChunk(executor, chunk));
+                    chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(submitChunk(executor, chunk));
+            }
+        }
+        
+        List<TripPlanResult> results = new ArrayList<>(pending.size() * BATCH_CHUNK_SIZE);
+        Map<User, List<Trip>> plannedByUser = new IdentityHashMap<>();
+        for (Future<List<TripPlanResult>> future : pending) {
+            for (TripPlanResult result : resultOf(future)) {
+                results.add(result);
+                if (result.isSuccess()) {
+                    plannedByUser.computeIfAbsent(result.getRequest().getUser(), u -> new ArrayList<>())
+                        .add(result.getTrip());
+                }
+            }
+        }
+        plannedByUser.forEach(User::addTrips);
+        return results;
+    }
+    
+    private Future<List<TripPlanResult>> submitChunk(ExecutorService executor, List<TripPlanRequest> chunk) {
+        return executor.submit(() -> {
+            List<TripPlanResult> results = new ArrayList<>(chunk.size());
+            for (TripPlanRequest request : chunk) {
+                results.add(planTrip(request));
+            }
+            return results;
+        });
+    }
+    
+    private TripPlanResult planTrip(TripPlanRequest request) {
+        if (request.getUser() == null || request.getTransportOption() == null || request.getAccommodation() == null) {
+            return TripPlanResult.failed(request, TripPlanResult.Failure.INVALID_REQUEST,
+                "User, transport and accommodation must be specified!");
+        }
+        try {
+            Trip trip = buildTrip(request.getTripName(), request.getBudgetLimit(),
+                request.getStartDate(), request.getEndDate(),
+                request.getTransportOption(), request.getAccommodation());
+            return TripPlanResult.planned(request, trip);
+        } catch (InvalidDateException e) {
+            return TripPlanResult.failed(request, TripPlanResult.Failure.INVALID_DATES, e.getMessage());
+        } catch (BudgetExceededException e) {
+            return TripPlanResult.failed(request, TripPlanResult.Failure.BUDGET_EXCEEDED, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return TripPlanResult.failed(request, TripPlanResult.Failure.INVALID_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            return TripPlanResult.failed(request, TripPlanResult.Failure.ERROR, String.valueOf(e));
+        }
+    }
+    
+    private static List<TripPlanResult> resultOf(Future<List<TripPlanResult>> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trip planning failed unexpectedly", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while collecting trip plans", e);
+        }
+    }
+    
+    private Trip buildTrip(String tripName, double budgetLimit,
+                           LocalDate startDate, LocalDate endDate,
+                           TransportOption transportOption, Accommodation accommodation)
+            throws InvalidDateException, BudgetExceededException {
+        
+        InvalidDateException.validateDateRange(startDate, endDate);
         
         Budget budget = new Budget(budgetLimit);
         
@@ -44,12 +235,6 @@ public class TripPlannerService {
         
         trip.getDayByDate(startDate).ifPresent(day -> day.addActivity(accommodationActivity));
         
-        user.addTrip(trip);
-        
-        System.out.println("✅ Trip plan created!");
-        System.out.printf("   Total Cost: %.2f TL\n", budget.getCurrentSpending());
-        System.out.printf("   Remaining Budget: %.2f TL\n", budget.getRemainingBudget());
-        
         return trip;
     }
     
@@ -60,7 +245,7 @@ public class TripPlannerService {
             LocalDate end = start.plusDays(accommodation.getNights());
             return planCustomTrip(user, tripName, budgetLimit, start, end, transportOption, accommodation);
         } catch (InvalidDateException | BudgetExceededException e) {
-            System.err.println("❌ Error: " + e.getMessage());
+            events.emit(Level.ERROR, "Error: {}", e.getMessage());
             return null;
         }
     }
@@ -70,45 +255,76 @@ public class TripPlannerService {
         try {
             SightseeingActivity activity = new SightseeingActivity(startTime, durationHours, attraction);
             
+            Optional<Activity> conflict = trip.findConflict(activity);
+            if (conflict.isPresent()) {
+                events.emit(Level.ERROR, "Time conflict: {} overlaps with {}", attraction.getName(), conflict.get());
+                return false;
+            }
+            
             if (!trip.getBudget().canAfford(activity.calculateCost())) {
-                System.err.println("❌ Insufficient budget: " + attraction.getName());
+                events.emit(Level.ERROR, "Insufficient budget: {}", attraction.getName());
                 return false;
             }
             
-            trip.getBudget().addExpense(activity.calculateCost(), 
-                "Sightseeing: " + attraction.getName(), ExpenseType.ACTIVITY);
+            // Free attractions (parks, squares) cost nothing to record.
+            if (activity.calculateCost() > 0) {
+                trip.getBudget().addExpense(activity.calculateCost(), 
+                    "Sightseeing: " + attraction.getName(), ExpenseType.ACTIVITY);
+            }
             
             LocalDate date = startTime.toLocalDate();
             trip.addActivityToDay(date, activity);
             
-            System.out.println("✅ Activity added: " + attraction.getName());
-            System.out.printf("   Cost: %.2f TL | Remaining: %.2f TL\n",
+            events.emit(Level.SUCCESS, "Activity added: {}", attraction.getName());
+            events.emitAmounts(Level.INFO, "   Cost: {#} TL | Remaining: {#} TL",
                 activity.calculateCost(), trip.getBudget().getRemainingBudget());
             
             return true;
             
         } catch (BudgetExceededException e) {
-            System.err.println("❌ Budget exceeded: " + e.getMessage());
+            events.emit(Level.ERROR, "Budget exceeded: {}", e.getMessage());
             return false;
+        } catch (IllegalArgumentException e) {
+            events.emit(Level.ERROR, "Could not add {}: {}", attraction.getName(), e.getMessage());
+            return false;
+        }
+    }
+    
+    // Fills the trip's free hours with the best set of the city's attractions
+    // that the remaining budget can pay for.
+    public ItineraryOptimizer.Plan planSightseeing(Trip trip, City city) {
+        ItineraryOptimizer.Plan plan = optimizer.optimize(trip, city.getAttractions());
+        if (plan.isEmpty()) {
+            events.emit(Level.WARNING, "No attraction in {} fits the free time and remaining budget", city.getName());
+            return plan;
+        }
+        for (ItineraryOptimizer.Visit visit : plan.getVisits()) {
+            addSightseeingToTrip(trip, visit.getAttraction(), visit.getStartTime(), visit.getHours());
+        }
+        events.emitAmount(Level.SUCCESS, "Sightseeing plan: {} attractions, {#} TL",
+            plan.getVisits().size(), plan.getTotalCost());
+        if (!plan.isOptimal()) {
+            events.emit(Level.INFO, "   (best plan found within the time limit)");
         }
+        return plan;
     }
     
     public void setTripDestination(Trip trip, City destination) {
         trip.setDestination(destination);
-        System.out.println("✅ Destination set: " + destination.getFullName());
+        events.emit(Level.SUCCESS, "Destination set: {}", destination);
     }
     
     public void confirmTrip(Trip trip) {
         trip.setStatus(Trip.Status.CONFIRMED);
-        System.out.println("✅ Trip confirmed: " + trip.getName());
+        events.emit(Level.SUCCESS, "Trip confirmed: {}", trip.getName());
     }
     
     public void cancelTrip(Trip trip) {
         trip.setStatus(Trip.Status.CANCELLED);
-        System.out.println("⚠️ Trip cancelled: " + trip.getName());
+        events.emit(Level.WARNING, "Trip cancelled: {}", trip.getName());
     }
     
     public void printTripSummary(Trip trip) {
-        System.out.println(trip.exportToText());
+        events.emit(Level.INFO, "{}", trip.exportToText());
     }
 }
@@ -0,0 +1,306 @@
+package service;
+
+import exception.MissingDocumentException;
+import model.visa.VisaApplication;
+import model.visa.VisaApplication.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Two-stage processing line for visa applications:
+//
+//   submit -> [intake queue] -> validation workers -> [review queue] -> review workers
+//
+// Submit claims a DRAFT application by moving it to SUBMITTED, so it cannot
+// be queued twice. Validation returns incomplete ones to the applicant in
+// DRAFT. Review marks each application PROCESSING and then APPROVED or
+// REJECTED; anything that leaves without a decision is back in DRAFT. Both queues are
+// bounded, so a full review stage stalls validation and a full intake stalls
+// submit: backpressure reaches the producer instead of growing the heap.
+// Workers are virtual threads and take their queue in batches (one lock
+// round trip per batch rather than per application).
+public class VisaPipeline implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_WORKERS = 4;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    
+    private static final long POLL_INTERVAL_MS = 50;
+    
+    @FunctionalInterface
+    public interface Reviewer {
+        boolean approve(VisaApplication application);
+    }
+    
+    private final BlockingQueue<Ticket> intake;
+    private final BlockingQueue<Ticket> review;
+    private final Reviewer reviewer;
+    private final int batchSize;
+    private final List<Thread> workers;
+    private final AtomicLong pending;
+    private final LongAdder submitted;
+    private final LongAdder returned;
+    private final LongAdder approved;
+    private final LongAdder rejected;
+    private final LongAdder failed;
+    private final long startNanos;
+    private volatile boolean accepting;
+    private volatile boolean running;
+    
+    public VisaPipeline() {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_WORKERS, DEFAULT_WORKERS, DEFAULT_BATCH_SIZE, application -> true);
+    }
+    
+    public VisaPipeline(int queueCapacity, int validationWorkers, int reviewWorkers, int batchSize, Reviewer reviewer) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive!");
+        }
+        if (validationWorkers < 1 || reviewWorkers < 1) {
+            throw new IllegalArgumentException("Each stage needs at least one worker!");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive!");
+        }
+        if (reviewer == null) {
+            throw new IllegalArgumentException("Reviewer must be specified!");
+        }
+        this.intake = new ArrayBlockingQueue<>(queueCapacity);
+        this.review = new ArrayBlockingQueue<>(queueCapacity);
+        this.reviewer = reviewer;
+        this.batchSize = batchSize;
+        this.pending = new AtomicLong();
+        this.submitted = new LongAdder();
+        this.returned = new LongAdder();
+        this.approved = new LongAdder();
+        this.rejected = new LongAdder();
+        this.failed = new LongAdder();
+        this.startNanos = System.nanoTime();
+        this.accepting = true;
+        this.running = true;
+        
+        this.workers = new ArrayList<>(validationWorkers + reviewWorkers);
+        for (int i = 0; i < validationWorkers; i++) {
+            workers.add(Thread.ofVirtual().name("visa-validation-", i).start(() -> work(intake, this::validate)));
+        }
+        for (int i = 0; i < reviewWorkers; i++) {
+            workers.add(Thread.ofVirtual().name("visa-review-", i).start(() -> work(review, this::review)));
+        }
+    }
+    
+    // Queues a DRAFT application, waiting while the intake is full. The
+    // future completes once the application leaves the pipeline.
+    public CompletableFuture<Outcome> submit(VisaApplication application) throws InterruptedException {
+        if (application == null) {
+            throw new IllegalArgumentException("Application cannot be null!");
+        }
+        if (!application.compareAndSetStatus(Status.DRAFT, Status.SUBMITTED)) {
+            throw new IllegalArgumentException("Only draft applications can be submitted: " + application.getStatus() + "!");
+        }
+        pending.incrementAndGet();
+        if (!accepting) {
+            pending.decrementAndGet();
+            application.setStatus(Status.DRAFT);
+            throw new IllegalStateException("Visa pipeline is closed!");
+        }
+        Ticket ticket = new Ticket(application);
+        try {
+            intake.put(ticket);
+        } catch (InterruptedException e) {
+            pending.decrementAndGet();
+            application.setStatus(Status.DRAFT);
+            throw e;
+        }
+        submitted.increment();
+        return ticket.result;
+    }
+    
+    private interface Handler {
+        void handle(List<Ticket> batch) throws InterruptedException;
+    }
+    
+    private void work(BlockingQueue<Ticket> queue, Handler handler) {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                Ticket first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                handler.handle(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closing.
+        }
+        for (Ticket ticket : batch) {
+            if (!ticket.result.isDone()) {
+                giveBack(ticket, failed, new IllegalStateException("Visa pipeline is closed!"));
+            }
+        }
+    }
+    
+    private void validate(List<Ticket> batch) throws InterruptedException {
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket ticket = batch.get(i);
+            VisaApplication application = ticket.application;
+            try {
+                application.validateDocuments();
+            } catch (MissingDocumentException | IllegalStateException e) {
+                giveBack(ticket, returned, e);
+                continue;
+            } catch (RuntimeException e) {
+                giveBack(ticket, failed, e);
+                continue;
+            }
+            try {
+                review.put(ticket);
+            } catch (InterruptedException e) {
+                // Hand what is left of the batch back to work() to fail.
+                batch.subList(0, i).clear();
+                throw e;
+            }
+        }
+    }
+    
+    private void review(List<Ticket> batch) {
+        for (Ticket ticket : batch) {
+            VisaApplication application = ticket.application;
+            application.setStatus(Status.PROCESSING);
+            try {
+                boolean accepted = reviewer.approve(application);
+                application.setStatus(accepted ? Status.APPROVED : Status.REJECTED);
+                finish(ticket, accepted ? approved : rejected, null);
+            } catch (RuntimeException e) {
+                giveBack(ticket, failed, e);
+            }
+        }
+    }
+    
+    // Returns an application that got no decision to DRAFT so it can be
+    // fixed and submitted again.
+    private void giveBack(Ticket ticket, LongAdder outcome, Exception failure) {
+        ticket.application.setStatus(Status.DRAFT);
+        finish(ticket, outcome, failure);
+    }
+    
+    // Counts the ticket under the outcome the stage decided on, so every
+    // ticket that leaves the pipeline is counted exactly once.
+    private void finish(Ticket ticket, LongAdder outcome, Exception failure) {
+        outcome.increment();
+        ticket.result.complete(new Outcome(ticket.application, ticket.application.getStatus(), failure));
+        pending.decrementAndGet();
+    }
+    
+    public Metrics getMetrics() {
+        return new Metrics(submitted.sum(), returned.sum(), approved.sum(), rejected.sum(), failed.sum(),
+            pending.get(), intake.size(), review.size(), System.nanoTime() - startNanos);
+    }
+    
+    // Stops taking submissions, lets everything already queued finish, then
+    // stops the workers.
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        for (int attempt = 0; pending.get() > 0; attempt++) {
+            backoff(attempt);
+        }
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private static void backoff(int attempt) {
+        if (attempt < 64) {
+            Thread.onSpinWait();
+        } else if (attempt < 128) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(attempt < 1024 ? 10_000 : 1_000_000);
+        }
+    }
+    
+    private static final class Ticket {
+        private final VisaApplication application;
+        private final CompletableFuture<Outcome> result = new CompletableFuture<>();
+        
+        private Ticket(VisaApplication application) {
+            this.application = application;
+        }
+    }
+    
+    public static class Outcome {
+        private final VisaApplication application;
+        private final Status status;
+        private final Exception failure;
+        
+        private Outcome(VisaApplication application, Status status, Exception failure) {
+            this.application = application;
+            this.status = status;
+            this.failure = failure;
+        }
+        
+        public VisaApplication getApplication() { return application; }
+        public Status getStatus() { return status; }
+        // Why the application did not reach a decision, or null.
+        public Exception getFailure() { return failure; }
+        public boolean isApproved() { return status == Status.APPROVED; }
+    }
+    
+    public static class Metrics {
+        private final long submitted;
+        private final long returned;
+        private final long approved;
+        private final long rejected;
+        private final long failed;
+        private final long inFlight;
+        private final int intakeDepth;
+        private final int reviewDepth;
+        private final long elapsedNanos;
+        
+        private Metrics(long submitted, long returned, long approved, long rejected, long failed,
+                        long inFlight, int intakeDepth, int reviewDepth, long elapsedNanos) {
+            this.submitted = submitted;
+            this.returned = returned;
+            this.approved = approved;
+            this.rejected = rejected;
+            this.failed = failed;
+            this.inFlight = inFlight;
+            this.intakeDepth = intakeDepth;
+            this.reviewDepth = reviewDepth;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        public long getSubmitted() { return submitted; }
+        // Incomplete applications sent back to the applicant in DRAFT.
+        public long getReturned() { return returned; }
+        public long getApproved() { return approved; }
+        public long getRejected() { return rejected; }
+        public long getFailed() { return failed; }
+        public long getCompleted() { return returned + approved + rejected + failed; }
+        public long getInFlight() { return inFlight; }
+        public int getIntakeDepth() { return intakeDepth; }
+        public int getReviewDepth() { return reviewDepth; }
+        
+        // Completed applications per second since the pipeline started.
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : getCompleted() * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -1,90 +1,185 @@
 package service;
 
+import exception.MissingDocumentException;
+import model.location.Country;
+import model.location.GeoRegistry;
+import model.visa.Document;
+import model.visa.DocumentExpiryIndex;
 import model.visa.SchengenVisaApplication;
 import model.visa.UsVisaApplication;
 import model.visa.VisaApplication;
+import service.event.ConsoleEventSink;
+import service.event.EventSink;
+import service.event.EventSink.Level;
 
-import java.util.Arrays;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
-public class VisaService {
+public class VisaService implements AutoCloseable {
     
-    private static final List<String> SCHENGEN_COUNTRIES = Arrays.asList(
-        "DE", "FR", "IT", "ES", "NL", "BE", "AT", "CH", "GR", "PT", "SE", "NO", "DK", "FI", "PL", "CZ"
-    );
+    private static final int EXPIRY_WARNING_DAYS = 30;
+    
+    private final EventSink events;
+    private final VisaPipeline pipeline;
+    // Only a pipeline this service created is closed with it.
+    private final boolean ownsPipeline;
+    // Created with the first tracked document, so sessions without visas
+    // don't carry an empty wheel.
+    private DocumentExpiryIndex expiries;
+    private final GeoRegistry geo;
+    
+    public VisaService() {
+        this(new ConsoleEventSink());
+    }
+    
+    public VisaService(EventSink events) {
+        this(events, new VisaPipeline(), true);
+    }
+    
+    public VisaService(EventSink events, VisaPipeline pipeline) {
+        this(events, pipeline, false);
+    }
+    
+    private VisaService(EventSink events, VisaPipeline pipeline, boolean ownsPipeline) {
+        this.events = events;
+        this.pipeline = pipeline;
+        this.ownsPipeline = ownsPipeline;
+        this.geo = GeoRegistry.standard();
+    }
     
     public VisaApplication createApplication(String countryCode, String applicantName) {
         if (countryCode == null || countryCode.isBlank()) {
-            System.out.println("❌ Country code not specified!");
+            events.emit(Level.ERROR, "Country code not specified!");
             return null;
         }
         
         if (applicantName == null || applicantName.isBlank()) {
-            System.out.println("❌ Applicant name not specified!");
+            events.emit(Level.ERROR, "Applicant name not specified!");
             return null;
         }
         
-        String code = countryCode.toUpperCase().trim();
+        Country country = lookUp(countryCode);
         
-        if (SCHENGEN_COUNTRIES.contains(code)) {
-            String countryName = getCountryName(code);
-            System.out.println("✅ Creating Schengen visa application: " + countryName);
-            return new SchengenVisaApplication(applicantName, countryName);
+        if (country != null && geo.isSchengen(country.getId())) {
+            events.emit(Level.SUCCESS, "Creating Schengen visa application: {}", country.getName());
+            return new SchengenVisaApplication(applicantName, country.getName());
         }
         
-        if (code.equals("US") || code.equals("USA")) {
-            System.out.println("✅ Creating US visa application...");
+        if (country != null && geo.visaType(country.getId()) == Country.VisaType.US) {
+            events.emit(Level.SUCCESS, "Creating US visa application...");
             return new UsVisaApplication(applicantName);
         }
         
-        System.out.println("⚠️ Automatic visa system is not yet available for this country: " + code);
-        System.out.println("   Supported countries: US, " + String.join(", ", SCHENGEN_COUNTRIES));
+        String code = countryCode.toUpperCase().trim();
+        events.emit(Level.WARNING, "Automatic visa system is not yet available for this country: {}", code);
+        events.emit(Level.INFO, "   Supported countries: US, {}", String.join(", ", schengenCodes()));
         return null;
     }
     
-    private String getCountryName(String code) {
-        return switch (code) {
-            case "DE" -> "Germany";
-            case "FR" -> "France";
-            case "IT" -> "Italy";
-            case "ES" -> "Spain";
-            case "NL" -> "Netherlands";
-            case "BE" -> "Belgium";
-            case "AT" -> "Austria";
-            case "CH" -> "Switzerland";
-            case "GR" -> "Greece";
-            case "PT" -> "Portugal";
-            case "SE" -> "Sweden";
-            case "NO" -> "Norway";
-            case "DK" -> "Denmark";
-            case "FI" -> "Finland";
-            case "PL" -> "Poland";
-            case "CZ" -> "Czech Republic";
-            default -> code;
-        };
+    public void validate(VisaApplication app) throws MissingDocumentException {
+        app.validateDocuments();
+        events.emit(Level.SUCCESS, "{} documents complete!", app.getVisaTypeName());
+    }
+    
+    // Sends a draft application through validation and review and waits for
+    // the decision.
+    public VisaPipeline.Outcome process(VisaApplication app) throws InterruptedException {
+        VisaPipeline.Outcome outcome = pipeline.submit(app).join();
+        if (outcome.getFailure() == null) {
+            events.emit(Level.SUCCESS, "{} documents complete!", app.getVisaTypeName());
+        }
+        if (outcome.isApproved()) {
+            track(app);
+        }
+        return outcome;
+    }
+    
+    // Watches the application's dated documents for checkExpiries().
+    public synchronized void track(VisaApplication app) {
+        for (Document document : app.getDocuments()) {
+            if (document.getExpiryDate() != null) {
+                if (expiries == null) {
+                    expiries = new DocumentExpiryIndex(LocalDate.now(), EXPIRY_WARNING_DAYS);
+                }
+                expiries.add(document);
+            }
+        }
+    }
+    
+    // Reports tracked documents that have expired or will within
+    // EXPIRY_WARNING_DAYS. Each document is reported once per state.
+    public synchronized void checkExpiries(LocalDate today) {
+        if (expiries != null) {
+            expiries.advanceTo(today, new DocumentExpiryIndex.Listener() {
+                @Override
+                public void expiring(Document document, int daysLeft) {
+                    events.emit(Level.WARNING, "{} expires in {} days!", document.getType().getDisplayName(), Integer.valueOf(daysLeft));
+                }
+                
+                @Override
+                public void expired(Document document) {
+                    events.emit(Level.ERROR, "{} has expired!", document.getType().getDisplayName());
+                }
+            });
+        }
+    }
+    
+    public VisaPipeline getPipeline() {
+        return pipeline;
+    }
+    
+    // Stops the pipeline's workers if this service started them.
+    @Override
+    public void close() {
+        if (ownsPipeline) {
+            pipeline.close();
+        }
+    }
+    
+    // "USA" is accepted as well as the ISO code.
+    private Country lookUp(String countryCode) {
+        String code = countryCode.trim();
+        return geo.country(code.equalsIgnoreCase("USA") ? "US" : code);
+    }
+    
+    private List<String> schengenCodes() {
+        List<String> codes = new ArrayList<>();
+        for (int id = 0; id < geo.countryCount(); id++) {
+            if (geo.isSchengen(id)) {
+                codes.add(geo.country(id).getCode());
+            }
+        }
+        return codes;
     }
     
     public void printSupportedCountries() {
-        System.out.println("\n═══════════════════════════════════════");
-        System.out.println("       SUPPORTED COUNTRIES");
-        System.out.println("═══════════════════════════════════════");
-        System.out.println("\n🇺🇸 US Visa:");
-        System.out.println("   • US - United States of America");
-        System.out.println("\n🇪🇺 Schengen Visa:");
-        for (String code : SCHENGEN_COUNTRIES) {
-            System.out.println("   • " + code + " - " + getCountryName(code));
+        events.emit(Level.INFO, "\n═══════════════════════════════════════");
+        events.emit(Level.INFO, "       SUPPORTED COUNTRIES");
+        events.emit(Level.INFO, "═══════════════════════════════════════");
+        events.emit(Level.INFO, "\n🇺🇸 US Visa:");
+        events.emit(Level.INFO, "   • US - United States of America");
+        events.emit(Level.INFO, "\n🇪🇺 Schengen Visa:");
+        for (int id = 0; id < geo.countryCount(); id++) {
+            if (geo.isSchengen(id)) {
+                Country country = geo.country(id);
+                events.emit(Level.INFO, "   • {} - {}", country.getCode(), country.getName());
+            }
         }
-        System.out.println("═══════════════════════════════════════\n");
+        events.emit(Level.INFO, "═══════════════════════════════════════\n");
     }
     
     public double calculateVisaFee(String countryCode) {
-        String code = countryCode.toUpperCase().trim();
+        Country country = lookUp(countryCode);
+        if (country == null) {
+            return 0;
+        }
         
-        if (code.equals("US") || code.equals("USA")) {
+        if (geo.visaType(country.getId()) == Country.VisaType.US) {
             return 185.0 * 34.5;
         }
         
-        if (SCHENGEN_COUNTRIES.contains(code)) {
+        if (geo.isSchengen(country.getId())) {
             return 80.0 * 37.0;
         }
         
@@ -1,10 +1,17 @@
 package service;
 
+import model.location.City;
+
+import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class WeatherService {
     
+    private static final int MAX_FORECAST_DAYS = 366;
+    
     public enum WeatherCondition {
         SUNNY("Sunny ☀️"),
         PARTLY_CLOUDY("Partly Cloudy ⛅"),
@@ -31,18 +38,26 @@ public class WeatherService {
         private final WeatherCondition condition;
         private final String advice;
         private final int humidity;
+        private final LocalDate date;
         
         public WeatherForecast(int temperature, WeatherCondition condition, String advice, int humidity) {
+            this(temperature, condition, advice, humidity, null);
+        }
+        
+        public WeatherForecast(int temperature, WeatherCondition condition, String advice, int humidity, LocalDate date) {
             this.temperature = temperature;
             this.condition = condition;
             this.advice = advice;
             this.humidity = humidity;
+            this.date = date;
         }
         
         public int getTemperature() { return temperature; }
         public WeatherCondition getCondition() { return condition; }
         public String getAdvice() { return advice; }
         public int getHumidity() { return humidity; }
+        // The day forecast, or null for seasonal and category outlooks.
+        public LocalDate getDate() { return date; }
         
         @Override
         public String toString() {
@@ -60,6 +75,90 @@ public class WeatherService {
         }
     }
     
+    private final ClimateGrid climate;
+    
+    public WeatherService() {
+        this(ClimateGrid.standard());
+    }
+    
+    public WeatherService(ClimateGrid climate) {
+        this.climate = climate;
+    }
+    
+    // Same city and date, same forecast: the day's normals from the climate
+    // grid plus a variation seeded by the city and the date.
+    public WeatherForecast getForecast(City city, LocalDate date) {
+        return forecast(climate.row(city), ClimateGrid.seed(city), date);
+    }
+    
+    // Forecasts for consecutive days starting at from, e.g. a whole trip.
+    public List<WeatherForecast> getForecasts(City city, LocalDate from, int days) {
+        if (days < 1 || days > MAX_FORECAST_DAYS) {
+            throw new IllegalArgumentException("Forecast must cover 1 to " + MAX_FORECAST_DAYS + " days!");
+        }
+        int[] row = climate.row(city);
+        long seed = ClimateGrid.seed(city);
+        List<WeatherForecast> forecasts = new ArrayList<>(days);
+        LocalDate date = from;
+        for (int i = 0; i < days; i++) {
+            forecasts.add(forecast(row, seed, date));
+            date = date.plusDays(1);
+        }
+        return forecasts;
+    }
+    
+    private static WeatherForecast forecast(int[] row, long seed, LocalDate date) {
+        int day = row[ClimateGrid.dayIndex(date)];
+        long noise = mix(seed + date.toEpochDay() * 0x9E3779B97F4A7C15L);
+        // Sum of two uniform bytes: a triangular spread of about ±4°C.
+        double spread = ((noise & 0xFF) + ((noise >>> 8) & 0xFF) - 255) / 255.0 * 4;
+        int temperature = (int) Math.round(ClimateGrid.temperature(day) + spread);
+        int humidity = Math.max(5, Math.min(100, ClimateGrid.humidity(day) + (int) ((noise >>> 16) & 0x1F) - 15));
+        int rainRoll = (int) (((noise >>> 24) & 0xFFFF) % 100);
+        int cloudRoll = (int) (((noise >>> 40) & 0xFFFF) % 100);
+        
+        WeatherCondition condition;
+        int rainChance = ClimateGrid.rainChance(day);
+        if (rainRoll < rainChance) {
+            if (temperature <= 1) {
+                condition = WeatherCondition.SNOWY;
+            } else if (temperature >= 18 && rainRoll < rainChance / 6) {
+                condition = WeatherCondition.STORMY;
+            } else {
+                condition = WeatherCondition.RAINY;
+            }
+        } else if (temperature >= 30) {
+            condition = WeatherCondition.HOT;
+        } else if (temperature <= 0) {
+            condition = WeatherCondition.COLD;
+        } else if (cloudRoll < humidity / 2) {
+            condition = cloudRoll < humidity / 4 ? WeatherCondition.CLOUDY : WeatherCondition.PARTLY_CLOUDY;
+        } else {
+            condition = WeatherCondition.SUNNY;
+        }
+        return new WeatherForecast(temperature, condition, advice(condition), humidity, date);
+    }
+    
+    // SplitMix64 finalizer.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    private static String advice(WeatherCondition condition) {
+        return switch (condition) {
+            case SUNNY -> "Don't forget sunscreen and light clothes!";
+            case PARTLY_CLOUDY -> "Ideal for city tour, bring a light jacket.";
+            case CLOUDY -> "Keep an umbrella handy.";
+            case RAINY -> "Bring a raincoat, plan some indoor visits.";
+            case STORMY -> "Storms likely - keep plans flexible.";
+            case SNOWY -> "Snow expected - boots and warm layers!";
+            case HOT -> "Drink plenty of water, protect from sun!";
+            case COLD -> "Dress warm, beanie and scarf are a must!";
+        };
+    }
+    
     public WeatherForecast getWeatherByCategory(String category) {
         int temperature;
         WeatherCondition condition;
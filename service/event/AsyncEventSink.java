@@ -0,0 +1,155 @@
+package service.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Hands events to a single background thread through a preallocated ring of
+// slots, so emitting costs a sequence claim and a few field writes: no locks,
+// no allocation and no formatting on the caller's thread. The consumer thread
+// delivers each event to the downstream sinks (a ConsoleEventSink, a file
+// writer, ...) in emission order.
+//
+// When the ring is full, producers wait for the consumer to catch up instead
+// of dropping events.
+public class AsyncEventSink implements EventSink, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    
+    // Added to the claim counter by close(). Every sequence claimed before it
+    // is delivered; claims that see it are refused, so an emit racing close()
+    // either gets in or fails, never vanishes.
+    private static final long CLOSED = 1L << 62;
+    
+    private final Slot[] ring;
+    private final int mask;
+    private final EventSink[] consumers;
+    private final AtomicLong claimed;
+    private final LongAdder failedDeliveries;
+    private final Thread worker;
+    private volatile long consumed;
+    private volatile long closedAt;
+    
+    public AsyncEventSink(EventSink... consumers) {
+        this(DEFAULT_CAPACITY, consumers);
+    }
+    
+    public AsyncEventSink(int capacity, EventSink... consumers) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two!");
+        }
+        if (consumers.length == 0) {
+            throw new IllegalArgumentException("At least one consumer must be specified!");
+        }
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.consumers = consumers.clone();
+        this.claimed = new AtomicLong();
+        this.failedDeliveries = new LongAdder();
+        this.closedAt = Long.MAX_VALUE;
+        this.worker = new Thread(this::drain, "event-sink");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @Override
+    public void emit(Level level, String template, Object arg1, Object arg2, double amount1, double amount2) {
+        long sequence = claimed.getAndIncrement();
+        if (sequence >= CLOSED) {
+            throw new IllegalStateException("Event sink is closed!");
+        }
+        for (int attempt = 0; sequence - consumed >= ring.length; attempt++) {
+            backoff(attempt);
+        }
+        
+        Slot slot = ring[(int) sequence & mask];
+        slot.level = level;
+        slot.template = template;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.amount1 = amount1;
+        slot.amount2 = amount2;
+        slot.published = sequence;
+    }
+    
+    private void drain() {
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            Slot slot = ring[(int) next & mask];
+            if (slot.published == next) {
+                deliver(slot);
+                slot.template = null;
+                slot.arg1 = null;
+                slot.arg2 = null;
+                consumed = ++next;
+                idle = 0;
+            } else if (next == closedAt) {
+                return;
+            } else {
+                backoff(idle++);
+            }
+        }
+    }
+    
+    private void deliver(Slot slot) {
+        for (EventSink consumer : consumers) {
+            try {
+                consumer.emit(slot.level, slot.template, slot.arg1, slot.arg2, slot.amount1, slot.amount2);
+            } catch (RuntimeException e) {
+                // A failing consumer must not stall the producers.
+                failedDeliveries.increment();
+            }
+        }
+    }
+    
+    // Blocks until every event emitted before this call has been delivered.
+    public void flush() {
+        long target = claimed.get();
+        for (int attempt = 0; consumed < Math.min(target, closedAt); attempt++) {
+            backoff(attempt);
+        }
+    }
+    
+    public long getFailedDeliveries() {
+        return failedDeliveries.sum();
+    }
+    
+    @Override
+    public void close() {
+        long end = claimed.get();
+        do {
+            if (end >= CLOSED) {
+                return;
+            }
+        } while (!claimed.compareAndSet(end, end + CLOSED));
+        closedAt = end;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void backoff(int attempt) {
+        if (attempt < 64) {
+            Thread.onSpinWait();
+        } else if (attempt < 128) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(attempt < 1024 ? 10_000 : 1_000_000);
+        }
+    }
+    
+    private static final class Slot {
+        private Level level;
+        private String template;
+        private Object arg1;
+        private Object arg2;
+        private double amount1;
+        private double amount2;
+        private volatile long published = -1;
+    }
+}
@@ -0,0 +1,30 @@
+package service.event;
+
+import java.io.PrintStream;
+
+// Renders events straight to the console on the calling thread, so output
+// stays in order with interactive prompts. Errors go to the error stream.
+public class ConsoleEventSink implements EventSink {
+    private final PrintStream out;
+    private final PrintStream err;
+    private final StringBuilder line;
+    
+    public ConsoleEventSink() {
+        this(System.out, System.err);
+    }
+    
+    public ConsoleEventSink(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        this.line = new StringBuilder(256);
+    }
+    
+    @Override
+    public synchronized void emit(Level level, String template, Object arg1, Object arg2,
+                                  double amount1, double amount2) {
+        line.setLength(0);
+        EventFormat.render(line, level, template, arg1, arg2, amount1, amount2);
+        PrintStream target = level == Level.ERROR ? err : out;
+        target.append(line).println();
+    }
+}
@@ -0,0 +1,49 @@
+package service.event;
+
+import model.finance.Money;
+
+public final class EventFormat {
+    
+    private EventFormat() {
+    }
+    
+    public static void render(StringBuilder sb, EventSink.Level level, String template,
+                              Object arg1, Object arg2, double amount1, double amount2) {
+        sb.append(level.getPrefix());
+        int objects = 0;
+        int amounts = 0;
+        int length = template.length();
+        for (int i = 0; i < length; i++) {
+            char c = template.charAt(i);
+            if (c == '{' && i + 1 < length) {
+                char next = template.charAt(i + 1);
+                if (next == '}') {
+                    sb.append(objects++ == 0 ? arg1 : arg2);
+                    i++;
+                    continue;
+                }
+                if (next == '#' && i + 2 < length && template.charAt(i + 2) == '}') {
+                    appendAmount(sb, amounts++ == 0 ? amount1 : amount2);
+                    i += 2;
+                    continue;
+                }
+            }
+            sb.append(c);
+        }
+    }
+    
+    // Two decimals, half-up, without going through String.format.
+    public static void appendAmount(StringBuilder sb, double amount) {
+        long minor = Money.toMinorUnits(amount);
+        if (minor < 0) {
+            sb.append('-');
+            minor = -minor;
+        }
+        long cents = minor % 100;
+        sb.append(minor / 100).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        sb.append(cents);
+    }
+}
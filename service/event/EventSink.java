@@ -0,0 +1,62 @@
+package service.event;
+
+// Destination for the messages services report while they work.
+//
+// Templates are plain text where "{}" is replaced by the next object argument
+// and "{#}" by the next amount, printed with two decimals. Anything that
+// comes from the user (names, exception messages) must be passed as an
+// argument, never as the template itself. Amounts go through emitAmount()
+// and emitAmounts(), so a number passed to emit(), or next to an amount,
+// always fills a "{}".
+// Implementations receive the template and raw arguments, so producers never
+// have to build strings.
+@FunctionalInterface
+public interface EventSink {
+    
+    enum Level {
+        INFO(""),
+        SUCCESS("✅ "),
+        WARNING("⚠️ "),
+        ERROR("❌ ");
+        
+        private final String prefix;
+        
+        Level(String prefix) {
+            this.prefix = prefix;
+        }
+        
+        public String getPrefix() {
+            return prefix;
+        }
+    }
+    
+    void emit(Level level, String template, Object arg1, Object arg2, double amount1, double amount2);
+    
+    default void emit(Level level, String message) {
+        emit(level, message, null, null, 0, 0);
+    }
+    
+    default void emit(Level level, String template, Object arg) {
+        emit(level, template, arg, null, 0, 0);
+    }
+    
+    default void emit(Level level, String template, Object arg1, Object arg2) {
+        emit(level, template, arg1, arg2, 0, 0);
+    }
+    
+    default void emitAmount(Level level, String template, double amount) {
+        emit(level, template, null, null, amount, 0);
+    }
+    
+    default void emitAmounts(Level level, String template, double amount1, double amount2) {
+        emit(level, template, null, null, amount1, amount2);
+    }
+    
+    default void emitAmount(Level level, String template, Object arg, double amount) {
+        emit(level, template, arg, null, amount, 0);
+    }
+    
+    static EventSink discard() {
+        return (level, template, arg1, arg2, amount1, amount2) -> { };
+    }
+}
@@ -0,0 +1,176 @@
+package storage;
+
+import model.accommodation.Accommodation;
+import model.accommodation.Apartment;
+import model.accommodation.Hostel;
+import model.accommodation.Hotel;
+import model.location.Attraction;
+import model.transport.BusOption;
+import model.transport.FlightOption;
+import model.transport.RouteOption;
+import model.transport.TrainOption;
+import model.transport.TransportOption;
+import model.trip.AccommodationActivity;
+import model.trip.Activity;
+import model.trip.SightseeingActivity;
+import model.trip.TransportActivity;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Field-by-field encoding of the concrete activity types. Each activity is
+// stored with the constructor arguments needed to rebuild it, so derived
+// values (taxes, fees, descriptions) are recomputed on load.
+final class ActivityCodec {
+    private static final byte TRANSPORT = 1;
+    private static final byte ACCOMMODATION = 2;
+    private static final byte SIGHTSEEING = 3;
+
+    private static final byte FLIGHT = 1;
+    private static final byte TRAIN = 2;
+    private static final byte BUS = 3;
+    private static final byte ROUTE = 4;
+
+    private static final byte HOTEL = 1;
+    private static final byte HOSTEL = 2;
+    private static final byte APARTMENT = 3;
+
+    private ActivityCodec() {
+    }
+
+    static void write(RecordWriter out, Activity activity) {
+        if (activity instanceof TransportActivity transport) {
+            out.writeByte(TRANSPORT).writeDateTime(transport.getStartTime());
+            writeTransport(out, transport.getTransportOption());
+        } else if (activity instanceof AccommodationActivity stay) {
+            out.writeByte(ACCOMMODATION)
+                .writeDateTime(stay.getStartTime())
+                .writeDateTime(stay.getEndTime());
+            writeAccommodation(out, stay.getAccommodation());
+        } else if (activity instanceof SightseeingActivity visit) {
+            Attraction attraction = visit.getAttraction();
+            out.writeByte(SIGHTSEEING)
+                .writeDateTime(visit.getStartTime())
+                .writeInt((int) Duration.between(visit.getStartTime(), visit.getEndTime()).toHours())
+                .writeString(attraction.getName())
+                .writeString(attraction.getDescription())
+                .writeDouble(attraction.getEntryFee())
+                .writeInt(attraction.getEstimatedHours());
+        } else {
+            throw new IllegalArgumentException("Unsupported activity type: " + activity.getClass().getName());
+        }
+    }
+
+    static Activity read(RecordReader in) throws IOException {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case TRANSPORT -> new TransportActivity(in.readDateTime(), readTransport(in));
+            case ACCOMMODATION -> {
+                LocalDateTime checkIn = in.readDateTime();
+                LocalDateTime checkOut = in.readDateTime();
+                yield new AccommodationActivity(checkIn, checkOut, readAccommodation(in));
+            }
+            case SIGHTSEEING -> {
+                LocalDateTime start = in.readDateTime();
+                int durationHours = in.readInt();
+                Attraction attraction = new Attraction(in.readString(), in.readString(), in.readDouble(), in.readInt());
+                yield new SightseeingActivity(start, durationHours, attraction);
+            }
+            default -> throw new IOException("Unknown activity kind in log: " + kind);
+        };
+    }
+
+    private static void writeTransport(RecordWriter out, TransportOption option) {
+        if (option instanceof FlightOption flight) {
+            out.writeByte(FLIGHT);
+            writeRoute(out, option);
+            out.writeBoolean(flight.isDirectFlight());
+        } else if (option instanceof TrainOption train) {
+            out.writeByte(TRAIN);
+            writeRoute(out, option);
+            out.writeByte(train.getTrainClass().ordinal());
+        } else if (option instanceof BusOption) {
+            out.writeByte(BUS);
+            writeRoute(out, option);
+        } else if (option instanceof RouteOption route) {
+            out.writeByte(ROUTE);
+            writeRoute(out, option);
+            out.writeInt(route.getLegCount());
+            for (TransportOption leg : route.getLegs()) {
+                writeTransport(out, leg);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported transport type: " + option.getClass().getName());
+        }
+    }
+
+    private static void writeRoute(RecordWriter out, TransportOption option) {
+        out.writeString(option.getFrom())
+            .writeString(option.getTo())
+            .writeDouble(option.getBasePrice());
+    }
+
+    private static TransportOption readTransport(RecordReader in) throws IOException {
+        byte kind = in.readByte();
+        String from = in.readString();
+        String to = in.readString();
+        double basePrice = in.readDouble();
+        return switch (kind) {
+            case FLIGHT -> new FlightOption(from, to, basePrice, in.readBoolean());
+            case TRAIN -> new TrainOption(from, to, basePrice, in.readEnum(TrainOption.TrainClass.values()));
+            case BUS -> new BusOption(from, to, basePrice);
+            case ROUTE -> {
+                int legCount = in.readInt();
+                if (legCount < 1) {
+                    throw new IOException("Corrupt route in log: " + legCount + " legs");
+                }
+                List<TransportOption> legs = new ArrayList<>(legCount);
+                for (int i = 0; i < legCount; i++) {
+                    legs.add(readTransport(in));
+                }
+                yield new RouteOption(legs);
+            }
+            default -> throw new IOException("Unknown transport kind in log: " + kind);
+        };
+    }
+
+    private static void writeAccommodation(RecordWriter out, Accommodation accommodation) {
+        if (accommodation instanceof Hotel hotel) {
+            out.writeByte(HOTEL);
+            writeStay(out, accommodation);
+            out.writeInt(hotel.getStarRating()).writeBoolean(hotel.hasBreakfast());
+        } else if (accommodation instanceof Hostel hostel) {
+            out.writeByte(HOSTEL);
+            writeStay(out, accommodation);
+            out.writeBoolean(hostel.isPrivateRoom()).writeInt(hostel.getBedCount());
+        } else if (accommodation instanceof Apartment apartment) {
+            out.writeByte(APARTMENT);
+            writeStay(out, accommodation);
+            out.writeInt(apartment.getBedroomCount()).writeBoolean(apartment.hasKitchen());
+        } else {
+            throw new IllegalArgumentException("Unsupported accommodation type: " + accommodation.getClass().getName());
+        }
+    }
+
+    private static void writeStay(RecordWriter out, Accommodation accommodation) {
+        out.writeString(accommodation.getName())
+            .writeDouble(accommodation.getNightlyRate())
+            .writeInt(accommodation.getNights());
+    }
+
+    private static Accommodation readAccommodation(RecordReader in) throws IOException {
+        byte kind = in.readByte();
+        String name = in.readString();
+        double nightlyRate = in.readDouble();
+        int nights = in.readInt();
+        return switch (kind) {
+            case HOTEL -> new Hotel(name, nightlyRate, nights, in.readInt(), in.readBoolean());
+            case HOSTEL -> new Hostel(name, nightlyRate, nights, in.readBoolean(), in.readInt());
+            case APARTMENT -> new Apartment(name, nightlyRate, nights, in.readInt(), in.readBoolean());
+            default -> throw new IOException("Unknown accommodation kind in log: " + kind);
+        };
+    }
+}
@@ -0,0 +1,718 @@
+package storage;
+
+import exception.BudgetExceededException;
+import model.finance.Budget;
+import model.finance.Currency;
+import model.finance.Expense;
+import model.finance.ExpenseType;
+import model.finance.Money;
+import model.location.City;
+import model.location.Country;
+import model.location.GeoRegistry;
+import model.trip.Activity;
+import model.trip.ItineraryDay;
+import model.trip.Trip;
+import model.user.Preference;
+import model.user.Profile;
+import model.user.User;
+import model.visa.Document;
+import model.visa.DocumentType;
+import model.visa.SchengenVisaApplication;
+import model.visa.UsVisaApplication;
+import model.visa.VisaApplication;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// What the log already knows about each object, keyed by identity. collect()
+// turns the difference between the live objects and these cursors into
+// records; apply() rebuilds the objects (and the cursors) from records.
+final class Journal {
+    private static final byte USER = 1;
+    private static final byte PREFERENCES = 2;
+    private static final byte TRIP = 3;
+    private static final byte TRIP_UPDATE = 4;
+    private static final byte EXPENSE = 5;
+    private static final byte ACTIVITY = 6;
+    private static final byte VISA = 7;
+    private static final byte VISA_DOCUMENT = 8;
+    private static final byte VISA_STATUS = 9;
+    private static final byte TRIP_REMOVED = 10;
+    private static final byte ACTIVITY_REMOVED = 11;
+    private static final byte VISA_DOCUMENT_REMOVED = 12;
+    private static final byte ACTIVITY_NUMBER = 13;
+
+    private static final byte SCHENGEN = 1;
+    private static final byte US = 2;
+
+    private final List<User> users = new ArrayList<>();
+    private final Map<User, UserCursor> userCursors = new IdentityHashMap<>();
+    private final Map<Trip, TripCursor> tripCursors = new IdentityHashMap<>();
+    private final Map<VisaApplication, VisaCursor> visaCursors = new IdentityHashMap<>();
+    private final Map<Integer, Object> replayed = new HashMap<>();
+    // Activities by trip id (high half) and their number within the trip.
+    private final Map<Long, DayActivity> replayedActivities = new HashMap<>();
+    private int nextId = 1;
+
+    List<User> getUsers() {
+        return users;
+    }
+
+    boolean isJournaled(Trip trip) {
+        return tripCursors.containsKey(trip);
+    }
+
+    void collect(User user, List<byte[]> out) {
+        UserCursor cursor = userCursors.get(user);
+        if (cursor == null) {
+            cursor = new UserCursor(nextId++);
+            userCursors.put(user, cursor);
+            users.add(user);
+        }
+
+        Profile profile = user.getProfile();
+        if (!cursor.matches(profile)) {
+            out.add(userRecord(cursor.id, profile));
+            cursor.remember(profile);
+        }
+        if (!cursor.matches(user.getPreferences())) {
+            out.add(preferencesRecord(cursor.id, user.getPreferences()));
+            cursor.remember(user.getPreferences());
+        }
+        List<Trip> trips = user.getTrips();
+        for (Trip trip : trips) {
+            collectTrip(cursor, trip, out);
+        }
+        // Every live trip is journaled by now, so any other journaled trip
+        // was removed.
+        if (cursor.trips.size() > trips.size()) {
+            collectRemovedTrips(cursor, trips, out);
+        }
+        for (VisaApplication app : user.getVisaApplications()) {
+            collectVisa(cursor.id, app, out);
+        }
+    }
+
+    private void collectTrip(UserCursor userCursor, Trip trip, List<byte[]> out) {
+        TripCursor cursor = tripCursors.get(trip);
+        if (cursor == null) {
+            cursor = new TripCursor(nextId++);
+            tripCursors.put(trip, cursor);
+            userCursor.trips.add(trip);
+            out.add(tripRecord(userCursor.id, cursor.id, trip));
+            cursor.status = trip.getStatus();
+            cursor.destination = trip.getDestination();
+        } else if (cursor.status != trip.getStatus() || cursor.destination != trip.getDestination()) {
+            out.add(tripUpdateRecord(cursor.id, trip));
+            cursor.status = trip.getStatus();
+            cursor.destination = trip.getDestination();
+        }
+
+        collectExpenses(trip, out);
+        collectActivities(cursor, trip, out);
+    }
+
+    private void collectRemovedTrips(UserCursor cursor, List<Trip> trips, List<byte[]> out) {
+        Set<Trip> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        live.addAll(trips);
+        Iterator<Trip> journaled = cursor.trips.iterator();
+        while (journaled.hasNext()) {
+            Trip trip = journaled.next();
+            if (!live.contains(trip)) {
+                out.add(new RecordWriter(TRIP_REMOVED)
+                    .writeInt(cursor.id)
+                    .writeInt(tripCursors.remove(trip).id)
+                    .toByteArray());
+                journaled.remove();
+            }
+        }
+    }
+
+    // Activities are numbered within their trip in the order they were
+    // logged, which is also the order replay sees them in; a removal names
+    // the number. Removals are logged before additions so a new activity can
+    // take the slot of one removed in the same persist().
+    private void collectActivities(TripCursor cursor, Trip trip, List<byte[]> out) {
+        List<Activity> added = null;
+        List<byte[]> addedRecords = null;
+        for (ItineraryDay day : trip.getItineraryDays()) {
+            for (Activity activity : day.getActivities()) {
+                if (!cursor.activities.containsKey(activity)) {
+                    if (added == null) {
+                        added = new ArrayList<>();
+                        addedRecords = new ArrayList<>();
+                    }
+                    added.add(activity);
+                    RecordWriter record = new RecordWriter(ACTIVITY)
+                        .writeInt(cursor.id)
+                        .writeDate(day.getDate());
+                    ActivityCodec.write(record, activity);
+                    addedRecords.add(record.toByteArray());
+                }
+            }
+        }
+        int addedCount = added == null ? 0 : added.size();
+        if (cursor.activities.size() > trip.getActivityCount() - addedCount) {
+            collectRemovedActivities(cursor, trip, out);
+        }
+        for (int i = 0; i < addedCount; i++) {
+            cursor.activities.put(added.get(i), cursor.nextActivity++);
+            out.add(addedRecords.get(i));
+        }
+    }
+
+    private void collectRemovedActivities(TripCursor cursor, Trip trip, List<byte[]> out) {
+        Set<Activity> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ItineraryDay day : trip.getItineraryDays()) {
+            live.addAll(day.getActivities());
+        }
+        Iterator<Map.Entry<Activity, Integer>> journaled = cursor.activities.entrySet().iterator();
+        while (journaled.hasNext()) {
+            Map.Entry<Activity, Integer> entry = journaled.next();
+            if (!live.contains(entry.getKey())) {
+                out.add(new RecordWriter(ACTIVITY_REMOVED)
+                    .writeInt(cursor.id)
+                    .writeInt(entry.getValue())
+                    .toByteArray());
+                journaled.remove();
+            }
+        }
+    }
+
+    // Expenses are append-only, so the cursor is just how many of them have
+    // been logged so far.
+    void collectExpenses(Trip trip, List<byte[]> out) {
+        TripCursor cursor = tripCursors.get(trip);
+        Budget budget = trip.getBudget();
+        if (cursor.expenses == budget.getExpenseCount()) {
+            return;
+        }
+        List<Expense> expenses = budget.getExpenses();
+        for (int i = cursor.expenses; i < expenses.size(); i++) {
+            out.add(expenseRecord(cursor.id, expenses.get(i)));
+        }
+        cursor.expenses = expenses.size();
+    }
+
+    byte[] expenseLogged(Trip trip, Expense expense) {
+        TripCursor cursor = tripCursors.get(trip);
+        cursor.expenses++;
+        return expenseRecord(cursor.id, expense);
+    }
+
+    private void collectVisa(int userId, VisaApplication app, List<byte[]> out) {
+        VisaCursor cursor = visaCursors.get(app);
+        if (cursor == null) {
+            cursor = new VisaCursor(nextId++);
+            visaCursors.put(app, cursor);
+            out.add(visaRecord(userId, cursor.id, app));
+            cursor.status = app.getStatus();
+        } else if (cursor.status != app.getStatus()) {
+            out.add(new RecordWriter(VISA_STATUS)
+                .writeInt(cursor.id)
+                .writeByte(app.getStatus().ordinal())
+                .toByteArray());
+            cursor.status = app.getStatus();
+        }
+
+        // One document per type, so a replaced document is logged like a new
+        // one and replay replaces it the same way.
+        for (Document doc : app.getDocuments()) {
+            int slot = doc.getType().ordinal();
+            if (cursor.documents[slot] != doc) {
+                out.add(documentRecord(cursor.id, doc));
+                cursor.documents[slot] = doc;
+            }
+        }
+        int removed = cursor.documentMask & ~app.getPresentMask();
+        while (removed != 0) {
+            int slot = Integer.numberOfTrailingZeros(removed);
+            out.add(new RecordWriter(VISA_DOCUMENT_REMOVED)
+                .writeInt(cursor.id)
+                .writeByte(slot)
+                .toByteArray());
+            cursor.documents[slot] = null;
+            removed &= removed - 1;
+        }
+        cursor.documentMask = app.getPresentMask();
+    }
+
+    void apply(ByteBuffer payload) throws IOException {
+        RecordReader in = new RecordReader(payload);
+        byte type = in.readByte();
+        switch (type) {
+            case USER -> applyUser(in);
+            case PREFERENCES -> applyPreferences(in);
+            case TRIP -> applyTrip(in);
+            case TRIP_UPDATE -> applyTripUpdate(in);
+            case EXPENSE -> applyExpense(in);
+            case ACTIVITY -> applyActivity(in);
+            case VISA -> applyVisa(in);
+            case VISA_DOCUMENT -> applyVisaDocument(in);
+            case VISA_STATUS -> applyVisaStatus(in);
+            case TRIP_REMOVED -> applyTripRemoved(in);
+            case ACTIVITY_REMOVED -> applyActivityRemoved(in);
+            case VISA_DOCUMENT_REMOVED -> applyVisaDocumentRemoved(in);
+            case ACTIVITY_NUMBER -> applyActivityNumber(in);
+            default -> throw new IOException("Unknown record type in log: " + type);
+        }
+    }
+
+    private void applyUser(RecordReader in) {
+        int id = in.readInt();
+        String fullName = in.readString();
+        String email = in.readString();
+        String phone = in.readString();
+        LocalDate birthDate = in.readDate();
+        String nationality = in.readString();
+
+        User user = (User) replayed.get(id);
+        if (user == null) {
+            user = new User(new Profile(fullName, email));
+            UserCursor cursor = new UserCursor(id);
+            userCursors.put(user, cursor);
+            users.add(user);
+            replayed.put(id, user);
+            nextId = Math.max(nextId, id + 1);
+        }
+        Profile profile = user.getProfile();
+        profile.setFullName(fullName);
+        profile.setEmail(email);
+        profile.setPhone(phone);
+        profile.setBirthDate(birthDate);
+        profile.setNationality(nationality);
+        userCursors.get(user).remember(profile);
+    }
+
+    private void applyPreferences(RecordReader in) throws IOException {
+        User user = lookup(in.readInt(), User.class);
+        for (Preference old : new ArrayList<>(user.getPreferences())) {
+            user.removePreference(old);
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String tag = in.readString();
+            Preference.Category category = in.readEnum(Preference.Category.values());
+            user.addPreference(new Preference(tag, category, in.readInt()));
+        }
+        userCursors.get(user).remember(user.getPreferences());
+    }
+
+    private void applyTrip(RecordReader in) throws IOException {
+        User user = lookup(in.readInt(), User.class);
+        int id = in.readInt();
+        String name = in.readString();
+        Trip trip = new Trip(name, in.readDateTime(), in.readDateTime(),
+            new Budget(Money.ofMinor(in.readLong(), Currency.TRY)));
+        trip.setStatus(in.readEnum(Trip.Status.values()));
+        trip.setDestination(readCity(in));
+        user.addTrip(trip);
+
+        TripCursor cursor = new TripCursor(id);
+        cursor.status = trip.getStatus();
+        cursor.destination = trip.getDestination();
+        tripCursors.put(trip, cursor);
+        userCursors.get(user).trips.add(trip);
+        replayed.put(id, trip);
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    private void applyTripRemoved(RecordReader in) throws IOException {
+        User user = lookup(in.readInt(), User.class);
+        int id = in.readInt();
+        Trip trip = lookup(id, Trip.class);
+        user.removeTrip(trip);
+        userCursors.get(user).trips.remove(trip);
+        tripCursors.remove(trip);
+        replayed.remove(id);
+    }
+
+    private void applyTripUpdate(RecordReader in) throws IOException {
+        Trip trip = lookup(in.readInt(), Trip.class);
+        trip.setStatus(in.readEnum(Trip.Status.values()));
+        trip.setDestination(readCity(in));
+        TripCursor cursor = tripCursors.get(trip);
+        cursor.status = trip.getStatus();
+        cursor.destination = trip.getDestination();
+    }
+
+    private void applyExpense(RecordReader in) throws IOException {
+        Trip trip = lookup(in.readInt(), Trip.class);
+        Money amount = Money.ofMinor(in.readLong(), Currency.TRY);
+        String description = in.readString();
+        ExpenseType type = in.readEnum(ExpenseType.values());
+        try {
+            trip.getBudget().addExpense(new Expense(amount, description, type, in.readDateTime()));
+        } catch (BudgetExceededException e) {
+            throw new IOException("Logged expense no longer fits its budget: " + trip.getName(), e);
+        }
+        tripCursors.get(trip).expenses++;
+    }
+
+    private void applyActivity(RecordReader in) throws IOException {
+        int tripId = in.readInt();
+        Trip trip = lookup(tripId, Trip.class);
+        LocalDate date = in.readDate();
+        Activity activity = ActivityCodec.read(in);
+        try {
+            trip.addActivityToDay(date, activity);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Logged activity no longer fits its itinerary: " + trip.getName(), e);
+        }
+        TripCursor cursor = tripCursors.get(trip);
+        int number = cursor.nextActivity++;
+        cursor.activities.put(activity, number);
+        replayedActivities.put(activityKey(tripId, number), new DayActivity(trip.getDayByDate(date).orElseThrow(), activity));
+    }
+
+    private void applyActivityRemoved(RecordReader in) throws IOException {
+        int tripId = in.readInt();
+        Trip trip = lookup(tripId, Trip.class);
+        int number = in.readInt();
+        DayActivity replayedActivity = replayedActivities.remove(activityKey(tripId, number));
+        if (replayedActivity == null) {
+            throw new IOException("Log removes unknown activity #" + number + " of trip: " + trip.getName());
+        }
+        replayedActivity.day.removeActivity(replayedActivity.activity);
+        tripCursors.get(trip).activities.remove(replayedActivity.activity);
+    }
+
+    // Only written by writeState(), to keep activity numbers across a gap
+    // left by removed activities.
+    private void applyActivityNumber(RecordReader in) throws IOException {
+        Trip trip = lookup(in.readInt(), Trip.class);
+        tripCursors.get(trip).nextActivity = in.readInt();
+    }
+
+    private void applyVisa(RecordReader in) throws IOException {
+        User user = lookup(in.readInt(), User.class);
+        int id = in.readInt();
+        byte kind = in.readByte();
+        String applicant = in.readString();
+        String detail = in.readString();
+        VisaApplication app = switch (kind) {
+            case SCHENGEN -> new SchengenVisaApplication(applicant, detail);
+            case US -> new UsVisaApplication(applicant, detail);
+            default -> throw new IOException("Unknown visa kind in log: " + kind);
+        };
+        app.setStatus(in.readEnum(VisaApplication.Status.values()));
+        user.addVisaApplication(app);
+
+        VisaCursor cursor = new VisaCursor(id);
+        cursor.status = app.getStatus();
+        visaCursors.put(app, cursor);
+        replayed.put(id, app);
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    private void applyVisaDocument(RecordReader in) throws IOException {
+        VisaApplication app = lookup(in.readInt(), VisaApplication.class);
+        DocumentType type = in.readEnum(DocumentType.values());
+        Document doc = new Document(type, in.readString(), in.readDate());
+        app.addDocument(doc);
+        VisaCursor cursor = visaCursors.get(app);
+        cursor.documents[type.ordinal()] = doc;
+        cursor.documentMask = app.getPresentMask();
+    }
+
+    private void applyVisaDocumentRemoved(RecordReader in) throws IOException {
+        VisaApplication app = lookup(in.readInt(), VisaApplication.class);
+        DocumentType type = in.readEnum(DocumentType.values());
+        app.removeDocument(type);
+        VisaCursor cursor = visaCursors.get(app);
+        cursor.documents[type.ordinal()] = null;
+        cursor.documentMask = app.getPresentMask();
+    }
+
+    private void applyVisaStatus(RecordReader in) throws IOException {
+        VisaApplication app = lookup(in.readInt(), VisaApplication.class);
+        app.setStatus(in.readEnum(VisaApplication.Status.values()));
+        visaCursors.get(app).status = app.getStatus();
+    }
+
+    // The whole state as records. Unlike collect() into a fresh journal, ids
+    // and activity numbers stay the ones this journal gave out, so a log
+    // written against the same ids can follow these records on replay.
+    void writeState(List<byte[]> out) {
+        for (User user : users) {
+            int userId = userCursors.get(user).id;
+            out.add(userRecord(userId, user.getProfile()));
+            if (!user.getPreferences().isEmpty()) {
+                out.add(preferencesRecord(userId, user.getPreferences()));
+            }
+            for (Trip trip : user.getTrips()) {
+                writeTripState(userId, trip, out);
+            }
+            for (VisaApplication app : user.getVisaApplications()) {
+                int visaId = visaCursors.get(app).id;
+                out.add(visaRecord(userId, visaId, app));
+                for (Document doc : app.getDocuments()) {
+                    out.add(documentRecord(visaId, doc));
+                }
+            }
+        }
+    }
+
+    private void writeTripState(int userId, Trip trip, List<byte[]> out) {
+        TripCursor cursor = tripCursors.get(trip);
+        out.add(tripRecord(userId, cursor.id, trip));
+        for (Expense expense : trip.getBudget().getExpenses()) {
+            out.add(expenseRecord(cursor.id, expense));
+        }
+
+        // Activities in number order; a jump in the numbers is written out
+        // so replay hands out the same ones.
+        List<DayActivity> activities = new ArrayList<>(cursor.activities.size());
+        for (ItineraryDay day : trip.getItineraryDays()) {
+            for (Activity activity : day.getActivities()) {
+                activities.add(new DayActivity(day, activity));
+            }
+        }
+        activities.sort(Comparator.comparingInt(entry -> cursor.activities.get(entry.activity)));
+        int expected = 0;
+        for (DayActivity entry : activities) {
+            int number = cursor.activities.get(entry.activity);
+            if (number != expected) {
+                out.add(activityNumberRecord(cursor.id, number));
+            }
+            RecordWriter record = new RecordWriter(ACTIVITY)
+                .writeInt(cursor.id)
+                .writeDate(entry.day.getDate());
+            ActivityCodec.write(record, entry.activity);
+            out.add(record.toByteArray());
+            expected = number + 1;
+        }
+        if (cursor.nextActivity != expected) {
+            out.add(activityNumberRecord(cursor.id, cursor.nextActivity));
+        }
+    }
+
+    // Replay ids are only needed while the log is being read; afterwards the
+    // identity cursors carry them.
+    void finishReplay() {
+        replayed.clear();
+        replayedActivities.clear();
+    }
+
+    private static long activityKey(int tripId, int number) {
+        return (long) tripId << 32 | number;
+    }
+
+    private <T> T lookup(int id, Class<T> type) throws IOException {
+        Object value = replayed.get(id);
+        if (!type.isInstance(value)) {
+            throw new IOException("Log refers to unknown " + type.getSimpleName() + " #" + id);
+        }
+        return type.cast(value);
+    }
+
+    private static byte[] userRecord(int id, Profile profile) {
+        return new RecordWriter(USER)
+            .writeInt(id)
+            .writeString(profile.getFullName())
+            .writeString(profile.getEmail())
+            .writeString(profile.getPhone())
+            .writeDate(profile.getBirthDate())
+            .writeString(profile.getNationality())
+            .toByteArray();
+    }
+
+    private static byte[] preferencesRecord(int userId, List<Preference> preferences) {
+        RecordWriter record = new RecordWriter(PREFERENCES)
+            .writeInt(userId)
+            .writeInt(preferences.size());
+        for (Preference preference : preferences) {
+            record.writeString(preference.getTag())
+                .writeByte(preference.getCategory().ordinal())
+                .writeInt(preference.getPriority());
+        }
+        return record.toByteArray();
+    }
+
+    private static byte[] activityNumberRecord(int tripId, int number) {
+        return new RecordWriter(ACTIVITY_NUMBER)
+            .writeInt(tripId)
+            .writeInt(number)
+            .toByteArray();
+    }
+
+    private static byte[] documentRecord(int visaId, Document doc) {
+        return new RecordWriter(VISA_DOCUMENT)
+            .writeInt(visaId)
+            .writeByte(doc.getType().ordinal())
+            .writeString(doc.getContent())
+            .writeDate(doc.getExpiryDate())
+            .toByteArray();
+    }
+
+    private static byte[] tripRecord(int userId, int tripId, Trip trip) {
+        RecordWriter record = new RecordWriter(TRIP)
+            .writeInt(userId)
+            .writeInt(tripId)
+            .writeString(trip.getName())
+            .writeDateTime(trip.getStartDate())
+            .writeDateTime(trip.getEndDate())
+            .writeLong(trip.getBudget().getTotalLimitMinor())
+            .writeByte(trip.getStatus().ordinal());
+        writeCity(record, trip.getDestination());
+        return record.toByteArray();
+    }
+
+    private static byte[] tripUpdateRecord(int tripId, Trip trip) {
+        RecordWriter record = new RecordWriter(TRIP_UPDATE)
+            .writeInt(tripId)
+            .writeByte(trip.getStatus().ordinal());
+        writeCity(record, trip.getDestination());
+        return record.toByteArray();
+    }
+
+    private static byte[] expenseRecord(int tripId, Expense expense) {
+        return new RecordWriter(EXPENSE)
+            .writeInt(tripId)
+            .writeLong(expense.getAmountMinor())
+            .writeString(expense.getDescription())
+            .writeByte(expense.getType().ordinal())
+            .writeDateTime(expense.getTimestamp())
+            .toByteArray();
+    }
+
+    private static byte[] visaRecord(int userId, int visaId, VisaApplication app) {
+        RecordWriter record = new RecordWriter(VISA)
+            .writeInt(userId)
+            .writeInt(visaId);
+        if (app instanceof SchengenVisaApplication schengen) {
+            record.writeByte(SCHENGEN)
+                .writeString(app.getApplicantName())
+                .writeString(schengen.getTargetCountry());
+        } else if (app instanceof UsVisaApplication us) {
+            record.writeByte(US)
+                .writeString(app.getApplicantName())
+                .writeString(us.getVisaCategory());
+        } else {
+            throw new IllegalArgumentException("Unsupported visa application type: " + app.getClass().getName());
+        }
+        return record.writeByte(app.getStatus().ordinal()).toByteArray();
+    }
+
+    // Only the city and its country are stored; attractions come from the
+    // catalog the city was picked from and are not part of the user's data.
+    private static void writeCity(RecordWriter record, City city) {
+        record.writeBoolean(city != null);
+        if (city != null) {
+            Country country = city.getCountry();
+            record.writeString(city.getName())
+                .writeString(country.getName())
+                .writeString(country.getCode())
+                .writeByte(country.getVisaType().ordinal());
+        }
+    }
+
+    private static City readCity(RecordReader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String name = in.readString();
+        String countryName = in.readString();
+        String code = in.readString();
+        Country.VisaType visaType = in.readEnum(Country.VisaType.values());
+        // Known codes keep the registry's country; stored data never makes a
+        // country a Schengen member.
+        GeoRegistry geo = GeoRegistry.standard();
+        Country country = geo.country(code);
+        if (country == null) {
+            country = geo.registerCountry(countryName, code, visaType, false);
+        }
+        return geo.registerCity(name, country);
+    }
+
+    private static final class UserCursor {
+        private final int id;
+        private final Set<Trip> trips = Collections.newSetFromMap(new IdentityHashMap<>());
+        private String fullName;
+        private String email;
+        private String phone;
+        private LocalDate birthDate;
+        private String nationality;
+        private List<Preference> preferences = List.of();
+        private int[] priorities = new int[0];
+
+        private UserCursor(int id) {
+            this.id = id;
+        }
+
+        private boolean matches(Profile profile) {
+            return Objects.equals(fullName, profile.getFullName())
+                && Objects.equals(email, profile.getEmail())
+                && Objects.equals(phone, profile.getPhone())
+                && Objects.equals(birthDate, profile.getBirthDate())
+                && Objects.equals(nationality, profile.getNationality());
+        }
+
+        private void remember(Profile profile) {
+            fullName = profile.getFullName();
+            email = profile.getEmail();
+            phone = profile.getPhone();
+            birthDate = profile.getBirthDate();
+            nationality = profile.getNationality();
+        }
+
+        private boolean matches(List<Preference> current) {
+            if (current.size() != preferences.size()) {
+                return false;
+            }
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i) != preferences.get(i) || current.get(i).getPriority() != priorities[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void remember(List<Preference> current) {
+            preferences = new ArrayList<>(current);
+            priorities = new int[current.size()];
+            for (int i = 0; i < priorities.length; i++) {
+                priorities[i] = current.get(i).getPriority();
+            }
+        }
+    }
+
+    private static final class TripCursor {
+        private final int id;
+        // Logged activities and their numbers within the trip.
+        private final Map<Activity, Integer> activities = new IdentityHashMap<>();
+        private Trip.Status status;
+        private City destination;
+        private int expenses;
+        private int nextActivity;
+
+        private TripCursor(int id) {
+            this.id = id;
+        }
+    }
+
+    private record DayActivity(ItineraryDay day, Activity activity) {
+    }
+
+    private static final class VisaCursor {
+        private final int id;
+        private final Document[] documents = new Document[DocumentType.values().length];
+        private int documentMask;
+        private VisaApplication.Status status;
+
+        private VisaCursor(int id) {
+            this.id = id;
+        }
+    }
+}
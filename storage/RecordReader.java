@@ -0,0 +1,60 @@
+package storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Reads the fields written by RecordWriter back out of a record payload.
+final class RecordReader {
+    private final ByteBuffer buffer;
+
+    RecordReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    byte readByte() {
+        return buffer.get();
+    }
+
+    boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    int readInt() {
+        return buffer.getInt();
+    }
+
+    long readLong() {
+        return buffer.getLong();
+    }
+
+    double readDouble() {
+        return Double.longBitsToDouble(buffer.getLong());
+    }
+
+    String readString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    LocalDate readDate() {
+        long epochDay = buffer.getLong();
+        return epochDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    LocalDateTime readDateTime() {
+        LocalDate date = LocalDate.ofEpochDay(buffer.getLong());
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(buffer.getLong()));
+    }
+
+    <E extends Enum<E>> E readEnum(E[] values) {
+        return values[buffer.get()];
+    }
+}
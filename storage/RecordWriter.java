@@ -0,0 +1,80 @@
+package storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Builds one log record payload. Strings are u32 length + UTF-8 with -1 for
+// null; dates are epoch days, date-times epoch day + nano of day.
+final class RecordWriter {
+    private final ByteArrayOutputStream bytes;
+    private final DataOutputStream out;
+
+    RecordWriter(byte type) {
+        this.bytes = new ByteArrayOutputStream(64);
+        this.out = new DataOutputStream(bytes);
+        writeByte(type);
+    }
+
+    RecordWriter writeByte(int value) {
+        try {
+            out.writeByte(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    RecordWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    RecordWriter writeInt(int value) {
+        try {
+            out.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    RecordWriter writeLong(long value) {
+        try {
+            out.writeLong(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    RecordWriter writeDouble(double value) {
+        return writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    RecordWriter writeString(String value) {
+        if (value == null) {
+            return writeInt(-1);
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(utf8.length);
+        bytes.writeBytes(utf8);
+        return this;
+    }
+
+    RecordWriter writeDate(LocalDate value) {
+        return writeLong(value != null ? value.toEpochDay() : Long.MIN_VALUE);
+    }
+
+    RecordWriter writeDateTime(LocalDateTime value) {
+        writeLong(value.toLocalDate().toEpochDay());
+        return writeLong(value.toLocalTime().toNanoOfDay());
+    }
+
+    byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,259 @@
+package storage;
+
+import exception.BudgetExceededException;
+import model.finance.Expense;
+import model.trip.Trip;
+import model.user.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Durable home for users and everything hanging off them (trips, budgets,
+// expenses, itineraries, visa applications).
+//
+// State lives in one directory as a numbered generation: snapshot-N.dat holds
+// the full state at the time generation N started and wal-N.log every change
+// since. Changes are appended as checksummed records; persist() and
+// addExpense() return a future that completes once the records are fsynced.
+// Concurrent callers share fsyncs through the log's group commit.
+//
+// Every snapshotInterval records the store writes a fresh snapshot (to a temp
+// file that is renamed into place), starts the next log and drops the old
+// generation. Opening the store loads the latest snapshot and replays its
+// log, cutting off a half-written tail left by a crash.
+public class TravelStore implements AutoCloseable {
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100_000;
+
+    private static final Pattern GENERATION_FILE = Pattern.compile("(snapshot|wal)-(\\d+)\\.(dat|log)");
+
+    private final Path directory;
+    private final int snapshotInterval;
+    private Journal journal;
+    private WriteAheadLog log;
+    private long generation;
+    private long recordsSinceSnapshot;
+    private boolean closed;
+
+    private TravelStore(Path directory, int snapshotInterval) {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public static TravelStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public static TravelStore open(Path directory, int snapshotInterval) throws IOException {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive!");
+        }
+        Files.createDirectories(directory);
+        TravelStore store = new TravelStore(directory, snapshotInterval);
+        store.recover();
+        return store;
+    }
+
+    private void recover() throws IOException {
+        generation = latestSnapshotGeneration();
+        journal = new Journal();
+        recordsSinceSnapshot = replay(journal, generation);
+        journal.finishReplay();
+        deleteStaleFiles();
+        log = new WriteAheadLog(logFile(generation));
+    }
+
+    // Applies a generation's snapshot and log to the journal and returns the
+    // number of log records.
+    private long replay(Journal target, long gen) throws IOException {
+        Consumer<ByteBuffer> apply = payload -> {
+            try {
+                target.apply(payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            if (gen > 0) {
+                WriteAheadLog.replay(snapshotFile(gen), apply);
+            }
+            return WriteAheadLog.replay(logFile(gen), apply);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            throw new IOException("Travel store is corrupt: " + e.getMessage(), e);
+        }
+    }
+
+    public synchronized List<User> getUsers() {
+        return List.copyOf(journal.getUsers());
+    }
+
+    public synchronized Optional<User> findUser(String email) {
+        return journal.getUsers().stream()
+            .filter(u -> u.getProfile().getEmail().equalsIgnoreCase(email))
+            .findFirst();
+    }
+
+    // Logs whatever changed on the user since the last call: profile and
+    // preferences, new and removed trips and their status, expenses, added
+    // and removed activities, new visa applications, their documents and
+    // status changes.
+    public synchronized CompletableFuture<Void> persist(User user) {
+        ensureOpen();
+        List<byte[]> records = new ArrayList<>();
+        journal.collect(user, records);
+        return append(records);
+    }
+
+    // Applies the expense to the trip's budget and logs it in one step, so a
+    // stream of expenses costs one record each instead of a full persist().
+    public CompletableFuture<Void> addExpense(User user, Trip trip, Expense expense) throws BudgetExceededException {
+        synchronized (this) {
+            ensureOpen();
+            List<byte[]> records = new ArrayList<>(1);
+            if (!journal.isJournaled(trip)) {
+                journal.collect(user, records);
+                if (!journal.isJournaled(trip)) {
+                    append(records);
+                    throw new IllegalArgumentException("Trip does not belong to " + user.getName() + "!");
+                }
+            } else {
+                journal.collectExpenses(trip, records);
+            }
+
+            try {
+                trip.getBudget().addExpense(expense);
+            } catch (BudgetExceededException e) {
+                append(records);
+                throw e;
+            }
+            records.add(journal.expenseLogged(trip, expense));
+            return append(records);
+        }
+    }
+
+    private CompletableFuture<Void> append(List<byte[]> records) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> durable = null;
+        for (byte[] record : records) {
+            durable = log.append(record);
+        }
+        recordsSinceSnapshot += records.size();
+        if (recordsSinceSnapshot >= snapshotInterval) {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                // The records are safe in the current log; the snapshot is
+                // simply retried after the next append.
+            }
+        }
+        return durable;
+    }
+
+    // The snapshot is rebuilt from the current generation's files, not from
+    // the live users: sessions change their trips outside the store's lock,
+    // so walking them here could fail or catch them half-changed. The
+    // rebuilt state keeps the live journal's ids, so logging carries on
+    // without touching the live objects. On failure the store stays on the
+    // current generation.
+    public synchronized void snapshot() throws IOException {
+        ensureOpen();
+        long next = generation + 1;
+        Path tmp = directory.resolve("snapshot-" + next + ".tmp");
+        try {
+            log.close();
+            Journal rebuilt = new Journal();
+            replay(rebuilt, generation);
+            List<byte[]> records = new ArrayList<>();
+            rebuilt.writeState(records);
+            WriteAheadLog.writeFile(tmp, records);
+            Files.move(tmp, snapshotFile(next), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            log = new WriteAheadLog(logFile(generation));
+            throw e;
+        }
+
+        log = new WriteAheadLog(logFile(next));
+        generation = next;
+        recordsSinceSnapshot = 0;
+        deleteStaleFiles();
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            log.close();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Travel store is closed!");
+        }
+    }
+
+    private Path snapshotFile(long gen) {
+        return directory.resolve("snapshot-" + gen + ".dat");
+    }
+
+    private Path logFile(long gen) {
+        return directory.resolve("wal-" + gen + ".log");
+    }
+
+    private long latestSnapshotGeneration() throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "snapshot-*.dat")) {
+            for (Path file : files) {
+                Matcher m = GENERATION_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    latest = Math.max(latest, Long.parseLong(m.group(2)));
+                }
+            }
+        }
+        return latest;
+    }
+
+    private void deleteStaleFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher m = GENERATION_FILE.matcher(name);
+                if (m.matches() && Long.parseLong(m.group(2)) < generation
+                        || name.startsWith("snapshot-") && name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can fsync a directory; the rename is still atomic.
+        }
+    }
+}
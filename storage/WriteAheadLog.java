@@ -0,0 +1,205 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Append-only record log. Each record is framed as [length][crc32c][payload].
+//
+// Appends are handed to a single flusher thread which writes everything that
+// queued up while the previous fsync was running and then forces the file
+// once for the whole batch (group commit). An append's future completes only
+// after its batch is on disk.
+final class WriteAheadLog implements AutoCloseable {
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_BATCH = 4096;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final BlockingQueue<PendingAppend> queue;
+    private final Thread flusher;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    WriteAheadLog(Path file) throws IOException {
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.queue = new LinkedBlockingQueue<>();
+        this.flusher = new Thread(this::flushLoop, "wal-flusher-" + file.getFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    CompletableFuture<Void> append(byte[] payload) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        if (closed) {
+            durable.completeExceptionally(new IOException("Log is closed!"));
+        } else if (failure != null) {
+            durable.completeExceptionally(failure);
+        } else {
+            queue.add(new PendingAppend(payload, durable));
+        }
+        return durable;
+    }
+
+    private void flushLoop() {
+        List<PendingAppend> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            boolean stop = batch.get(batch.size() - 1).payload == null;
+            try {
+                writeBatch(batch);
+                channel.force(false);
+                batch.forEach(pending -> pending.durable.complete(null));
+            } catch (IOException e) {
+                failure = e;
+                batch.forEach(pending -> pending.durable.completeExceptionally(e));
+            }
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingAppend> batch) throws IOException {
+        int size = 0;
+        for (PendingAppend pending : batch) {
+            if (pending.payload != null) {
+                size += HEADER_SIZE + pending.payload.length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32C crc = new CRC32C();
+        for (PendingAppend pending : batch) {
+            if (pending.payload != null) {
+                crc.reset();
+                crc.update(pending.payload);
+                buffer.putInt(pending.payload.length);
+                buffer.putInt((int) crc.getValue());
+                buffer.put(pending.payload);
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+        queue.add(new PendingAppend(null, drained));
+        try {
+            drained.join();
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // The failure has already been reported to the pending appends.
+        } finally {
+            channel.close();
+        }
+    }
+
+    static void writeFile(Path file, List<byte[]> records) throws IOException {
+        try (FileChannel out = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            for (byte[] payload : records) {
+                crc.reset();
+                crc.update(payload);
+                header.clear();
+                header.putInt(payload.length).putInt((int) crc.getValue()).flip();
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    out.write(new ByteBuffer[] {header, body});
+                }
+            }
+            out.force(true);
+        }
+    }
+
+    // Feeds every intact record to the consumer. Reading stops at the first
+    // torn or corrupt record (a crash mid-write), and the file is truncated
+    // there so new appends continue from a clean tail.
+    static long replay(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            CRC32C crc = new CRC32C();
+            long records = 0;
+            while (position + HEADER_SIZE <= size) {
+                header.clear();
+                readFully(in, header, position);
+                header.flip();
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length < 0 || length > MAX_RECORD_SIZE || position + HEADER_SIZE + length > size) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(in, payload, position + HEADER_SIZE);
+                payload.flip();
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                consumer.accept(payload);
+                position += HEADER_SIZE + length;
+                records++;
+            }
+            if (position < size) {
+                in.truncate(position);
+                in.force(true);
+            }
+            return records;
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = in.read(target, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of log file!");
+            }
+            position += read;
+        }
+    }
+
+    private static final class PendingAppend {
+        private final byte[] payload;
+        private final CompletableFuture<Void> durable;
+
+        private PendingAppend(byte[] payload, CompletableFuture<Void> durable) {
+            this.payload = payload;
+            this.durable = durable;
+        }
+    }
+}
@@ -1,46 +1,121 @@
 package ui;
 
+import exception.EndOfInputException;
 import model.user.Preference;
 import model.user.Profile;
 import model.user.User;
+import model.visa.VisaApplication;
+import service.DestinationCatalog;
+import service.InMemoryDestinationCatalog;
 import service.RecommendationService;
 import service.TripPlannerService;
+import service.VisaPipeline;
 import service.VisaService;
+import service.event.ConsoleEventSink;
+import service.event.EventSink;
+import storage.TravelStore;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class ConsoleMenu {
+    private static final String DEFAULT_EMAIL = "user@email.com";
+
     private final Map<Integer, Command> commands;
+    private final TravelStore store;
+    private final boolean ownsStore;
     private final User currentUser;
     private boolean running;
 
     public ConsoleMenu() {
+        // Service messages are interleaved with prompts, so the interactive
+        // menu renders them synchronously rather than through AsyncEventSink.
+        this(openStore(), true, DEFAULT_EMAIL, "User", new ConsoleEventSink(), new VisaPipeline(),
+            new InMemoryDestinationCatalog(RecommendationService.defaultDestinations()));
+    }
+
+    // One user's menu. The store, visa pipeline and destination catalog can
+    // be shared by many menus running at once, as SessionServer does; the
+    // store is closed on exit only if this menu owns it.
+    ConsoleMenu(TravelStore store, boolean ownsStore, String email, String name, EventSink events,
+                VisaPipeline visaPipeline, DestinationCatalog catalog) {
         this.commands = new LinkedHashMap<>();
         this.running = true;
 
-        this.currentUser = initializeUser();
+        this.store = store;
+        this.ownsStore = ownsStore;
+        this.currentUser = initializeUser(email, name);
 
-        TripPlannerService tripService = new TripPlannerService();
-        VisaService visaService = new VisaService();
+        TripPlannerService tripService = new TripPlannerService(events);
+        VisaService visaService = new VisaService(events, visaPipeline);
+        for (VisaApplication app : currentUser.getVisaApplications()) {
+            visaService.track(app);
+        }
 
         commands.put(1, new CreateTripCommand(tripService, currentUser));
         commands.put(2, new PlanVisaCommand(visaService, currentUser));
         commands.put(3, new ShowBudgetCommand(currentUser));
-        commands.put(4, new RecommendTripCommand(currentUser));
+        commands.put(4, new RecommendTripCommand(currentUser, new RecommendationService(catalog, events)));
         commands.put(5, new ShowProfileCommand(currentUser));
     }
 
-    private User initializeUser() {
-        Profile profile = new Profile("User", "user@email.com");
+    private static TravelStore openStore() {
+        Path directory = Path.of(System.getProperty("travelplanner.data", "data"));
+        try {
+            return TravelStore.open(directory);
+        } catch (IOException e) {
+            Terminal.out().println("⚠️ Could not open saved data (" + e.getMessage() + "), changes will not be saved.");
+            return null;
+        }
+    }
+
+    private User initializeUser(String email, String name) {
+        if (store == null) {
+            return newUser(email, name);
+        }
+
+        User user;
+        CompletableFuture<Void> saved;
+        // Sessions signing in with the same new email at once share one user.
+        synchronized (store) {
+            User existing = store.findUser(email).orElse(null);
+            if (existing != null) {
+                return existing;
+            }
+            user = newUser(email, name);
+            saved = store.persist(user);
+        }
+        await(saved);
+        return user;
+    }
+
+    private static User newUser(String email, String name) {
+        Profile profile = new Profile(name, email);
         User user = new User(profile);
         
         user.addPreference(new Preference("History", Preference.Category.CULTURE, 5));
         user.addPreference(new Preference("Beach", Preference.Category.BEACH, 4));
-        
         return user;
     }
 
+    private void save(User user) {
+        if (store != null) {
+            await(store.persist(user));
+        }
+    }
+
+    private static void await(CompletableFuture<Void> saved) {
+        try {
+            saved.join();
+        } catch (CompletionException e) {
+            Terminal.out().println("⚠️ Could not save your changes: " + e.getCause().getMessage());
+        }
+    }
+
     public void start() {
         printWelcome();
         
@@ -57,59 +132,71 @@ public class ConsoleMenu {
                 
                 Command command = commands.get(choice);
                 if (command != null) {
-                    System.out.println();
+                    Terminal.out().println();
                     command.execute();
+                    save(currentUser);
                     InputHelper.pressEnterToContinue();
                 } else {
-                    System.out.println("⚠️ Invalid choice! Please select one of the menu options.");
+                    Terminal.out().println("⚠️ Invalid choice! Please select one of the menu options.");
                 }
                 
+            } catch (EndOfInputException e) {
+                exit();
+                break;
             } catch (Exception e) {
-                System.out.println("❌ Unexpected error: " + e.getMessage());
+                Terminal.out().println("❌ Unexpected error: " + e.getMessage());
                 e.printStackTrace();
             }
         }
     }
 
     private void printWelcome() {
-        System.out.println();
-        System.out.println("╔═══════════════════════════════════════════════════════════╗");
-        System.out.println("║                                                           ║");
-        System.out.println("║     🌍  WORLD TRAVEL PLANNER  🌍                      ║");
-        System.out.println("║                                                           ║");
-        System.out.println("║     Plan your trips easily!                    ║");
-        System.out.println("║     • Transportation and accommodation booking                    ║");
-        System.out.println("║     • Visa application tracking                                 ║");
-        System.out.println("║     • Budget management                                      ║");
-        System.out.println("║     • Destination recommendations                               ║");
-        System.out.println("║                                                           ║");
-        System.out.println("╚═══════════════════════════════════════════════════════════╝");
-        System.out.println();
-        System.out.println("👋 Welcome, " + currentUser.getName() + "!");
+        Terminal.out().println();
+        Terminal.out().println("╔═══════════════════════════════════════════════════════════╗");
+        Terminal.out().println("║                                                           ║");
+        Terminal.out().println("║     🌍  WORLD TRAVEL PLANNER  🌍                      ║");
+        Terminal.out().println("║                                                           ║");
+        Terminal.out().println("║     Plan your trips easily!                    ║");
+        Terminal.out().println("║     • Transportation and accommodation booking                    ║");
+        Terminal.out().println("║     • Visa application tracking                                 ║");
+        Terminal.out().println("║     • Budget management                                      ║");
+        Terminal.out().println("║     • Destination recommendations                               ║");
+        Terminal.out().println("║                                                           ║");
+        Terminal.out().println("╚═══════════════════════════════════════════════════════════╝");
+        Terminal.out().println();
+        Terminal.out().println("👋 Welcome, " + currentUser.getName() + "!");
     }
 
     private void printMenu() {
-        System.out.println("\n┌───────────────────────────────────────┐");
-        System.out.println("│            MAIN MENU                   │");
-        System.out.println("├───────────────────────────────────────┤");
-        System.out.println("│  1. ✈️  Plan New Trip           │");
-        System.out.println("│  2. 📋 Apply for Visa            │");
-        System.out.println("│  3. 💰 My Trips & Budget          │");
-        System.out.println("│  4. 🎯 Get Destination Suggestion        │");
-        System.out.println("│  5. 👤 My Profile                       │");
-        System.out.println("├───────────────────────────────────────┤");
-        System.out.println("│  0. 🚪 Exit                          │");
-        System.out.println("└───────────────────────────────────────┘");
+        Terminal.out().println("\n┌───────────────────────────────────────┐");
+        Terminal.out().println("│            MAIN MENU                   │");
+        Terminal.out().println("├───────────────────────────────────────┤");
+        Terminal.out().println("│  1. ✈️  Plan New Trip           │");
+        Terminal.out().println("│  2. 📋 Apply for Visa            │");
+        Terminal.out().println("│  3. 💰 My Trips & Budget          │");
+        Terminal.out().println("│  4. 🎯 Get Destination Suggestion        │");
+        Terminal.out().println("│  5. 👤 My Profile                       │");
+        Terminal.out().println("├───────────────────────────────────────┤");
+        Terminal.out().println("│  0. 🚪 Exit                          │");
+        Terminal.out().println("└───────────────────────────────────────┘");
     }
 
     private void exit() {
-        System.out.println();
-        System.out.println("╔═══════════════════════════════════════════════════════════╗");
-        System.out.println("║                                                           ║");
-        System.out.println("║   🌟 Have a great journey! Goodbye! 🌟                       ║");
-        System.out.println("║                                                           ║");
-        System.out.println("╚═══════════════════════════════════════════════════════════╝");
+        Terminal.out().println();
+        Terminal.out().println("╔═══════════════════════════════════════════════════════════╗");
+        Terminal.out().println("║                                                           ║");
+        Terminal.out().println("║   🌟 Have a great journey! Goodbye! 🌟                       ║");
+        Terminal.out().println("║                                                           ║");
+        Terminal.out().println("╚═══════════════════════════════════════════════════════════╝");
         running = false;
+        
+        if (store != null && ownsStore) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                Terminal.out().println("⚠️ Could not close saved data: " + e.getMessage());
+            }
+        }
     }
 
     public static void main(String[] args) {
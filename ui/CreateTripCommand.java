@@ -4,21 +4,44 @@ import exception.BudgetExceededException;
 import exception.InvalidDateException;
 import model.accommodation.*;
 import model.location.Attraction;
+import model.location.City;
 import model.transport.*;
 import model.trip.Trip;
 import model.trip.TripType;
 import model.user.User;
 import service.TripPlannerService;
+import service.WeatherService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class CreateTripCommand implements Command {
+    private static final String[] HUB_CITIES = {"Istanbul", "Ankara", "Izmir", "Antalya"};
+    
+    private static final AccommodationInventory LISTINGS = new AccommodationInventory(List.of(
+        new Hotel("Grand Bosphorus", 7200, 1, 5, true),
+        new Hotel("Old Town Boutique", 4300, 1, 4, true),
+        new Hotel("Seaside Resort", 5600, 1, 5, false),
+        new Hotel("City Center Inn", 2400, 1, 3, true),
+        new Hotel("Airport Lodge", 1900, 1, 2, false),
+        new Apartment("Loft with a View", 3800, 1, 2, true),
+        new Apartment("Family Apartment", 4600, 1, 3, true),
+        new Apartment("Studio Flat", 1700, 1, 1, false),
+        new Hostel("Backpackers Hub", 450, 1, false, 8),
+        new Hostel("Quiet Corner Hostel", 900, 1, true, 1)
+    ));
+    
     private final TripPlannerService plannerService;
+    private final WeatherService weatherService;
     private final User currentUser;
 
     public CreateTripCommand(TripPlannerService plannerService, User currentUser) {
         this.plannerService = plannerService;
+        this.weatherService = new WeatherService();
         this.currentUser = currentUser;
     }
 
@@ -36,18 +59,18 @@ public class CreateTripCommand implements Command {
         String tripName = InputHelper.readString("Trip name");
         double budget = InputHelper.readPositiveDouble("Total budget (TRY)");
         
-        System.out.println("\n📅 DATE INFORMATION");
+        Terminal.out().println("\n📅 DATE INFORMATION");
         InputHelper.printSubSeparator();
         LocalDate startDate = InputHelper.readFutureDate("Start date");
         LocalDate endDate = InputHelper.readFutureDate("End date");
         
         if (endDate.isBefore(startDate) || endDate.equals(startDate)) {
-            System.out.println("⚠️ End date must be after start date!");
+            Terminal.out().println("⚠️ End date must be after start date!");
             return;
         }
         
         long days = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        System.out.println("📌 Trip duration: " + days + " days");
+        Terminal.out().println("📌 Trip duration: " + days + " days");
 
         TransportOption transport = selectTransport(tripType);
         if (transport == null) return;
@@ -63,23 +86,23 @@ public class CreateTripCommand implements Command {
             if (trip != null) {
                 addOptionalActivities(trip, startDate, endDate);
                 
-                System.out.println("\n" + trip.exportToText());
+                Terminal.out().println("\n" + trip.exportToText());
             }
             
         } catch (InvalidDateException | BudgetExceededException e) {
-            System.err.println("❌ Error: " + e.getMessage());
+            Terminal.out().println("❌ Error: " + e.getMessage());
         }
         
         InputHelper.printSeparator();
     }
 
     private TripType selectTripType() {
-        System.out.println("\n🌍 TRIP TYPE SELECTION");
+        Terminal.out().println("\n🌍 TRIP TYPE SELECTION");
         InputHelper.printSubSeparator();
-        System.out.println("1. 🏠 Domestic Trip");
-        System.out.println("2. 🇪🇺 Europe Trip (Schengen Visa Required)");
-        System.out.println("3. 🇺🇸 USA Trip (US Visa Required)");
-        System.out.println("0. ❌ Cancel");
+        Terminal.out().println("1. 🏠 Domestic Trip");
+        Terminal.out().println("2. 🇪🇺 Europe Trip (Schengen Visa Required)");
+        Terminal.out().println("3. 🇺🇸 USA Trip (US Visa Required)");
+        Terminal.out().println("0. ❌ Cancel");
         
         int choice = InputHelper.readIntInRange("Your choice", 0, 3);
         
@@ -93,7 +116,7 @@ public class CreateTripCommand implements Command {
     
     private boolean checkVisaRequirement(TripType tripType) {
         if (!tripType.requiresVisa()) {
-            System.out.println("\n✅ " + tripType.getDisplayName() + " no visa required.");
+            Terminal.out().println("\n✅ " + tripType.getDisplayName() + " no visa required.");
             return true;
         }
         
@@ -101,42 +124,42 @@ public class CreateTripCommand implements Command {
         boolean hasVisa = currentUser.hasApprovedVisa(visaType);
         
         if (!hasVisa) {
-            System.out.println("\n" + "═".repeat(50));
-            System.out.println("❌ VISA ERROR!");
-            System.out.println("═".repeat(50));
+            Terminal.out().println("\n" + "═".repeat(50));
+            Terminal.out().println("❌ VISA ERROR!");
+            Terminal.out().println("═".repeat(50));
             
             if (tripType == TripType.EUROPE) {
-                System.out.println("⚠️ Approved SCHENGEN VISA is required for Europe trip!");
-                System.out.println("\n📋 What you need to do:");
-                System.out.println("   1. Select 'Apply for Visa' from the main menu");
-                System.out.println("   2. Enter one of the Schengen country codes (e.g.: DE, FR, IT)");
-                System.out.println("   3. Upload the required documents");
-                System.out.println("   4. You can plan your trip after visa approval");
+                Terminal.out().println("⚠️ Approved SCHENGEN VISA is required for Europe trip!");
+                Terminal.out().println("\n📋 What you need to do:");
+                Terminal.out().println("   1. Select 'Apply for Visa' from the main menu");
+                Terminal.out().println("   2. Enter one of the Schengen country codes (e.g.: DE, FR, IT)");
+                Terminal.out().println("   3. Upload the required documents");
+                Terminal.out().println("   4. You can plan your trip after visa approval");
             } else if (tripType == TripType.USA) {
-                System.out.println("⚠️ Approved US VISA is required for USA trip!");
-                System.out.println("\n📋 What you need to do:");
-                System.out.println("   1. Select 'Apply for Visa' from the main menu");
-                System.out.println("   2. Enter 'US' as the country code");
-                System.out.println("   3. Upload required documents including DS-160 form");
-                System.out.println("   4. You can plan your trip after visa approval");
+                Terminal.out().println("⚠️ Approved US VISA is required for USA trip!");
+                Terminal.out().println("\n📋 What you need to do:");
+                Terminal.out().println("   1. Select 'Apply for Visa' from the main menu");
+                Terminal.out().println("   2. Enter 'US' as the country code");
+                Terminal.out().println("   3. Upload required documents including DS-160 form");
+                Terminal.out().println("   4. You can plan your trip after visa approval");
             }
             
-            System.out.println("\n💡 Tip: Complete your visa application first!");
-            System.out.println("═".repeat(50));
+            Terminal.out().println("\n💡 Tip: Complete your visa application first!");
+            Terminal.out().println("═".repeat(50));
             return false;
         }
         
-        System.out.println("\n✅ " + tripType.getDisplayName() + " your visa is approved. You may proceed!");
+        Terminal.out().println("\n✅ " + tripType.getDisplayName() + " your visa is approved. You may proceed!");
         return true;
     }
 
     private TransportOption selectTransport(TripType tripType) {
-        System.out.println("\n🚀 TRANSPORTATION SELECTION");
+        Terminal.out().println("\n🚀 TRANSPORTATION SELECTION");
         InputHelper.printSubSeparator();
         
         if (tripType == TripType.EUROPE || tripType == TripType.USA) {
-            System.out.println("✈️ Flight is recommended for international trips.");
-            System.out.println("1. ✈️ Flight");
+            Terminal.out().println("✈️ Flight is recommended for international trips.");
+            Terminal.out().println("1. ✈️ Flight");
             
             int choice = InputHelper.readIntInRange("Your choice", 1, 1);
             
@@ -144,15 +167,19 @@ public class CreateTripCommand implements Command {
             String to = InputHelper.readString("Arrival city (e.g.: Paris, New York)");
             
             FlightOption flight = new FlightOption(from, to);
-            System.out.println("\n📋 " + flight.toString());
+            Terminal.out().println("\n📋 " + flight.toString());
             return flight;
         }
         
-        System.out.println("1. ✈️ Flight");
-        System.out.println("2. 🚌 Bus");
-        System.out.println("3. 🚄 Train");
+        Terminal.out().println("1. ✈️ Flight");
+        Terminal.out().println("2. 🚌 Bus");
+        Terminal.out().println("3. 🚄 Train");
+        Terminal.out().println("4. 🧭 Compare connections (multi-leg)");
         
-        int choice = InputHelper.readIntInRange("Your choice", 1, 3);
+        int choice = InputHelper.readIntInRange("Your choice", 1, 4);
+        if (choice == 4) {
+            return selectRoute();
+        }
         
         String from = InputHelper.readString("Departure city");
         String to = InputHelper.readString("Arrival city");
@@ -165,20 +192,68 @@ public class CreateTripCommand implements Command {
         };
         
         if (transport != null) {
-            System.out.println("\n📋 " + transport.toString());
+            Terminal.out().println("\n📋 " + transport.toString());
         }
         
         return transport;
     }
 
+    private TransportOption selectRoute() {
+        String from = InputHelper.readString("Departure city");
+        String to = InputHelper.readString("Arrival city");
+        if (from.equalsIgnoreCase(to)) {
+            Terminal.out().println("❌ Error: Departure and arrival must be different cities!");
+            return null;
+        }
+        
+        TransportNetwork network = new TransportNetwork(sampleConnections(from, to));
+        List<RouteOption> routes = network.findRoutes(from, to);
+        
+        Terminal.out().println("\n🧭 BEST CONNECTIONS (cheapest first, fastest last)");
+        InputHelper.printSubSeparator();
+        for (int i = 0; i < routes.size(); i++) {
+            Terminal.out().println((i + 1) + ". " + routes.get(i));
+        }
+        
+        int choice = InputHelper.readIntInRange("Your choice", 1, routes.size());
+        RouteOption route = routes.get(choice - 1);
+        Terminal.out().println("\n📋 " + route);
+        return route;
+    }
+    
+    // Every mode between the two cities and the domestic hubs, so routes can
+    // change mode or go through a hub when that is cheaper or faster.
+    private static List<TransportOption> sampleConnections(String from, String to) {
+        Set<String> cities = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        cities.add(from);
+        cities.add(to);
+        cities.addAll(List.of(HUB_CITIES));
+        
+        List<TransportOption> connections = new ArrayList<>();
+        for (String origin : cities) {
+            for (String destination : cities) {
+                if (origin != destination) {
+                    connections.add(new FlightOption(origin, destination));
+                    connections.add(new BusOption(origin, destination));
+                    connections.add(new TrainOption(origin, destination));
+                }
+            }
+        }
+        return connections;
+    }
+
     private Accommodation selectAccommodation(int nights) {
-        System.out.println("\n🏨 ACCOMMODATION SELECTION (" + nights + " nights)");
+        Terminal.out().println("\n🏨 ACCOMMODATION SELECTION (" + nights + " nights)");
         InputHelper.printSubSeparator();
-        System.out.println("1. 🏨 Hotel (Luxury, breakfast included)");
-        System.out.println("2. 🏠 Apartment (With kitchen, spacious)");
-        System.out.println("3. 🛏️ Hostel (Budget-friendly)");
+        Terminal.out().println("1. 🏨 Hotel (Luxury, breakfast included)");
+        Terminal.out().println("2. 🏠 Apartment (With kitchen, spacious)");
+        Terminal.out().println("3. 🛏️ Hostel (Budget-friendly)");
+        Terminal.out().println("4. 🔎 Search listings");
         
-        int choice = InputHelper.readIntInRange("Your choice", 1, 3);
+        int choice = InputHelper.readIntInRange("Your choice", 1, 4);
+        if (choice == 4) {
+            return searchListings(nights);
+        }
 
         Accommodation accommodation = switch (choice) {
             case 1 -> new Hotel(nights);
@@ -188,14 +263,56 @@ public class CreateTripCommand implements Command {
         };
         
         if (accommodation != null) {
-            System.out.println("\n📋 " + accommodation.toString());
+            Terminal.out().println("\n📋 " + accommodation.toString());
         }
         
         return accommodation;
     }
 
+    private Accommodation searchListings(int nights) {
+        double maxRate = InputHelper.readPositiveDouble("Maximum nightly rate (TRY)");
+        int minStars = InputHelper.readIntInRange("Minimum hotel stars (0 = any type)", 0, 5);
+        
+        AccommodationInventory.Query query = new AccommodationInventory.Query(nights)
+            .rateBetween(0, maxRate)
+            .minStars(minStars)
+            .limit(5);
+        if (InputHelper.readYesNo("Breakfast required?")) {
+            query.withBreakfast();
+        }
+        
+        List<AccommodationInventory.Match> matches = LISTINGS.search(query);
+        if (matches.isEmpty()) {
+            Terminal.out().println("⚠️ No listings match your filters.");
+            return null;
+        }
+        
+        Terminal.out().println("\n🔎 CHEAPEST MATCHES (" + nights + " nights)");
+        InputHelper.printSubSeparator();
+        for (int i = 0; i < matches.size(); i++) {
+            AccommodationInventory.Match match = matches.get(i);
+            Terminal.out().printf("%d. %s %s - %.2f TL total%n", i + 1,
+                match.getListing().getTypeName(), match.getListing().getName(), match.getTotalPrice());
+        }
+        
+        int choice = InputHelper.readIntInRange("Your choice", 1, matches.size());
+        Accommodation accommodation = matches.get(choice - 1).book();
+        Terminal.out().println("\n📋 " + accommodation.toString());
+        return accommodation;
+    }
+    
     private void addOptionalActivities(Trip trip, LocalDate start, LocalDate end) {
-        System.out.println();
+        Terminal.out().println();
+        if (InputHelper.readYesNo("Would you like an optimized sightseeing plan?")) {
+            City city = selectCity();
+            if (city != null) {
+                plannerService.setTripDestination(trip, city);
+                plannerService.planSightseeing(trip, city);
+                printWeatherOutlook(city, start, (int) trip.getDurationDays());
+            }
+        }
+        
+        Terminal.out().println();
         if (!InputHelper.readYesNo("Would you like to add sightseeing activities?")) {
             return;
         }
@@ -209,7 +326,7 @@ public class CreateTripCommand implements Command {
             
             Attraction attraction = new Attraction(placeName, description, fee, hours);
             
-            System.out.println("Which day? (1-" + trip.getDurationDays() + ")");
+            Terminal.out().println("Which day? (1-" + trip.getDurationDays() + ")");
             int dayNumber = InputHelper.readIntInRange("Day", 1, (int) trip.getDurationDays());
             LocalDate activityDate = start.plusDays(dayNumber - 1);
             LocalDateTime activityTime = activityDate.atTime(10, 0);
@@ -220,6 +337,33 @@ public class CreateTripCommand implements Command {
         }
     }
 
+    private void printWeatherOutlook(City city, LocalDate start, int days) {
+        Terminal.out().println("\n🌤️ WEATHER OUTLOOK: " + city.getName());
+        InputHelper.printSubSeparator();
+        for (WeatherService.WeatherForecast forecast : weatherService.getForecasts(city, start, Math.max(1, Math.min(days, 366)))) {
+            Terminal.out().printf("   %s  %3d°C  %-22s %d%% humidity%n",
+                forecast.getDate(), forecast.getTemperature(), forecast.getCondition().getDisplayName(), forecast.getHumidity());
+        }
+    }
+
+    private City selectCity() {
+        Terminal.out().println("\n🏙️ CITY SELECTION");
+        InputHelper.printSubSeparator();
+        Terminal.out().println("1. 🇫🇷 Paris");
+        Terminal.out().println("2. 🇮🇹 Rome");
+        Terminal.out().println("3. 🇺🇸 New York");
+        Terminal.out().println("0. ❌ Cancel");
+        
+        int choice = InputHelper.readIntInRange("Your choice", 0, 3);
+        
+        return switch (choice) {
+            case 1 -> City.paris();
+            case 2 -> City.rome();
+            case 3 -> City.newYork();
+            default -> null;
+        };
+    }
+
     @Override
     public String getDescription() {
         return "Plan new trip";
@@ -1,33 +1,43 @@
 package ui;
 
+import exception.EndOfInputException;
+
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Scanner;
 
+// Prompts on the current Terminal: the console, or the session bound to the
+// calling thread.
 public class InputHelper {
-    private static final Scanner scanner = new Scanner(System.in);
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     
+    private static String nextLine() {
+        String line = Terminal.current().readLine();
+        if (line == null) {
+            throw new EndOfInputException();
+        }
+        return line;
+    }
+    
     public static String readString(String prompt) {
-        System.out.print(prompt + ": ");
-        return scanner.nextLine().trim();
+        Terminal.out().print(prompt + ": ");
+        return nextLine().trim();
     }
     
     public static String readStringWithDefault(String prompt, String defaultValue) {
-        System.out.print(prompt + " [" + defaultValue + "]: ");
-        String input = scanner.nextLine().trim();
+        Terminal.out().print(prompt + " [" + defaultValue + "]: ");
+        String input = nextLine().trim();
         return input.isEmpty() ? defaultValue : input;
     }
     
     public static int readInt(String prompt) {
         while (true) {
             try {
-                System.out.print(prompt + ": ");
-                String input = scanner.nextLine().trim();
+                Terminal.out().print(prompt + ": ");
+                String input = nextLine().trim();
                 return Integer.parseInt(input);
             } catch (NumberFormatException e) {
-                System.out.println("⚠️ Invalid input! Please enter an integer.");
+                Terminal.out().println("⚠️ Invalid input! Please enter an integer.");
             }
         }
     }
@@ -38,18 +48,18 @@ public class InputHelper {
             if (value >= min && value <= max) {
                 return value;
             }
-            System.out.println("⚠️ Please enter a value between " + min + " and " + max + ".");
+            Terminal.out().println("⚠️ Please enter a value between " + min + " and " + max + ".");
         }
     }
     
     public static double readDouble(String prompt) {
         while (true) {
             try {
-                System.out.print(prompt + ": ");
-                String input = scanner.nextLine().replace(",", ".").trim();
+                Terminal.out().print(prompt + ": ");
+                String input = nextLine().replace(",", ".").trim();
                 return Double.parseDouble(input);
             } catch (NumberFormatException e) {
-                System.out.println("⚠️ Invalid input! Please enter a valid number.");
+                Terminal.out().println("⚠️ Invalid input! Please enter a valid number.");
             }
         }
     }
@@ -60,18 +70,18 @@ public class InputHelper {
             if (value > 0) {
                 return value;
             }
-            System.out.println("⚠️ Please enter a positive value.");
+            Terminal.out().println("⚠️ Please enter a positive value.");
         }
     }
     
     public static LocalDate readDate(String prompt) {
         while (true) {
             try {
-                System.out.print(prompt + " (DD.MM.YYYY): ");
-                String input = scanner.nextLine().trim();
+                Terminal.out().print(prompt + " (DD.MM.YYYY): ");
+                String input = nextLine().trim();
                 return LocalDate.parse(input, DATE_FORMAT);
             } catch (DateTimeParseException e) {
-                System.out.println("⚠️ Invalid date format! Example: 25.12.2024");
+                Terminal.out().println("⚠️ Invalid date format! Example: 25.12.2024");
             }
         }
     }
@@ -82,45 +92,45 @@ public class InputHelper {
             if (!date.isBefore(LocalDate.now())) {
                 return date;
             }
-            System.out.println("⚠️ You cannot select a past date!");
+            Terminal.out().println("⚠️ You cannot select a past date!");
         }
     }
     
     public static boolean readYesNo(String prompt) {
         while (true) {
-            System.out.print(prompt + " (Y/N): ");
-            String input = scanner.nextLine().trim().toUpperCase();
+            Terminal.out().print(prompt + " (Y/N): ");
+            String input = nextLine().trim().toUpperCase();
             if (input.equals("E") || input.equals("Y") || input.equals("EVET") || input.equals("YES")) {
                 return true;
             }
             if (input.equals("H") || input.equals("N") || input.equals("HAYIR") || input.equals("NO")) {
                 return false;
             }
-            System.out.println("⚠️ Please enter Y (Yes) or N (No).");
+            Terminal.out().println("⚠️ Please enter Y (Yes) or N (No).");
         }
     }
     
     public static void printSeparator() {
-        System.out.println("═══════════════════════════════════════════════");
+        Terminal.out().println("═══════════════════════════════════════════════");
     }
     
     public static void printSubSeparator() {
-        System.out.println("───────────────────────────────────────────────");
+        Terminal.out().println("───────────────────────────────────────────────");
     }
     
     public static void printHeader(String title) {
         printSeparator();
-        System.out.println("       " + title);
+        Terminal.out().println("       " + title);
         printSeparator();
     }
     
     public static void pressEnterToContinue() {
-        System.out.print("\nPress Enter to continue...");
-        scanner.nextLine();
+        Terminal.out().print("\nPress Enter to continue...");
+        nextLine();
     }
     
     public static void clearScreen() {
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
+        Terminal.out().print("\033[H\033[2J");
+        Terminal.out().flush();
     }
 }
@@ -12,9 +12,13 @@ public class RecommendTripCommand implements Command {
     private final RecommendationService recommendationService;
 
     public RecommendTripCommand(User currentUser) {
+        this(currentUser, new RecommendationService());
+    }
+
+    public RecommendTripCommand(User currentUser, RecommendationService recommendationService) {
         this.currentUser = currentUser;
         this.weatherService = new WeatherService();
-        this.recommendationService = new RecommendationService();
+        this.recommendationService = recommendationService;
     }
 
     @Override
@@ -26,33 +30,31 @@ public class RecommendTripCommand implements Command {
 
         double dailyBudget = budget / days;
 
-        System.out.println("\n📊 ANALYSIS RESULTS");
+        Terminal.out().println("\n📊 ANALYSIS RESULTS");
         InputHelper.printSubSeparator();
-        System.out.printf("Total Budget     : %.0f TL\n", budget);
-        System.out.printf("Trip Duration    : %d days\n", days);
-        System.out.printf("Daily Capacity   : %.0f TL\n", dailyBudget);
+        Terminal.out().printf("Total Budget     : %.0f TL\n", budget);
+        Terminal.out().printf("Trip Duration    : %d days\n", days);
+        Terminal.out().printf("Daily Capacity   : %.0f TL\n", dailyBudget);
         
         String category = determineCategory(dailyBudget);
         String weatherCategory = getWeatherCategory(dailyBudget);
         
-        System.out.println("\n🎯 RECOMMENDATIONS FOR YOU: " + category);
+        Terminal.out().println("\n🎯 RECOMMENDATIONS FOR YOU: " + category);
         InputHelper.printSubSeparator();
 
         recommendationService.printRecommendations(budget, days);
 
-        System.out.println("\n" + weatherService.getWeatherRecommendation(weatherCategory));
+        Terminal.out().println("\n" + weatherService.getWeatherRecommendation(weatherCategory));
 
         if (!currentUser.getPreferences().isEmpty()) {
-            System.out.println("\n💡 BASED ON YOUR PREFERENCES:");
+            Terminal.out().println("\n💡 BASED ON YOUR PREFERENCES:");
             InputHelper.printSubSeparator();
             List<RecommendationService.Destination> personalized = 
-                recommendationService.recommendByPreferences(currentUser, dailyBudget);
+                recommendationService.recommendByPreferences(currentUser, dailyBudget, 3);
             
-            int count = 0;
             for (RecommendationService.Destination dest : personalized) {
-                if (count++ >= 3) break;
-                System.out.println(dest.toString());
-                System.out.println();
+                Terminal.out().println(dest.toString());
+                Terminal.out().println();
             }
         }
 
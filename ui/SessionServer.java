@@ -0,0 +1,199 @@
+package ui;
+
+import exception.EndOfInputException;
+import model.user.User;
+import service.DestinationCatalog;
+import service.InMemoryDestinationCatalog;
+import service.RecommendationService;
+import service.VisaPipeline;
+import service.event.ConsoleEventSink;
+import storage.TravelStore;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Serves the console menu over plain TCP, one session per connection: the
+// client sends lines of UTF-8 text and reads the same prompts and output the
+// console shows (try `nc localhost 7070`). A session signs in with an email,
+// gets that user's menu and ends on 0 or when the client closes the
+// connection.
+//
+// Each session runs on its own virtual thread, which parks while waiting for
+// input, so an idle session costs its socket, small buffers and its menu.
+// The store, the visa pipeline and the destination catalog are shared by all
+// sessions. A user's trips are not safe to change from two threads, so an
+// email can be signed in to one session at a time. Sessions are not
+// authenticated, so the server listens on loopback only.
+public class SessionServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7070;
+    
+    private static final int BACKLOG = 4096;
+    private static final int OUTPUT_BUFFER_SIZE = 2048;
+    private static final long ACCEPT_RETRY_NANOS = 100_000_000;
+    private static final long SESSION_EXIT_NANOS = 10_000_000_000L;
+    
+    private final TravelStore store;
+    private final VisaPipeline visaPipeline;
+    private final DestinationCatalog catalog;
+    private final ServerSocket serverSocket;
+    private final Map<Socket, Thread> sessions;
+    // Lower-cased, as the store matches emails ignoring case.
+    private final Set<String> signedIn;
+    private final LongAdder completed;
+    private final Thread acceptor;
+    private volatile boolean running;
+    
+    public SessionServer(int port, TravelStore store) throws IOException {
+        if (store == null) {
+            throw new IllegalArgumentException("Session server needs a store!");
+        }
+        this.store = store;
+        this.visaPipeline = new VisaPipeline();
+        this.catalog = new InMemoryDestinationCatalog(RecommendationService.defaultDestinations());
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.sessions = new ConcurrentHashMap<>();
+        this.signedIn = ConcurrentHashMap.newKeySet();
+        this.completed = new LongAdder();
+        this.running = true;
+        this.acceptor = Thread.ofPlatform().name("session-acceptor").start(this::acceptSessions);
+    }
+    
+    private void acceptSessions() {
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (running) {
+                    // Usually out of file descriptors; give sessions a moment
+                    // to end instead of spinning on the same error.
+                    System.err.println("⚠️ Could not accept a session: " + e.getMessage());
+                    LockSupport.parkNanos(ACCEPT_RETRY_NANOS);
+                }
+                continue;
+            }
+            Thread session = Thread.ofVirtual().name("session-" + socket.getPort()).unstarted(() -> serve(socket));
+            sessions.put(socket, session);
+            session.start();
+        }
+    }
+    
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            PrintStream out = new PrintStream(
+                new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE), false, StandardCharsets.UTF_8);
+            new Terminal(socket.getInputStream(), out).run(() -> runSession(out));
+        } catch (EndOfInputException e) {
+            // Closed before signing in.
+        } catch (IOException e) {
+            // Connection dropped.
+        } finally {
+            sessions.remove(socket);
+            completed.increment();
+        }
+    }
+    
+    private void runSession(PrintStream out) {
+        out.println("🌍 WORLD TRAVEL PLANNER");
+        InputHelper.printSeparator();
+        String email = signIn(out);
+        String key = email.toLowerCase(Locale.ROOT);
+        try {
+            String name = store.findUser(email)
+                .map(User::getName)
+                .orElseGet(() -> InputHelper.readStringWithDefault("👤 Your name", "User"));
+            ConsoleEventSink events = new ConsoleEventSink(out, out);
+            new ConsoleMenu(store, false, email, name, events, visaPipeline, catalog).start();
+        } finally {
+            signedIn.remove(key);
+        }
+    }
+    
+    // Asks until the client gives a valid email that no other session is
+    // using, and claims it.
+    private String signIn(PrintStream out) {
+        while (true) {
+            String email = InputHelper.readString("📧 Email");
+            if (email.isEmpty() || email.indexOf('@') < 0) {
+                out.println("⚠️ Please enter a valid email address.");
+            } else if (!signedIn.add(email.toLowerCase(Locale.ROOT))) {
+                out.println("⚠️ " + email + " is already signed in from another session.");
+            } else {
+                return email;
+            }
+        }
+    }
+    
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+    
+    public long getCompletedSessions() {
+        return completed.sum();
+    }
+    
+    // Stops accepting and hangs up on open sessions, then waits for them to
+    // end. A session busy in a command finishes it, saving included, before
+    // it notices, so the caller can close the store once this returns. The
+    // store belongs to the caller and stays open.
+    @Override
+    public void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        serverSocket.close();
+        try {
+            acceptor.join();
+            for (Socket socket : sessions.keySet()) {
+                socket.close();
+            }
+            long deadline = System.nanoTime() + SESSION_EXIT_NANOS;
+            for (Thread session : sessions.values()) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0 || !session.join(Duration.ofNanos(left))) {
+                    System.err.println("⚠️ " + sessions.size() + " sessions did not end in time");
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        visaPipeline.close();
+    }
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Path directory = Path.of(System.getProperty("travelplanner.data", "data"));
+        TravelStore store = TravelStore.open(directory);
+        SessionServer server = new SessionServer(port, store);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                store.close();
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not close saved data: " + e.getMessage());
+            }
+        }));
+        System.out.println("🌍 Session server listening on localhost:" + server.getPort());
+        server.acceptor.join();
+    }
+}
@@ -14,13 +14,13 @@ public class ShowProfileCommand implements Command {
     public void execute() {
         InputHelper.printHeader("USER PROFILE");
         
-        System.out.println(user.getSummary());
+        Terminal.out().println(user.getSummary());
         
-        System.out.println("\n📝 OPTIONS");
+        Terminal.out().println("\n📝 OPTIONS");
         InputHelper.printSubSeparator();
-        System.out.println("1. Add preference");
-        System.out.println("2. Update profile information");
-        System.out.println("0. Go back");
+        Terminal.out().println("1. Add preference");
+        Terminal.out().println("2. Update profile information");
+        Terminal.out().println("0. Go back");
         
         int choice = InputHelper.readIntInRange("Your choice", 0, 2);
         
@@ -33,15 +33,15 @@ public class ShowProfileCommand implements Command {
     }
     
     private void addPreference() {
-        System.out.println("\n🏷️ PREFERENCE CATEGORIES");
-        System.out.println("1. Culture & History");
-        System.out.println("2. Nature & Adventure");
-        System.out.println("3. Beach & Sea");
-        System.out.println("4. City & Shopping");
-        System.out.println("5. Gastronomy");
-        System.out.println("6. Nightlife");
-        System.out.println("7. Relaxation & SPA");
-        System.out.println("8. Sports & Activities");
+        Terminal.out().println("\n🏷️ PREFERENCE CATEGORIES");
+        Terminal.out().println("1. Culture & History");
+        Terminal.out().println("2. Nature & Adventure");
+        Terminal.out().println("3. Beach & Sea");
+        Terminal.out().println("4. City & Shopping");
+        Terminal.out().println("5. Gastronomy");
+        Terminal.out().println("6. Nightlife");
+        Terminal.out().println("7. Relaxation & SPA");
+        Terminal.out().println("8. Sports & Activities");
         
         int choice = InputHelper.readIntInRange("Select category", 1, 8);
         
@@ -61,11 +61,11 @@ public class ShowProfileCommand implements Command {
         int priority = InputHelper.readIntInRange("Priority", 1, 5);
         
         user.addPreference(new Preference(tag, category, priority));
-        System.out.println("✅ Preference added: " + tag);
+        Terminal.out().println("✅ Preference added: " + tag);
     }
     
     private void updateProfile() {
-        System.out.println("\n📝 PROFILE UPDATE");
+        Terminal.out().println("\n📝 PROFILE UPDATE");
         
         String newName = InputHelper.readStringWithDefault(
             "New full name", user.getProfile().getFullName());
@@ -79,7 +79,7 @@ public class ShowProfileCommand implements Command {
             user.getProfile().setPhone(newPhone);
         }
         
-        System.out.println("✅ Profile updated!");
+        Terminal.out().println("✅ Profile updated!");
     }
 
     @Override
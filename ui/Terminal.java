@@ -0,0 +1,116 @@
+package ui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Where the menu and commands read lines and print to. The console run uses
+// System.in/System.out; each server session binds its own connection's
+// streams to the thread running it, so code in this package calls
+// Terminal.out() and InputHelper instead of touching System.out/System.in.
+//
+// Lines are read straight off the input stream with a small buffer rather
+// than through a BufferedReader, which keeps an idle session to a few
+// hundred bytes of buffers. Lines are cut at MAX_LINE bytes and the rest up
+// to the newline is dropped, so a client that never sends one cannot grow
+// the line without bound.
+public final class Terminal {
+    private static final int BUFFER_SIZE = 512;
+    private static final int MAX_LINE = 4096;
+    private static final Terminal CONSOLE = new Terminal(System.in, System.out);
+    private static final ThreadLocal<Terminal> CURRENT = new ThreadLocal<>();
+    
+    private final InputStream in;
+    private final PrintStream out;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private byte[] line;
+    
+    public Terminal(InputStream in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.line = new byte[0];
+    }
+    
+    public static Terminal current() {
+        Terminal terminal = CURRENT.get();
+        return terminal != null ? terminal : CONSOLE;
+    }
+    
+    public static PrintStream out() {
+        return current().out;
+    }
+    
+    // Runs the session on the calling thread with this terminal as its
+    // input and output.
+    public void run(Runnable session) {
+        Terminal previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            session.run();
+        } finally {
+            out.flush();
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+    
+    public PrintStream getOut() {
+        return out;
+    }
+    
+    // Next line without its terminator, or null at end of input. Pending
+    // output (usually the prompt) is flushed first.
+    public String readLine() {
+        out.flush();
+        int length = 0;
+        try {
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return length > 0 ? decode(length) : null;
+                    }
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int chunk = Math.min(position - start, MAX_LINE - length);
+                if (length + chunk > line.length) {
+                    line = Arrays.copyOf(line, Math.min(Math.max(length + chunk, line.length * 2), MAX_LINE));
+                }
+                System.arraycopy(buffer, start, line, length, chunk);
+                length += chunk;
+                if (position < limit) {
+                    position++;
+                    return decode(length);
+                }
+            }
+        } catch (IOException e) {
+            // A dropped connection ends the session like end of input.
+            return null;
+        }
+    }
+    
+    private String decode(int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        String text = new String(line, 0, length, StandardCharsets.UTF_8);
+        // Long lines are rare; don't keep their buffer for the whole session.
+        if (line.length > BUFFER_SIZE) {
+            line = new byte[0];
+        }
+        return text;
+    }
+}